@@ -0,0 +1,31 @@
+package com.example.backend.config;
+
+import com.example.backend.model.User;
+import com.example.backend.service.LeaderboardVersionService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the leaderboards to a new version whenever a user is saved or deleted,
+ * as the leaderboards list whole user documents and any change to a user may change them.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaderboardVersionListener extends AbstractMongoEventListener<User> {
+
+    private final LeaderboardVersionService leaderboardVersionService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        leaderboardVersionService.increment();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        leaderboardVersionService.increment();
+    }
+}
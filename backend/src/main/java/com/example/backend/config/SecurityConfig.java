@@ -17,9 +17,12 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.backend.responses.CursorPage;
 import com.example.backend.responses.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import jakarta.servlet.DispatcherType;
 
 /**
  * Configuration class for application security settings.
@@ -58,10 +61,12 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Bracket event streams are authorised when they are opened; their later async dispatches carry no token
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/auth/**", "/users/signup/credentials-availability").permitAll()
                 .requestMatchers("/users","/users/**", "/usersTournaments/**").hasRole("USER")
-                .requestMatchers("/admins/**", "/adminsTournaments/**").hasRole("ADMIN")
+                .requestMatchers("/admins/**", "/adminsTournaments/**", "/actuator/metrics/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -106,9 +111,9 @@ public class SecurityConfig {
             "https://rally-rank-backend-90238290435.asia-southeast1.run.app"
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", HttpHeaders.IF_NONE_MATCH));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(List.of("Authorization", "Content-Type", HttpHeaders.ETAG, CursorPage.NEXT_CURSOR_HEADER));
         configuration.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,27 @@
+package com.example.backend.config;
+
+import com.example.backend.model.Tournament;
+
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps the stored player count of a tournament in line with its players pool.
+ * The count is what the capacity checks in queries compare against the player capacity,
+ * so it is recomputed every time a whole tournament document is saved.
+ */
+@Component
+public class TournamentPlayerCountListener extends AbstractMongoEventListener<Tournament> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Tournament> event) {
+        Tournament tournament = event.getSource();
+        if (tournament.getPlayersPool() == null) {
+            tournament.setPlayersPool(new ArrayList<>());
+        }
+        tournament.setPlayerCount(tournament.getPlayersPool().size());
+    }
+}
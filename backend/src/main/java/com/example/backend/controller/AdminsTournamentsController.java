@@ -1,23 +1,30 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.TournamentSummaryDto;
 import com.example.backend.model.Tournament;
-import com.example.backend.model.User;
+import com.example.backend.responses.CursorPage;
 import com.example.backend.responses.ErrorResponse;
 import com.example.backend.service.TournamentService;
 import com.example.backend.exception.TournamentNotFoundException;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.exception.MatchNotFoundException;
 import com.example.backend.service.BracketService;
+import com.example.backend.service.BracketEventService;
+import com.example.backend.service.BracketPredictionService;
 import com.example.backend.model.Match;
 import com.example.backend.service.EloRatingService;
+import com.example.backend.service.EloReplayService;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.data.util.Pair;
 
 import org.slf4j.Logger;
@@ -32,22 +39,33 @@ public class AdminsTournamentsController {
 
     private final TournamentService tournamentService;
     private final BracketService bracketService;
+    private final BracketEventService bracketEventService;
+    private final BracketPredictionService bracketPredictionService;
     private final EloRatingService eloRatingService;
+    private final EloReplayService eloReplayService;
 
     private static final Logger logger = LoggerFactory.getLogger(AdminsTournamentsController.class);
 
     /**
-     * Retrieves all tournaments from the database.
+     * Retrieves one page of all tournaments from the database.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
-     * @return a ResponseEntity containing a list of all tournaments or an error message if an exception occurs.
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
+     * @return a ResponseEntity containing a list of tournaments or an error message if an exception occurs.
      * @throws RuntimeException if there's an error during the database operation.
      */
     @GetMapping
-    public ResponseEntity<?> getAllTournaments() {
+    public ResponseEntity<?> getAllTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         try {
             logger.info("Received request to get all tournaments");
-            List<Tournament> tournaments = tournamentService.getAllTournaments();
-            return ResponseEntity.ok(tournaments);
+            CursorPage<TournamentSummaryDto> tournaments = tournamentService.getAllTournaments(cursor, size);
+            return tournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting all tournaments", e);
             return ResponseEntity.internalServerError().body("An error occurred while fetching tournaments");
@@ -57,18 +75,27 @@ public class AdminsTournamentsController {
     /**
      * Retrieves a tournament by its name.
      * 
+     * A request whose If-None-Match header holds the tournament's current version gets a 304 Not Modified.
+     * 
      * @param tournamentName the name of the tournament to retrieve.
+     * @param request the request, checked for an If-None-Match header.
      * @return a ResponseEntity containing the tournament object or an error message if the tournament is not found or an exception occurs.
      * @throws TournamentNotFoundException if no tournament with the specified name is found.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
 
     @GetMapping("/{tournamentName}")
-    public ResponseEntity<?> getTournamentByName(@PathVariable String tournamentName) {
+    public ResponseEntity<?> getTournamentByName(@PathVariable String tournamentName, WebRequest request) {
         try {
             logger.info("Received request to get tournament by name: {}", tournamentName);
             Tournament tournament = tournamentService.getTournamentByName(tournamentName);
-            return ResponseEntity.ok(tournament);
+
+            // The tournament's version is its ETag, so a client that has the current version gets a 304 without a body
+            String eTag = String.valueOf(tournament.getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(tournament);
         } catch (TournamentNotFoundException e) {
             logger.error("Tournament not found with name: {}", tournamentName);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -135,18 +162,25 @@ public class AdminsTournamentsController {
     }
 
     /**
-     * Retrieves all tournaments history.
+     * Retrieves one page of all tournaments history.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of all tournaments history or an error message if an exception occurs.
-     * @throws TournamentNotFoundException if no tournaments are found in history.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/all-history")
-    public ResponseEntity<?> getAllTournamentsHistory() {
+    public ResponseEntity<?> getAllTournamentsHistory(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<Tournament> allTournamentsHistory = tournamentService.getAllHistory();
-            logger.info("Total tournaments history: {}", allTournamentsHistory.size());
-            return ResponseEntity.ok(allTournamentsHistory);
+            CursorPage<TournamentSummaryDto> allTournamentsHistory = tournamentService.getAllHistory(cursor, size);
+            logger.info("Total tournaments history in page: {}", allTournamentsHistory.getItems().size());
+            return allTournamentsHistory.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting all tournaments history!", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -155,19 +189,27 @@ public class AdminsTournamentsController {
     }
 
     /**
-     * Retrieves the history of tournaments created by the authenticated admin.
+     * Retrieves one page of the history of tournaments created by the authenticated admin.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      *
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of past tournaments created by the admin or an error message if an exception occurs.
      */
     @GetMapping("/my-history")
-    public ResponseEntity<?> getAdminTournamentHistory() {
+    public ResponseEntity<?> getAdminTournamentHistory(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String adminName = authentication.getName();
 
         try {
-            List<Tournament> tournamentHistory = tournamentService.getAdminHistory(adminName);
-            logger.info("Retrieved {} past tournaments for admin: {}", tournamentHistory.size(), adminName);
-            return ResponseEntity.ok(tournamentHistory);
+            CursorPage<TournamentSummaryDto> tournamentHistory = tournamentService.getAdminHistory(adminName, cursor, size);
+            logger.info("Retrieved {} past tournaments for admin: {}", tournamentHistory.getItems().size(), adminName);
+            return tournamentHistory.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting tournament history for admin: {}", adminName, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -177,17 +219,25 @@ public class AdminsTournamentsController {
 
 
     /*
-     * Retrieves current and future tournaments from the database.
+     * Retrieves one page of current and future tournaments from the database.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of current and future tournaments or an error message if an exception occurs.
      * 
      */
     @GetMapping("/ongoing")
-    public ResponseEntity<?> getCurrentAndFutureTournaments() {
+    public ResponseEntity<?> getCurrentAndFutureTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<Tournament> currentAndFutureTournaments = tournamentService.getCurrentAndFutureTournaments();
-            logger.info("Total current and future tournaments: {}", currentAndFutureTournaments.size());
-            return ResponseEntity.ok(currentAndFutureTournaments);
+            CursorPage<TournamentSummaryDto> currentAndFutureTournaments = tournamentService.getCurrentAndFutureTournaments(cursor, size);
+            logger.info("Total current and future tournaments in page: {}", currentAndFutureTournaments.getItems().size());
+            return currentAndFutureTournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting current and future tournaments!", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -196,19 +246,27 @@ public class AdminsTournamentsController {
     }
 
      /**
-     * Retrieves ongoing and future tournaments created by the admin.
+     * Retrieves one page of ongoing and future tournaments created by the admin.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      *
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of upcoming tournaments created by the admin or an error message if an exception occurs.
      */
     @GetMapping("/scheduled")
-    public ResponseEntity<?> getAdminScheduledTournaments() {
+    public ResponseEntity<?> getAdminScheduledTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String adminName = authentication.getName();
 
         try {
             logger.info("Received request to get upcoming tournaments created by admin: {}", adminName);
-            List<Tournament> upcomingTournaments = tournamentService.getAdminUpcomingTournaments(adminName);
-            return ResponseEntity.ok(upcomingTournaments);
+            CursorPage<TournamentSummaryDto> upcomingTournaments = tournamentService.getAdminUpcomingTournaments(adminName, cursor, size);
+            return upcomingTournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting upcoming tournaments created by admin: {}", adminName, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -297,22 +355,26 @@ public class AdminsTournamentsController {
     }
 
      /**
-     * Retrieves all users that are eligible to participate in a tournament.
+     * Retrieves one page of the users that are eligible to participate in a tournament.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * @param tournamentName the name of the tournament to retrieve users for.
+     * @param cursor the cursor returned with the previous page, or omitted for the first page.
+     * @param size the maximum number of users to return, defaulting to the largest page allowed.
      * @return a ResponseEntity with the list of eligible users or an error message if an exception occurs.
      * @throws TournamentNotFoundException if no tournament with the given name is found.
      * @throws IllegalArgumentException if the request is invalid.
      * @throws Exception if an unexpected error occurs during the retrieval process.
      */
     @GetMapping("/{tournamentName}/available-users")
-    public ResponseEntity<?> getAvailableUsersForTournament(@PathVariable String tournamentName) {
+    public ResponseEntity<?> getAvailableUsersForTournament(@PathVariable String tournamentName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.MAX_AVAILABLE_USERS_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String adminName = authentication.getName();
 
         try {
             logger.info("Received request to get available users for tournament: {} by admin: {}", tournamentName, adminName);
-            List<User> availableUsers = tournamentService.getAvailableUsersForTournament(tournamentName, adminName);
-            return ResponseEntity.ok(availableUsers);
+            return tournamentService.getAvailableUsersForTournament(tournamentName, adminName, cursor, size).toResponseEntity();
         } catch (TournamentNotFoundException e) {
             logger.error("Tournament not found: {}", tournamentName);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -381,8 +443,13 @@ public class AdminsTournamentsController {
 
     /**
      * Generates a bracket for the tournament.
+     * By default the next round of the bracket is generated; with full set, every round is generated up front
+     * and the winners advance through the bracket as the match results come in;
+     * with swiss set, the next round of a Swiss-system bracket is paired from the standings.
      * 
      * @param tournamentName the name of the tournament for which to generate the bracket.
+     * @param full whether to generate the whole bracket at once.
+     * @param swiss whether to generate the next round of a Swiss-system bracket.
      * @return a ResponseEntity with the result of the bracket generation or error messages if validation fails.
      * @throws TournamentNotFoundException if no tournament with the given name is found.
      * @throws UserNotFoundException if no user is found.
@@ -390,9 +457,18 @@ public class AdminsTournamentsController {
      * @throws Exception if an unexpected error occurs during the bracket generation process.
      */
     @PutMapping("/bracket/{tournamentName}")
-    public ResponseEntity<?> generateBracket(@PathVariable String tournamentName) {
+    public ResponseEntity<?> generateBracket(@PathVariable String tournamentName,
+                                             @RequestParam(defaultValue = "false") boolean full,
+                                             @RequestParam(defaultValue = "false") boolean swiss) {
         try {
-            Map<String, Object> response = bracketService.generateBracket(tournamentName);
+            Map<String, Object> response;
+            if (full) {
+                response = bracketService.generateFullBracket(tournamentName);
+            } else if (swiss) {
+                response = bracketService.generateSwissRound(tournamentName);
+            } else {
+                response = bracketService.generateBracket(tournamentName);
+            }
             return ResponseEntity.ok(response);
         } catch (TournamentNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -413,18 +489,27 @@ public class AdminsTournamentsController {
     /**
      * Retrieves the bracket view for a specific tournament.
      * 
+     * The tournament's version is the bracket's ETag, as every change to the bracket or its matches moves the tournament to a new version.
+     * 
      * @param tournamentName The name of the tournament to view the bracket for
+     * @param request The request, checked for an If-None-Match header
      * @return ResponseEntity containing either:
      *         - 200 OK with the tournament bracket data
+     *         - 304 NOT_MODIFIED if the If-None-Match header holds the tournament's current version
      *         - 404 NOT_FOUND if the tournament doesn't exist
      *         - 500 INTERNAL_SERVER_ERROR if an unexpected error occurs
      * @throws TournamentNotFoundException if the specified tournament is not found
      */
     @GetMapping("/{tournamentName}/bracket")
-    public ResponseEntity<?> viewTournamentBracket(@PathVariable String tournamentName) {
+    public ResponseEntity<?> viewTournamentBracket(@PathVariable String tournamentName, WebRequest request) {
         try {
+            // The version is read before the bracket, so a bracket changed in between is sent again on the next request
+            String eTag = String.valueOf(tournamentService.getTournamentByName(tournamentName).getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
             Map<String, Object> tournamentBracket = bracketService.viewTournamentBracket(tournamentName);
-            return ResponseEntity.ok(tournamentBracket);
+            return ResponseEntity.ok().eTag(eTag).body(tournamentBracket);
         } catch (TournamentNotFoundException e) {
             logger.error("Tournament not found: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -436,12 +521,74 @@ public class AdminsTournamentsController {
         }
     }
 
+    /**
+     * Predicts the outcome of the rest of the bracket of a specific tournament.
+     * Each player is listed with their probability of playing in each round and of winning the title,
+     * from the most likely winner down.
+     * 
+     * The predictions change with every match result, so the tournament's version is their ETag, as for the bracket.
+     * 
+     * @param tournamentName The name of the tournament to predict the bracket of
+     * @param request The request, checked for an If-None-Match header
+     * @return ResponseEntity containing either:
+     *         - 200 OK with the predictions
+     *         - 304 NOT_MODIFIED if the If-None-Match header holds the tournament's current version
+     *         - 404 NOT_FOUND if the tournament doesn't exist
+     *         - 500 INTERNAL_SERVER_ERROR if an unexpected error occurs
+     * @throws TournamentNotFoundException if the specified tournament is not found
+     */
+    @GetMapping("/{tournamentName}/predictions")
+    public ResponseEntity<?> predictTournamentBracket(@PathVariable String tournamentName, WebRequest request) {
+        try {
+            String eTag = String.valueOf(tournamentService.getTournamentByName(tournamentName).getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            Map<String, Object> predictions = bracketPredictionService.predictBracket(tournamentName);
+            return ResponseEntity.ok().eTag(eTag).body(predictions);
+        } catch (TournamentNotFoundException e) {
+            logger.error("Tournament not found: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while predicting the tournament's bracket: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An unexpected error occurred while predicting the tournament's bracket!"));
+        }
+    }
+
+    /**
+     * Streams the changes to the bracket of a specific tournament, as server-sent events.
+     * The current bracket is sent first as a "bracket" event, followed by "round" events for new rounds
+     * and "match" events for updated matches.
+     * 
+     * @param tournamentName The name of the tournament to follow the bracket of
+     * @return ResponseEntity containing either:
+     *         - 200 OK with the event stream
+     *         - 404 NOT_FOUND if the tournament doesn't exist
+     * @throws TournamentNotFoundException if the specified tournament is not found
+     */
+    @GetMapping("/{tournamentName}/bracket/stream")
+    public ResponseEntity<?> streamTournamentBracket(@PathVariable String tournamentName) {
+        try {
+            tournamentService.getTournamentByName(tournamentName);
+            SseEmitter emitter = bracketEventService.subscribe(tournamentName,
+                () -> bracketService.viewTournamentBracket(tournamentName));
+            return ResponseEntity.ok(emitter);
+        } catch (TournamentNotFoundException e) {
+            logger.error("Tournament not found: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Updates the match results.
      * 
      * @param newMatchDetails the Match object containing the new match details.
      * @return a ResponseEntity with the updated Match object or error messages if validation fails.
      * @throws IllegalArgumentException if the match details are invalid.
+     * @throws OptimisticLockingFailureException if the match kept changing while the update was retried.
      * @throws Exception if an unexpected error occurs during the update process.
      */
     @PutMapping("/match")
@@ -463,6 +610,10 @@ public class AdminsTournamentsController {
             logger.error("Invalid match details provided: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Match {} kept changing while its results were updated", newMatchDetails.getId());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The match was updated by someone else at the same time, please try again!"));
         } catch (Exception e) {
             logger.error("Unexpected error updating match results: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -472,6 +623,7 @@ public class AdminsTournamentsController {
 
     /**
      * Calculates and updates the Elo rating of the players after a match.
+     * Rating a match that has already been rated succeeds without changing the ratings, so the request can be retried.
      * 
      * @param matchId the ID of the match for which to update the Elo rating.
      * @return a ResponseEntity with a success message or error messages if validation fails.
@@ -483,7 +635,9 @@ public class AdminsTournamentsController {
     @PutMapping("/{matchId}/update-elo")
     public ResponseEntity<?> updateEloRating(@PathVariable String matchId) {
         try {
-            eloRatingService.updateEloRating(matchId);
+            if (!eloRatingService.updateEloRating(matchId)) {
+                return ResponseEntity.ok(Map.of("message", "Elo rating was already updated for this match"));
+            }
             return ResponseEntity.ok(Map.of("message", "Elo rating updated successfully"));
         } catch (MatchNotFoundException | UserNotFoundException | TournamentNotFoundException e) {
             logger.error("Error updating elo rating: {}", e.getMessage());
@@ -496,6 +650,53 @@ public class AdminsTournamentsController {
         }
     }
 
+    /**
+     * Calculates and updates the Elo ratings of the players of a whole round, or of a whole ended tournament, at once.
+     * 
+     * @param tournamentName the name of the tournament whose matches to rate.
+     * @param round the zero-based number of the round to rate; every round is rated if it is left out.
+     * @return a ResponseEntity with the number of matches rated and players updated, or error messages if validation fails.
+     * @throws TournamentNotFoundException if no tournament is found.
+     * @throws IllegalArgumentException if the round does not exist, or the tournament has not ended when no round is given.
+     * @throws Exception if an unexpected error occurs during the update process.
+     */
+    @PutMapping("/{tournamentName}/update-elos")
+    public ResponseEntity<?> updateEloRatings(@PathVariable String tournamentName,
+                                              @RequestParam(required = false) Integer round) {
+        try {
+            return ResponseEntity.ok(eloRatingService.updateEloRatings(tournamentName, round));
+        } catch (TournamentNotFoundException e) {
+            logger.error("Error updating elo ratings: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error updating elo ratings: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An unexpected error occurred while updating the elo ratings"));
+        }
+    }
+
+    /**
+     * Recomputes every player's Elo rating by replaying all rated matches in the order they were played,
+     * for instance after the k-factor rules have changed.
+     * 
+     * @return a ResponseEntity with the number of matches replayed and players updated, or an error message if the replay fails.
+     * @throws Exception if an unexpected error occurs during the replay.
+     */
+    @PostMapping("/elo-replay")
+    public ResponseEntity<?> replayEloRatings() {
+        try {
+            return ResponseEntity.ok(eloReplayService.replayEloRatings());
+        } catch (Exception e) {
+            logger.error("Unexpected error replaying elo ratings: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An unexpected error occurred while replaying the elo ratings"));
+        }
+    }
+
     /**
      * Updates the end date of a tournament.
      * 
@@ -1,8 +1,12 @@
 package com.example.backend.controller;
 
+import com.example.backend.service.EloHistoryService;
+import com.example.backend.service.LeaderboardVersionService;
 import com.example.backend.service.UserService;
+import com.example.backend.responses.CursorPage;
 import com.example.backend.responses.ErrorResponse;
 import com.example.backend.exception.UserNotFoundException;
+import com.example.backend.model.EloHistory;
 import com.example.backend.model.User;
 
 import lombok.RequiredArgsConstructor;
@@ -11,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +28,8 @@ import java.util.*;
 public class UsersController {
 
     private final UserService userService;
+    private final LeaderboardVersionService leaderboardVersionService;
+    private final EloHistoryService eloHistoryService;
     private static final Logger logger = LoggerFactory.getLogger(UsersController.class);
 
     /**
@@ -164,17 +171,27 @@ public class UsersController {
      * Private helper method to handle all leaderboard requests.
      * Centralizes the logic for fetching different types of leaderboards and error handling.
      *
+     * The leaderboard version, together with the requesting user, is the ETag of the leaderboard,
+     * so a request whose If-None-Match header holds it gets a 304 Not Modified without the leaderboard being built.
+     *
      * @param type the type of leaderboard to retrieve (DEFAULT, OPPOSITE_GENDER, or MIXED_GENDER)
+     * @param request the request, checked for an If-None-Match header
      * @return a ResponseEntity containing either the requested leaderboard or error details
      * @throws IllegalArgumentException if the username is invalid
      * @throws UserNotFoundException if the user is not found in the database
      * @throws RuntimeException if there is an unexpected error during the retrieval process
      */
-    private ResponseEntity<?> getLeaderboard(LeaderboardType type) {
+    private ResponseEntity<?> getLeaderboard(LeaderboardType type, WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
         try {
+            // Each user sees their own leaderboards, so the tag covers the user as well as the version
+            String eTag = leaderboardVersionService.currentVersion() + "-" + Integer.toHexString(username.hashCode());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
             List<User> leaderboard;
             switch(type) {
                 case DEFAULT:
@@ -191,7 +208,7 @@ public class UsersController {
             }
             logger.info("Leaderboard retrieved successfully for user: {}", 
                 type.name().toLowerCase().replace('_', ' '), username);
-            return ResponseEntity.ok(leaderboard);
+            return ResponseEntity.ok().eTag(eTag).body(leaderboard);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid username: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -210,36 +227,66 @@ public class UsersController {
     /**
      * Retrieves the default leaderboard for the authenticated user.
      * 
+     * @param request the request, checked for an If-None-Match header.
      * @return a ResponseEntity containing the default leaderboard or error messages if an exception occurs.
      * @throws UserNotFoundException if no user with the username is found in the database.
      * @throws RuntimeException if there is an unexpected error during the retrieval process.
      */
     @GetMapping("/leaderboard")
-    public ResponseEntity<?> getDefaultLeaderBoard() {
-        return getLeaderboard(LeaderboardType.DEFAULT);
+    public ResponseEntity<?> getDefaultLeaderBoard(WebRequest request) {
+        return getLeaderboard(LeaderboardType.DEFAULT, request);
     }
 
     /**
      * Retrieves the opposite gender leaderboard for the authenticated user.
      * 
+     * @param request the request, checked for an If-None-Match header.
      * @return a ResponseEntity containing the opposite gender leaderboard or error messages if an exception occurs.
      * @throws UserNotFoundException if no user with the username is found in the database.
      * @throws RuntimeException if there is an unexpected error during the retrieval process.
      */
     @GetMapping("/leaderboard/opposite-gender")
-    public ResponseEntity<?> getOppositeGenderLeaderboard() {
-        return getLeaderboard(LeaderboardType.OPPOSITE_GENDER);
+    public ResponseEntity<?> getOppositeGenderLeaderboard(WebRequest request) {
+        return getLeaderboard(LeaderboardType.OPPOSITE_GENDER, request);
     }
     
     /**
      * Retrieves the mixed gender leaderboard for the authenticated user.
      * 
+     * @param request the request, checked for an If-None-Match header.
      * @return a ResponseEntity containing the mixed gender leaderboard or error messages if an exception occurs.
      * @throws UserNotFoundException if no user with the username is found in the database.
      * @throws RuntimeException if there is an unexpected error during the retrieval process.
      */
     @GetMapping("/leaderboard/mixed-gender")
-    public ResponseEntity<?> getMixedGenderLeaderboard() {
-        return getLeaderboard(LeaderboardType.MIXED_GENDER);
+    public ResponseEntity<?> getMixedGenderLeaderboard(WebRequest request) {
+        return getLeaderboard(LeaderboardType.MIXED_GENDER, request);
+    }
+
+    /**
+     * Retrieves one page of a player's Elo rating history, most recent change first.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+     *
+     * @param username the username of the player.
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of rating changes to return.
+     * @return a ResponseEntity containing the page of rating changes or an error message if an exception occurs.
+     */
+    @GetMapping("/{username}/elo-history")
+    public ResponseEntity<?> getEloHistory(@PathVariable String username, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EloHistoryService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            CursorPage<EloHistory> history = eloHistoryService.getRatingHistory(username, cursor, size);
+            logger.info("Total rating changes in page for user {}: {}", username, history.getItems().size());
+            return history.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error getting the rating history of user {}", username, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("An unexpected error occurred while fetching the rating history!"));
+        }
     }
-}
\ No newline at end of file
+}
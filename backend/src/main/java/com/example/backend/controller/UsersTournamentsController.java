@@ -1,6 +1,8 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.TournamentSummaryDto;
 import com.example.backend.model.Tournament;
+import com.example.backend.responses.CursorPage;
 import com.example.backend.responses.ErrorResponse;
 import com.example.backend.service.TournamentService;
 import com.example.backend.exception.InvalidJoinException;
@@ -8,6 +10,8 @@ import com.example.backend.exception.TournamentNotFoundException;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.service.UserService;
 import com.example.backend.service.BracketService;
+import com.example.backend.service.BracketEventService;
+import com.example.backend.service.BracketPredictionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -16,6 +20,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,23 +36,34 @@ public class UsersTournamentsController {
     private final TournamentService tournamentService;
     private final UserService userService;
     private final BracketService bracketService;
+    private final BracketEventService bracketEventService;
+    private final BracketPredictionService bracketPredictionService;
 
     private static final Logger logger = LoggerFactory.getLogger(UsersTournamentsController.class);
 
     /**
      * Retrieves a tournament by its name.
      * 
+     * A request whose If-None-Match header holds the tournament's current version gets a 304 Not Modified.
+     * 
      * @param tournamentName the name of the tournament to retrieve.
+     * @param request the request, checked for an If-None-Match header.
      * @return a ResponseEntity containing the tournament object or an error message if the tournament is not found or an exception occurs.
      * @throws TournamentNotFoundException if no tournament with the specified name is found.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/{tournamentName}")
-    public ResponseEntity<?> getTournamentByName(@PathVariable String tournamentName) {
+    public ResponseEntity<?> getTournamentByName(@PathVariable String tournamentName, WebRequest request) {
         try {
             logger.info("Received request to get tournament by name: {}", tournamentName);
             Tournament tournament = tournamentService.getTournamentByName(tournamentName);
-            return ResponseEntity.ok(tournament);
+
+            // The tournament's version is its ETag, so a client that has the current version gets a 304 without a body
+            String eTag = String.valueOf(tournament.getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(tournament);
         } catch (TournamentNotFoundException e) {
             logger.info("Tournament not found with name: {}", tournamentName);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -59,18 +76,25 @@ public class UsersTournamentsController {
     }
 
     /**
-     * Retrieves ongoing tournaments from the database.
+     * Retrieves one page of ongoing tournaments from the database.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of ongoing tournaments or an error message if an exception occurs.
-     * @throws TournamentNotFoundException if no ongoing tournaments are found.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/ongoing")
-    public ResponseEntity<?> getCurrentAndFutureTournaments() {
+    public ResponseEntity<?> getCurrentAndFutureTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<Tournament> currentAndFutureTournaments = tournamentService.getCurrentAndFutureTournaments();
-            logger.info("Total current and future tournaments: {}", currentAndFutureTournaments.size());
-            return ResponseEntity.ok(currentAndFutureTournaments);
+            CursorPage<TournamentSummaryDto> currentAndFutureTournaments = tournamentService.getCurrentAndFutureTournaments(cursor, size);
+            logger.info("Total current and future tournaments in page: {}", currentAndFutureTournaments.getItems().size());
+            return currentAndFutureTournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting current and future tournaments!", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -79,21 +103,24 @@ public class UsersTournamentsController {
     }
 
     /**
-     * Retrieves current tournaments from the database.
+     * Retrieves one page of current tournaments from the database.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity containing the list of current tournaments or an error message if an exception occurs.
-     * @throws TournamentNotFoundException if no current tournaments are found.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/current")
-    public ResponseEntity<?> getCurrentTournaments() {
+    public ResponseEntity<?> getCurrentTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<Tournament> currentTournaments = tournamentService.getCurrentTournaments();
-            logger.info("Total current tournaments: {}", currentTournaments.size());
-            return ResponseEntity.ok(currentTournaments);
-        } catch (TournamentNotFoundException e) {
-            logger.error("No current tournaments found!");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            CursorPage<TournamentSummaryDto> currentTournaments = tournamentService.getCurrentTournaments(cursor, size);
+            logger.info("Total current tournaments in page: {}", currentTournaments.getItems().size());
+            return currentTournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting current tournaments!", e);
@@ -103,19 +130,26 @@ public class UsersTournamentsController {
     }
 
     /**
-     * Retrieves the user's scheduled tournaments.
+     * Retrieves one page of the user's scheduled tournaments.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of scheduled tournaments for the user or an error message if an exception occurs.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/scheduled")
-    public ResponseEntity<?> getUserUpcomingTournaments() {
+    public ResponseEntity<?> getUserUpcomingTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
         try {
-            List<Tournament> userScheduledTournaments = tournamentService.getUserUpcomingTournaments(username);
-            return ResponseEntity.ok(userScheduledTournaments);
+            CursorPage<TournamentSummaryDto> userScheduledTournaments = tournamentService.getUserUpcomingTournaments(username, cursor, size);
+            return userScheduledTournaments.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", e.getMessage()));
@@ -123,25 +157,27 @@ public class UsersTournamentsController {
     }
 
     /**
-     * Retrieves the tournaments history for a specific user.
+     * Retrieves one page of the tournaments history for a specific user.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
-     * @param username the name of the user to retrieve the tournaments history for.
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of tournaments history for the user or an error message if an exception occurs.
-     * @throws TournamentNotFoundException if no tournaments are found for the specified user.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/history")
-    public ResponseEntity<?> getTournamentsHistoryByUsername() {
+    public ResponseEntity<?> getTournamentsHistoryByUsername(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
         try {
-            List<Tournament> userTournamentHistory = tournamentService.getUserHistory(username);
-            logger.info("Total tournaments history by user: {}", userTournamentHistory.size());
-            return ResponseEntity.ok(userTournamentHistory);
-        } catch (TournamentNotFoundException e) {
-            logger.error("No tournaments found for user: {}", username, e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            CursorPage<TournamentSummaryDto> userTournamentHistory = tournamentService.getUserHistory(username, cursor, size);
+            logger.info("Total tournaments history by user in page: {}", userTournamentHistory.getItems().size());
+            return userTournamentHistory.toResponseEntity();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting tournaments history by user: {}", username, e);
@@ -151,28 +187,31 @@ public class UsersTournamentsController {
     }
 
     /**
-     * Retrieves the available tournaments for a specific user.
+     * Retrieves one page of the available tournaments for a specific user.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
      * 
-     * @param username the name of the user to retrieve the available tournaments for.
+     * @param cursor the cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of tournaments to return.
      * @return a ResponseEntity with the list of available tournaments for the user or an error message if an exception occurs.
      * @throws UserNotFoundException if the user is not found.
-     * @throws TournamentNotFoundException if no tournaments are found for the specified user.
      * @throws RuntimeException for any unexpected errors during the retrieval process.
      */
     @GetMapping("/available")
-    public ResponseEntity<?> getUserAvailableTournaments() {
+    public ResponseEntity<?> getUserAvailableTournaments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TournamentService.DEFAULT_PAGE_SIZE) int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         try {
-            List<Tournament> userAvailableTournaments = tournamentService.getUserAvailableTournaments(username);
+            CursorPage<TournamentSummaryDto> userAvailableTournaments = tournamentService.getUserAvailableTournaments(username, cursor, size);
             logger.info("Total available tournaments for user: {}", username);
-            return ResponseEntity.ok(userAvailableTournaments);
+            return userAvailableTournaments.toResponseEntity();
         } catch (UserNotFoundException e) {
             logger.error("User not found!", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
-        } catch (TournamentNotFoundException e) {
-            logger.error("No tournaments found!", e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("Unexpected error getting user available tournaments!", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -241,18 +280,27 @@ public class UsersTournamentsController {
     /**
      * Retrieves the bracket view for a specific tournament for users.
      * 
+     * The tournament's version is the bracket's ETag, as every change to the bracket or its matches moves the tournament to a new version.
+     * 
      * @param tournamentName The name of the tournament to view the bracket for
+     * @param request The request, checked for an If-None-Match header
      * @return ResponseEntity containing either:
      *         - 200 OK with the tournament bracket data
+     *         - 304 NOT_MODIFIED if the If-None-Match header holds the tournament's current version
      *         - 404 NOT_FOUND if the tournament doesn't exist
      *         - 500 INTERNAL_SERVER_ERROR if an unexpected error occurs
      * @throws TournamentNotFoundException if the specified tournament is not found
      */
     @GetMapping("/{tournamentName}/bracket")
-    public ResponseEntity<?> viewTournamentBracket(@PathVariable String tournamentName) {
+    public ResponseEntity<?> viewTournamentBracket(@PathVariable String tournamentName, WebRequest request) {
         try {
+            // The version is read before the bracket, so a bracket changed in between is sent again on the next request
+            String eTag = String.valueOf(tournamentService.getTournamentByName(tournamentName).getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
             Map<String, Object> tournamentBracket = bracketService.viewTournamentBracket(tournamentName);
-            return ResponseEntity.ok(tournamentBracket);
+            return ResponseEntity.ok().eTag(eTag).body(tournamentBracket);
         } catch (TournamentNotFoundException e) {
             logger.error("Tournament not found: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -263,4 +311,65 @@ public class UsersTournamentsController {
                 .body(Map.of("error", "An unexpected error occurred while viewing the tournament's bracket!"));
         }
     } 
+
+    /**
+     * Predicts the outcome of the rest of the bracket of a specific tournament for users.
+     * Each player is listed with their probability of playing in each round and of winning the title,
+     * from the most likely winner down.
+     * 
+     * The predictions change with every match result, so the tournament's version is their ETag, as for the bracket.
+     * 
+     * @param tournamentName The name of the tournament to predict the bracket of
+     * @param request The request, checked for an If-None-Match header
+     * @return ResponseEntity containing either:
+     *         - 200 OK with the predictions
+     *         - 304 NOT_MODIFIED if the If-None-Match header holds the tournament's current version
+     *         - 404 NOT_FOUND if the tournament doesn't exist
+     *         - 500 INTERNAL_SERVER_ERROR if an unexpected error occurs
+     * @throws TournamentNotFoundException if the specified tournament is not found
+     */
+    @GetMapping("/{tournamentName}/predictions")
+    public ResponseEntity<?> predictTournamentBracket(@PathVariable String tournamentName, WebRequest request) {
+        try {
+            String eTag = String.valueOf(tournamentService.getTournamentByName(tournamentName).getVersion());
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            Map<String, Object> predictions = bracketPredictionService.predictBracket(tournamentName);
+            return ResponseEntity.ok().eTag(eTag).body(predictions);
+        } catch (TournamentNotFoundException e) {
+            logger.error("Tournament not found: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while predicting the tournament's bracket: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An unexpected error occurred while predicting the tournament's bracket!"));
+        }
+    }
+
+    /**
+     * Streams the changes to the bracket of a specific tournament for users, as server-sent events.
+     * The current bracket is sent first as a "bracket" event, followed by "round" events for new rounds
+     * and "match" events for updated matches.
+     * 
+     * @param tournamentName The name of the tournament to follow the bracket of
+     * @return ResponseEntity containing either:
+     *         - 200 OK with the event stream
+     *         - 404 NOT_FOUND if the tournament doesn't exist
+     * @throws TournamentNotFoundException if the specified tournament is not found
+     */
+    @GetMapping("/{tournamentName}/bracket/stream")
+    public ResponseEntity<?> streamTournamentBracket(@PathVariable String tournamentName) {
+        try {
+            tournamentService.getTournamentByName(tournamentName);
+            SseEmitter emitter = bracketEventService.subscribe(tournamentName,
+                () -> bracketService.viewTournamentBracket(tournamentName));
+            return ResponseEntity.ok(emitter);
+        } catch (TournamentNotFoundException e) {
+            logger.error("Tournament not found: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO holding a player's username and Elo rating, used to seed the players of a bracket.
+ * Read through a field projection, so only these two fields are loaded.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerEloDto {
+    private String username;
+    private int elo;
+}
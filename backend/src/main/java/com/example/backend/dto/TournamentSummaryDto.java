@@ -0,0 +1,39 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.Tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO holding the tournament fields shown in the tournament listings.
+ * Read through a field projection, so the players pool and bracket are never loaded;
+ * the full tournament is only served when a single tournament is requested by name.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentSummaryDto {
+    private String id;
+    private String tournamentName;
+    private String createdBy;
+    private LocalDate startDate;
+    private LocalDate closingSignupDate;
+    private LocalDate endDate;
+    private Tournament.Status status;
+    private String location;
+    private Integer minElo;
+    private Integer maxElo;
+    private String gender;
+    private String category;
+    private String remarks;
+    private Integer playerCapacity;
+    private int playerCount;
+
+    // Computed by the projection from whether the tournament has a bracket
+    private boolean bracketGenerated;
+}
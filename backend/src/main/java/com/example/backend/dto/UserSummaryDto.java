@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO holding the user fields shown when picking players for a tournament.
+ * Read through a field projection, so passwords and strike reports are never loaded.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private String username;
+    private String firstName;
+    private String lastName;
+    private int elo;
+    private String gender;
+    private int age;
+}
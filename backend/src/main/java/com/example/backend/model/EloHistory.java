@@ -0,0 +1,46 @@
+package com.example.backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a player's Elo rating, recorded when a match is rated.
+ * Entries are only ever inserted, so together they are the history of every rating change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "eloHistory")
+// Serves a player's rating history, which is read most recent first with ties broken by id
+@CompoundIndex(name = "username_timestamp_id", def = "{'username': 1, 'timestamp': -1, '_id': -1}")
+public class EloHistory {
+    @Id
+    private String id;
+
+    private String username;
+
+    // The match that was rated, or the replay marker for the changes made by a replay of the whole rating history
+    private String matchId;
+
+    // The player's stored rating just before and just after the change was applied.
+    // Changes from other matches applied in between are reflected, so the entries of a player chain into their actual rating.
+    private int oldElo;
+    private int newElo;
+
+    // The change to the rating, worked out from the ratings the players had when the match was played
+    private int delta;
+
+    private double kFactor;
+
+    private LocalDateTime timestamp;
+
+    public EloHistory(String username, String matchId, int oldElo, int newElo, double kFactor, LocalDateTime timestamp) {
+        this(null, username, matchId, oldElo, newElo, newElo - oldElo, kFactor, timestamp);
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -16,10 +19,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "match")
+// Serves the replay of the rating history, which reads the completed matches in the order they were played
+@CompoundIndex(name = "completed_startDate_id", def = "{'completed': 1, 'startDate': 1, '_id': 1}")
 public class Match {
     @Id
     private String id;
 
+    @Indexed
     @NotBlank(message = "Tournament name is required!")
     private String tournamentName;
     @NotNull(message = "Start date is required!")
@@ -33,6 +39,23 @@ public class Match {
 
     private boolean completed; // default value is false
 
+    // The Elo ratings of the players when the match was completed, in the order of the players.
+    // The match's rating change is worked out from them, however much later it is applied.
+    private List<Integer> playerElos;
+
+    // The id of the rating that applied the match's Elo change, null until it is applied.
+    // It is claimed by a conditional update before the change is applied, so a match is never rated twice.
+    private String eloRatingId;
+
+    // In a bracket generated in full, the match the winner advances to and the index of their slot in its players.
+    // Null for the final, and for matches of brackets generated round by round.
+    private String nextMatchId;
+    private Integer nextMatchSlot;
+
+    // Increases with every write; saves only apply to the version they read, so concurrent result updates cannot overwrite each other
+    @Version
+    private Long version;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
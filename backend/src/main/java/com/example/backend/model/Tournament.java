@@ -4,8 +4,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 
 import jakarta.validation.constraints.*;
 
@@ -13,11 +16,30 @@ import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tournament")
+@CompoundIndexes({
+    // The listings are paginated on (date, id), so every index ends with the sorted date and the id
+
+    // Serves the unfiltered listing, which sorts on startDate
+    @CompoundIndex(name = "startDate_id", def = "{'startDate': 1, '_id': 1}"),
+    // Serves the lifecycle listings (available, ongoing and current), which filter on status and sort on startDate
+    @CompoundIndex(name = "status_startDate_id", def = "{'status': 1, 'startDate': 1, '_id': 1}"),
+    // Serves the history listing, which filters on status and sorts on endDate
+    @CompoundIndex(name = "status_endDate_id", def = "{'status': 1, 'endDate': -1, '_id': -1}"),
+    // Serve the admin listings, which filter on the creator and the status
+    @CompoundIndex(name = "createdBy_status_startDate_id", def = "{'createdBy': 1, 'status': 1, 'startDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "createdBy_status_endDate_id", def = "{'createdBy': 1, 'status': 1, 'endDate': -1, '_id': -1}"),
+    // Serves the available tournaments query, which filters on status, gender and category and sorts on startDate
+    @CompoundIndex(name = "status_gender_category_startDate_id", def = "{'status': 1, 'gender': 1, 'category': 1, 'startDate': 1, '_id': 1}"),
+    // Multikey indexes serving the per-player listings, which filter on a player in the pool and the status
+    @CompoundIndex(name = "playersPool_status_startDate_id", def = "{'playersPool': 1, 'status': 1, 'startDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "playersPool_status_endDate_id", def = "{'playersPool': 1, 'status': 1, 'endDate': -1, '_id': -1}")
+})
 public class Tournament {
     @Id
     private String id;
@@ -33,6 +55,11 @@ public class Tournament {
     @PastOrPresent(message = "Tournament must be updated in the past or the present!")
     private LocalDateTime updatedAt;
 
+    // Increases with every write to the tournament or its matches; served as the ETag of the tournament and its bracket.
+    // Saves only apply to the version they read, so concurrent read-modify-write updates cannot overwrite each other.
+    @Version
+    private Long version;
+
     @NotBlank(message = "Admin who created the tournament is required!")
     private String createdBy;
 
@@ -45,6 +72,9 @@ public class Tournament {
 
     // Set to null if the tournament is not yet ended, this field is only updated when the tournament is ended
     private LocalDate endDate = null;
+
+    // Lifecycle status derived from the dates above, kept current by the TournamentStatusScheduler
+    private Status status = Status.SIGNUP_OPEN;
     
     @NotBlank(message = "Location is required!")
     private String location;
@@ -63,6 +93,9 @@ public class Tournament {
 
     private List<String> playersPool = new ArrayList<>();
 
+    // Number of players in the playersPool, stored so that queries can compare it against the playerCapacity
+    private int playerCount;
+
     private String remarks;
 
     @NotBlank(message = "Category is required!")
@@ -78,11 +111,80 @@ public class Tournament {
     // each round has a list of matches
     private Bracket bracket;
 
+    /*
+     * The lifecycle of a tournament, in the order a tournament moves through it:
+     * SIGNUP_OPEN: before the closing signup date
+     * SIGNUP_CLOSED: from the closing signup date until the start date
+     * IN_PROGRESS: from the start date until the tournament is ended
+     * ENDED: once the end date has been set
+     */
+    public enum Status {
+        SIGNUP_OPEN,
+        SIGNUP_CLOSED,
+        IN_PROGRESS,
+        ENDED
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Bracket {
         private List<Round> rounds = new ArrayList<>();
+
+        // Whether every round was generated up front, with the winners advancing through the matches' next match links
+        private boolean fullTree;
+
+        // Whether the rounds are paired with the Swiss system, where every player plays every round
+        // and is paired with players on the same score, instead of being knocked out
+        private boolean swiss;
+
+        // The number of rounds of a Swiss bracket, set when its first round is generated
+        private int swissRounds;
+
+        // The players going through to the next round: the players who sat out the current round,
+        // followed by one slot per match of the current round that holds the match winner once it is decided.
+        // Null on brackets generated before it was kept, until their state is rebuilt from the matches.
+        private List<String> advancingPlayers;
+
+        // The number of matches of the current round that are completed
+        private int completedMatches;
+
+        // The last round of the bracket, or null if no round was generated yet
+        public Round currentRound() {
+            return rounds == null || rounds.isEmpty() ? null : rounds.get(rounds.size() - 1);
+        }
+
+        // Whether every match of the current round is completed, so that the next round can be generated
+        public boolean currentRoundCompleted() {
+            Round round = currentRound();
+            return round == null || completedMatches >= round.getMatches().size();
+        }
+
+        // The position of a current round match's winner in the advancing players, or -1 if the match is not in the current round
+        public int advancingIndexOf(String matchId) {
+            Round round = currentRound();
+            int matchIndex = round == null ? -1 : round.getMatches().indexOf(matchId);
+            if (matchIndex < 0 || advancingPlayers == null) {
+                return -1;
+            }
+            return advancingPlayers.size() - round.getMatches().size() + matchIndex;
+        }
+
+        // Records the winner of a current round match that was just completed
+        public void recordResult(String matchId, String winner) {
+            int index = advancingIndexOf(matchId);
+            if (index >= 0) {
+                advancingPlayers.set(index, winner);
+                completedMatches++;
+            }
+        }
+
+        // Replaces a player among the advancing players, leaving their slot empty if the replacement is null
+        public void replaceAdvancingPlayer(String username, String replacement) {
+            if (advancingPlayers != null) {
+                advancingPlayers.replaceAll(player -> username.equals(player) ? replacement : player);
+            }
+        }
     }
 
     @Data
@@ -100,6 +202,25 @@ public class Tournament {
         }
     }
 
+    // the current date that the statuses and signup windows are evaluated against,
+    // a UTC day like the dates the API reads and writes, so that every path agrees around midnight
+    public static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    // method to derive the status from the dates, used whenever the dates are written
+    public void refreshStatus(LocalDate currentDate) {
+        if (endDate != null) {
+            this.status = Status.ENDED;
+        } else if (startDate != null && !startDate.isAfter(currentDate)) {
+            this.status = Status.IN_PROGRESS;
+        } else if (closingSignupDate != null && !currentDate.isBefore(closingSignupDate)) {
+            this.status = Status.SIGNUP_CLOSED;
+        } else {
+            this.status = Status.SIGNUP_OPEN;
+        }
+    }
+
 
     @AssertTrue(message = "Minimum elo must be less than maximum elo!") boolean isValidEloRange() {
         if (minElo != null && maxElo != null) {
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -20,10 +21,12 @@ import jakarta.validation.constraints.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "user")
+// Serves the available users query, which filters on gender, enabled and isAvailable, ranges over elo and sorts on elo and username
+@CompoundIndex(name = "gender_enabled_isAvailable_elo_username", def = "{'gender': 1, 'enabled': 1, 'isAvailable': 1, 'elo': 1, 'username': 1}")
 public class User {
 
     @Transient
-    private static final int BASE_ELO = 1200;
+    public static final int BASE_ELO = 1200;
 
     @Id
     private String id;
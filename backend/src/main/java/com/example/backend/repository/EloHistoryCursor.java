@@ -0,0 +1,61 @@
+package com.example.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last entry of a page of a player's rating history, used to fetch the entries that come after it.
+ * The history is ordered on the time of the change, with ties broken by id.
+ * Clients only ever see the encoded form, which they pass back unchanged to get the next page.
+ */
+@Data
+@AllArgsConstructor
+public class EloHistoryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime timestamp;
+    private String id;
+
+    /**
+     * Encodes the cursor into an opaque, URL safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by encode.
+     *
+     * @param cursor the encoded cursor, or null for the first page.
+     * @return the decoded cursor, or null if no cursor was given.
+     * @throws IllegalArgumentException if the cursor is not a valid encoded cursor.
+     */
+    public static EloHistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0 || separatorIndex == value.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new EloHistoryCursor(
+                LocalDateTime.parse(value.substring(0, separatorIndex)),
+                value.substring(separatorIndex + 1)
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
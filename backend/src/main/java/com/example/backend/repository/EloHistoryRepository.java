@@ -0,0 +1,8 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.EloHistory;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface EloHistoryRepository extends MongoRepository<EloHistory, String>, EloHistoryRepositoryCustom {
+}
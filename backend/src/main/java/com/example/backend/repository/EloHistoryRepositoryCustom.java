@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.EloHistory;
+
+import java.util.List;
+
+/**
+ * Rating history queries that are built with Criteria instead of being derived from method names.
+ */
+public interface EloHistoryRepositoryCustom {
+    List<EloHistory> findPageByUsername(String username, EloHistoryCursor after, int limit);
+}
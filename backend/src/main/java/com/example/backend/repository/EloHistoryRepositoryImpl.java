@@ -0,0 +1,44 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.EloHistory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EloHistoryRepositoryImpl implements EloHistoryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Finds one page of a player's rating changes, most recent first.
+     * The page is read with a keyset query on the username, timestamp and id index,
+     * so it reads no more entries than the page holds, however far back the page is.
+     *
+     * @param username the username of the player.
+     * @param after the cursor of the last entry of the previous page, or null for the first page.
+     * @param limit the maximum number of entries to return.
+     * @return the page of rating changes, sorted by timestamp and id, both descending.
+     */
+    @Override
+    public List<EloHistory> findPageByUsername(String username, EloHistoryCursor after, int limit) {
+        Criteria criteria = Criteria.where("username").is(username);
+        if (after != null) {
+            criteria.orOperator(
+                Criteria.where("timestamp").lt(after.getTimestamp()),
+                Criteria.where("timestamp").is(after.getTimestamp()).and("id").lt(after.getId())
+            );
+        }
+
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        return mongoTemplate.find(query, EloHistory.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Match;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Match updates that are built with Criteria instead of being derived from method names.
+ */
+public interface MatchRepositoryCustom {
+    Match advanceWinner(String nextMatchId, int slot, String winner);
+
+    boolean claimEloRating(String matchId, String ratingId);
+
+    List<String> claimEloRatings(Collection<String> matchIds, String ratingId);
+
+    void releaseEloRatings(Collection<String> matchIds, String ratingId);
+
+    long claimUnratedCompleted(String ratingId);
+
+    Stream<Match> streamRatedInPlayedOrder();
+}
@@ -0,0 +1,160 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Match;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class MatchRepositoryImpl implements MatchRepositoryCustom {
+
+    // Number of matches read from the database at a time when streaming them
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Moves the winner of a match into their slot of the match they advance to, in a single update.
+     * The update only applies while that match is not completed, so a finished match is never changed.
+     *
+     * @param nextMatchId the id of the match the winner advances to.
+     * @param slot the index of the winner's slot in the players of that match.
+     * @param winner the username of the winner.
+     * @return the match with the winner moved in, or null if the match is missing or already completed.
+     */
+    @Override
+    public Match advanceWinner(String nextMatchId, int slot, String winner) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("id").is(nextMatchId),
+            Criteria.where("completed").is(false)
+        ));
+
+        Update update = new Update()
+            .set("players." + slot, winner)
+            .inc("version", 1);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Match.class);
+    }
+
+    /**
+     * Claims the rating of a match, in a single update that only applies while the match has not been rated.
+     * Of several ratings of the same match, only the one whose claim succeeds goes on to apply the Elo change.
+     * The match's version is increased, so a save of a copy read before the claim cannot clear it.
+     *
+     * @param matchId the id of the match to rate.
+     * @param ratingId the id of the rating claiming the match.
+     * @return true if the match was claimed, false if it is missing or has already been rated.
+     */
+    @Override
+    public boolean claimEloRating(String matchId, String ratingId) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("id").is(matchId),
+            Criteria.where("eloRatingId").is(null)
+        ));
+
+        Update update = new Update()
+            .set("eloRatingId", ratingId)
+            .inc("version", 1);
+
+        return mongoTemplate.updateFirst(query, update, Match.class).getModifiedCount() == 1;
+    }
+
+    /**
+     * Claims the rating of several matches at once: the matches that have not been rated are claimed in a single update,
+     * then the ones carrying the rating's id are read back, as some may have been claimed by another rating in the meantime.
+     *
+     * @param matchIds the ids of the matches to rate.
+     * @param ratingId the id of the rating claiming the matches.
+     * @return the ids of the matches claimed by this rating.
+     */
+    @Override
+    public List<String> claimEloRatings(Collection<String> matchIds, String ratingId) {
+        Query unrated = new Query(new Criteria().andOperator(
+            Criteria.where("id").in(matchIds),
+            Criteria.where("eloRatingId").is(null)
+        ));
+
+        Update update = new Update()
+            .set("eloRatingId", ratingId)
+            .inc("version", 1);
+        mongoTemplate.updateMulti(unrated, update, Match.class);
+
+        Query claimed = new Query(new Criteria().andOperator(
+            Criteria.where("id").in(matchIds),
+            Criteria.where("eloRatingId").is(ratingId)
+        ));
+        claimed.fields().include("id");
+        return mongoTemplate.find(claimed, Match.class).stream()
+            .map(Match::getId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gives up the claims of a rating that failed to apply its Elo changes, so that the matches can be rated again.
+     *
+     * @param matchIds the ids of the matches the rating claimed.
+     * @param ratingId the id of the rating giving up its claims.
+     */
+    @Override
+    public void releaseEloRatings(Collection<String> matchIds, String ratingId) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("id").in(matchIds),
+            Criteria.where("eloRatingId").is(ratingId)
+        ));
+
+        Update update = new Update()
+            .unset("eloRatingId")
+            .inc("version", 1);
+        mongoTemplate.updateMulti(query, update, Match.class);
+    }
+
+    /**
+     * Claims every completed match that has not been rated, in a single update, for a replay of the rating history.
+     * The replay rates every completed match, so the matches it claims are not rated again afterwards.
+     *
+     * @param ratingId the id of the replay claiming the matches.
+     * @return the number of matches claimed.
+     */
+    @Override
+    public long claimUnratedCompleted(String ratingId) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("completed").is(true),
+            Criteria.where("eloRatingId").is(null)
+        ));
+
+        Update update = new Update()
+            .set("eloRatingId", ratingId)
+            .inc("version", 1);
+        return mongoTemplate.updateMulti(query, update, Match.class).getModifiedCount();
+    }
+
+    /**
+     * Streams the rated matches in the order they were played, by start date with ties broken by id.
+     * The matches are read from a cursor in batches, with only the fields needed to rate them,
+     * so however many there are only one batch is held in memory. The stream must be closed to release the cursor.
+     *
+     * @return the stream of rated matches.
+     */
+    @Override
+    public Stream<Match> streamRatedInPlayedOrder() {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("completed").is(true),
+            Criteria.where("matchWinner").ne(null),
+            Criteria.where("eloRatingId").ne(null)
+        )).with(Sort.by(Sort.Direction.ASC, "startDate", "id"));
+        query.fields().include("tournamentName", "startDate", "players", "matchWinner");
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, Match.class);
+    }
+}
@@ -1,22 +1,24 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Tournament;
-import org.springframework.data.mongodb.repository.*;
+import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.*;
-import java.time.LocalDate;
 
-public interface TournamentRepository extends MongoRepository<Tournament, String> {
+public interface TournamentRepository extends MongoRepository<Tournament, String>, TournamentRepositoryCustom {
     Optional<Tournament> findByTournamentName(String tournamentName);
     boolean existsByTournamentName(String tournamentName);
     List<Tournament> findAllByCreatedBy(String adminName);
 
-    @Query("{'startDate': { $gte: ?0 }, 'isOngoing': true}")
-    Optional<List<Tournament>> findOngoingTournaments(LocalDate currentDate);
+    // Lifecycle queries, served by the status compound indexes
+    List<Tournament> findByStatusOrderByStartDateAsc(Tournament.Status status);
+    List<Tournament> findByStatusInOrderByStartDateAsc(Collection<Tournament.Status> statuses);
+    List<Tournament> findByStatusOrderByEndDateDesc(Tournament.Status status);
+    List<Tournament> findByCreatedByAndStatusInOrderByStartDateAsc(String adminName, Collection<Tournament.Status> statuses);
+    List<Tournament> findByCreatedByAndStatusOrderByEndDateDesc(String adminName, Tournament.Status status);
 
-    @Query("{ $or: [ " +
-           "    { 'startDate': { $gt: ?0 }, 'isOngoing': true }, " +  // Future tournaments
-           "    { 'startDate': { $lte: ?0 }, 'endDate': { $gte: ?0 }, 'isOngoing': true }" +  // Ongoing tournaments
-           "] }")
-    Optional<List<Tournament>> findOngoingAndFutureTournaments(LocalDate currentDate);
+    // Per-player queries, served by the (playersPool, status) multikey index
+    List<Tournament> findByPlayersPoolContaining(String username);
+    List<Tournament> findByPlayersPoolContainingAndStatusInOrderByStartDateAsc(String username, Collection<Tournament.Status> statuses);
+    List<Tournament> findByPlayersPoolContainingAndStatusOrderByEndDateDesc(String username, Tournament.Status status);
 }
@@ -0,0 +1,32 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.TournamentSummaryDto;
+import com.example.backend.model.Tournament;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tournament queries that are built with Criteria instead of being derived from method names.
+ */
+public interface TournamentRepositoryCustom {
+    List<Tournament> findAvailableForPlayer(String username, int elo, String gender, int age, LocalDate currentDate);
+
+    Tournament addPlayerIfAvailable(String tournamentName, String username, int elo, String gender, int age,
+                                    Collection<String> excludedCreators, LocalDate currentDate);
+
+    boolean addPlayersWithinCapacity(String tournamentName, Collection<String> usernames);
+
+    boolean recordMatchResult(String tournamentName, int roundCount, int advancingIndex, String winner, boolean newlyCompleted);
+
+    boolean incrementVersion(String tournamentName);
+
+    List<TournamentSummaryDto> findAvailablePageForPlayer(String username, int elo, String gender, int age, LocalDate currentDate,
+                                                          TournamentCursor after, int limit);
+
+    List<TournamentSummaryDto> findPageOrderByStartDate(Collection<Tournament.Status> statuses, String createdBy, String player,
+                                                        TournamentCursor after, int limit);
+
+    List<TournamentSummaryDto> findEndedPageOrderByEndDate(String createdBy, String player, TournamentCursor after, int limit);
+}
@@ -0,0 +1,297 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.TournamentSummaryDto;
+import com.example.backend.model.Tournament;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TournamentRepositoryImpl implements TournamentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Finds the tournaments that a player can sign up for, evaluating every eligibility rule
+     * that only depends on the tournament in a single query.
+     * Strike checks depend on the player's own reports and are left to the caller.
+     *
+     * @param username the username of the player, who must not already be in the players pool.
+     * @param elo the player's elo, which must be within the tournament's elo range.
+     * @param gender the player's gender, which must match the tournament's gender.
+     * @param age the player's age, which must be eligible for the tournament's category.
+     * @param currentDate the date that the closing signup date must be after.
+     * @return the tournaments the player can sign up for, sorted by start date.
+     */
+    @Override
+    public List<Tournament> findAvailableForPlayer(String username, int elo, String gender, int age, LocalDate currentDate) {
+        Query query = pageQuery(availableConditions(username, elo, gender, age, currentDate), "startDate", Sort.Direction.ASC, null, 0);
+        return mongoTemplate.find(query, Tournament.class);
+    }
+
+    /**
+     * Finds one page of summaries of the tournaments that a player can sign up for.
+     *
+     * @param username the username of the player, who must not already be in the players pool.
+     * @param elo the player's elo, which must be within the tournament's elo range.
+     * @param gender the player's gender, which must match the tournament's gender.
+     * @param age the player's age, which must be eligible for the tournament's category.
+     * @param currentDate the date that the closing signup date must be after.
+     * @param after the cursor of the last tournament of the previous page, or null for the first page.
+     * @param limit the maximum number of tournaments to return.
+     * @return the summaries of the tournaments the player can sign up for, sorted by start date and id.
+     */
+    @Override
+    public List<TournamentSummaryDto> findAvailablePageForPlayer(String username, int elo, String gender, int age, LocalDate currentDate,
+                                                                 TournamentCursor after, int limit) {
+        Query query = pageQuery(availableConditions(username, elo, gender, age, currentDate), "startDate", Sort.Direction.ASC, after, limit);
+        return findSummaries(query);
+    }
+
+    /**
+     * Adds a player to a tournament's players pool in a single atomic update, provided the tournament is still
+     * one the player can sign up for when the update is applied. The capacity and signup window are checked
+     * by the same filter that selects the document, so concurrent joins can neither exceed the capacity nor
+     * overwrite each other's additions.
+     *
+     * @param tournamentName the name of the tournament to join.
+     * @param username the username of the player, who must not already be in the players pool.
+     * @param elo the player's elo, which must be within the tournament's elo range.
+     * @param gender the player's gender, which must match the tournament's gender.
+     * @param age the player's age, which must be eligible for the tournament's category.
+     * @param excludedCreators the admins whose tournaments the player may not join.
+     * @param currentDate the date that the closing signup date must be after.
+     * @return the tournament after the player was added, or null if the tournament was not available to the player.
+     */
+    @Override
+    public Tournament addPlayerIfAvailable(String tournamentName, String username, int elo, String gender, int age,
+                                           Collection<String> excludedCreators, LocalDate currentDate) {
+        List<Criteria> conditions = availableConditions(username, elo, gender, age, currentDate);
+        conditions.add(Criteria.where("tournamentName").is(tournamentName));
+        if (!excludedCreators.isEmpty()) {
+            conditions.add(Criteria.where("createdBy").nin(excludedCreators));
+        }
+
+        Update update = new Update()
+            .addToSet("playersPool", username)
+            .inc("playerCount", 1)
+            .inc("version", 1);
+
+        return mongoTemplate.findAndModify(
+            new Query(new Criteria().andOperator(conditions)),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            Tournament.class
+        );
+    }
+
+    /**
+     * Adds several players to a tournament's players pool in a single atomic update.
+     * The update only applies if none of the players is in the pool yet and all of them fit within the capacity
+     * at the time it runs, so that the stored player count stays exact and the capacity is never exceeded.
+     *
+     * @param tournamentName the name of the tournament to add the players to.
+     * @param usernames the usernames of the players to add.
+     * @return true if the players were added, false if the players pool no longer allowed it.
+     */
+    @Override
+    public boolean addPlayersWithinCapacity(String tournamentName, Collection<String> usernames) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("tournamentName").is(tournamentName),
+            Criteria.where("playersPool").nin(usernames),
+            Criteria.expr(ComparisonOperators
+                .valueOf(ArithmeticOperators.valueOf("playerCount").add(usernames.size()))
+                .lessThanEqualTo("playerCapacity"))
+        ));
+
+        Update update = new Update()
+            .addToSet("playersPool").each(usernames.toArray())
+            .inc("playerCount", usernames.size())
+            .inc("version", 1);
+
+        return mongoTemplate.updateFirst(query, update, Tournament.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Records the winner of a match of the current round in the bracket's advancing players,
+     * and counts the match as completed if it was just completed.
+     * The update only applies while the bracket still has the given number of rounds,
+     * so a result cannot land in the state of a round that was generated in the meantime.
+     *
+     * @param tournamentName the name of the tournament the match belongs to.
+     * @param roundCount the number of rounds of the bracket, the last of which holds the match.
+     * @param advancingIndex the position of the match winner in the advancing players.
+     * @param winner the winner of the match, or null if the match was completed without one.
+     * @param newlyCompleted whether the match was just completed, rather than having its winner corrected.
+     * @return true if the result was recorded, false if the bracket moved on to another round.
+     */
+    @Override
+    public boolean recordMatchResult(String tournamentName, int roundCount, int advancingIndex, String winner, boolean newlyCompleted) {
+        Query query = new Query(new Criteria().andOperator(
+            Criteria.where("tournamentName").is(tournamentName),
+            Criteria.where("bracket.rounds").size(roundCount)
+        ));
+
+        Update update = new Update()
+            .set("bracket.advancingPlayers." + advancingIndex, winner)
+            .inc("version", 1);
+        if (newlyCompleted) {
+            update.inc("bracket.completedMatches", 1);
+        }
+
+        return mongoTemplate.updateFirst(query, update, Tournament.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Increments the version of a tournament whose matches changed without the tournament itself being written,
+     * so that the ETag of its bracket changes.
+     *
+     * @param tournamentName the name of the tournament.
+     * @return true if the version was incremented, false if there is no such tournament.
+     */
+    @Override
+    public boolean incrementVersion(String tournamentName) {
+        return mongoTemplate.updateFirst(new Query(Criteria.where("tournamentName").is(tournamentName)),
+            new Update().inc("version", 1), Tournament.class).getModifiedCount() > 0;
+    }
+
+    // Returns the conditions a tournament must meet for the player to be able to sign up for it
+    private List<Criteria> availableConditions(String username, int elo, String gender, int age, LocalDate currentDate) {
+        return new ArrayList<>(List.of(
+            Criteria.where("status").is(Tournament.Status.SIGNUP_OPEN),
+            Criteria.where("gender").is(gender),
+            Criteria.where("category").in(eligibleCategories(age)),
+            Criteria.where("closingSignupDate").gt(currentDate),
+            Criteria.where("minElo").lte(elo),
+            Criteria.where("maxElo").gte(elo),
+            Criteria.where("bracket").is(null),
+            Criteria.where("playersPool").ne(username),
+            Criteria.expr(ComparisonOperators.valueOf("playerCount").lessThan("playerCapacity"))
+        ));
+    }
+
+    /**
+     * Finds one page of tournament summaries ordered by start date, oldest first.
+     *
+     * @param statuses the statuses the tournaments must have, or null for any status.
+     * @param createdBy the admin who must have created the tournaments, or null for any admin.
+     * @param player the player who must be in the tournaments' players pool, or null for any tournament.
+     * @param after the cursor of the last tournament of the previous page, or null for the first page.
+     * @param limit the maximum number of tournaments to return.
+     * @return the page of tournament summaries, sorted by start date and id.
+     */
+    @Override
+    public List<TournamentSummaryDto> findPageOrderByStartDate(Collection<Tournament.Status> statuses, String createdBy, String player,
+                                                     TournamentCursor after, int limit) {
+        List<Criteria> conditions = ownerConditions(createdBy, player);
+        if (statuses != null) {
+            conditions.add(Criteria.where("status").in(statuses));
+        }
+
+        return findSummaries(pageQuery(conditions, "startDate", Sort.Direction.ASC, after, limit));
+    }
+
+    /**
+     * Finds one page of ended tournament summaries ordered by end date, most recent first.
+     *
+     * @param createdBy the admin who must have created the tournaments, or null for any admin.
+     * @param player the player who must be in the tournaments' players pool, or null for any tournament.
+     * @param after the cursor of the last tournament of the previous page, or null for the first page.
+     * @param limit the maximum number of tournaments to return.
+     * @return the page of ended tournament summaries, sorted by end date and id, both descending.
+     */
+    @Override
+    public List<TournamentSummaryDto> findEndedPageOrderByEndDate(String createdBy, String player, TournamentCursor after, int limit) {
+        List<Criteria> conditions = ownerConditions(createdBy, player);
+        conditions.add(Criteria.where("status").is(Tournament.Status.ENDED));
+
+        return findSummaries(pageQuery(conditions, "endDate", Sort.Direction.DESC, after, limit));
+    }
+
+    // Returns the conditions restricting tournaments to the given creator and player, skipping those that are null
+    private List<Criteria> ownerConditions(String createdBy, String player) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (createdBy != null) {
+            conditions.add(Criteria.where("createdBy").is(createdBy));
+        }
+        if (player != null) {
+            conditions.add(Criteria.where("playersPool").is(player));
+        }
+        return conditions;
+    }
+
+    /*
+     * Builds a keyset paginated query: the tournaments matching the conditions are sorted on the date field
+     * with ties broken by id, and only those sorting after the cursor are read.
+     * Unlike skipping over earlier pages, this reads no more documents than the page holds, however deep the page is.
+     */
+    private Query pageQuery(List<Criteria> conditions, String dateField, Sort.Direction direction,
+                            TournamentCursor after, int limit) {
+        if (after != null) {
+            conditions.add(afterCursor(dateField, direction, after));
+        }
+
+        Criteria criteria = conditions.isEmpty() ? new Criteria() : new Criteria().andOperator(conditions);
+        Query query = new Query(criteria).with(Sort.by(direction, dateField, "id"));
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        return query;
+    }
+
+    /*
+     * Runs the query reading only the fields of a TournamentSummaryDto.
+     * Whether a bracket was generated is computed by the database, so the bracket itself is never read.
+     */
+    private List<TournamentSummaryDto> findSummaries(Query query) {
+        query.fields()
+            .include("tournamentName", "createdBy", "startDate", "closingSignupDate", "endDate", "status", "location",
+                "minElo", "maxElo", "gender", "category", "remarks", "playerCapacity", "playerCount")
+            .project(ConvertOperators.valueOf(ConditionalOperators.ifNull("bracket").then(false)).convertToBoolean())
+            .as("bracketGenerated");
+
+        return mongoTemplate.query(Tournament.class)
+            .as(TournamentSummaryDto.class)
+            .matching(query)
+            .all();
+    }
+
+    // Matches the tournaments that sort after the cursor in the given direction
+    private Criteria afterCursor(String dateField, Sort.Direction direction, TournamentCursor after) {
+        if (direction.isAscending()) {
+            return new Criteria().orOperator(
+                Criteria.where(dateField).gt(after.getDate()),
+                Criteria.where(dateField).is(after.getDate()).and("id").gt(after.getId())
+            );
+        }
+        return new Criteria().orOperator(
+            Criteria.where(dateField).lt(after.getDate()),
+            Criteria.where(dateField).is(after.getDate()).and("id").lt(after.getId())
+        );
+    }
+
+    // Returns the tournament categories that a player of the given age can take part in
+    private List<String> eligibleCategories(int age) {
+        if (age <= 16) {
+            return List.of("U16", "U21", "Open");
+        }
+        if (age <= 21) {
+            return List.of("U21", "Open");
+        }
+        return List.of("Open");
+    }
+}
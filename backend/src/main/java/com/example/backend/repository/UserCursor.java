@@ -0,0 +1,59 @@
+package com.example.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last user of a page of the users available for a tournament, used to fetch the users that come after it.
+ * The users are ordered on their elo, with ties broken by username, so the page does not shift when players are added in between.
+ * Clients only ever see the encoded form, which they pass back unchanged to get the next page.
+ */
+@Data
+@AllArgsConstructor
+public class UserCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private int elo;
+    private String username;
+
+    /**
+     * Encodes the cursor into an opaque, URL safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        String value = elo + SEPARATOR + username;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by encode.
+     *
+     * @param cursor the encoded cursor, or null for the first page.
+     * @return the decoded cursor, or null if no cursor was given.
+     * @throws IllegalArgumentException if the cursor is not a valid encoded cursor.
+     */
+    public static UserCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separatorIndex = value.indexOf(SEPARATOR);
+        if (separatorIndex < 0 || separatorIndex == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new UserCursor(
+                Integer.parseInt(value.substring(0, separatorIndex)),
+                value.substring(separatorIndex + 1)
+            );
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.PlayerEloDto;
 import com.example.backend.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByVerificationCode(String verificationCode);
+    List<User> findByUsernameIn(Collection<String> usernames);
+    // Projected onto the DTO, so only the username and Elo are read
+    List<PlayerEloDto> findEloByUsernameIn(Collection<String> usernames);
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -0,0 +1,23 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.dto.UserSummaryDto;
+import com.example.backend.model.Tournament;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * User queries that are built with Criteria instead of being derived from method names.
+ */
+public interface UserRepositoryCustom {
+    List<UserSummaryDto> findAvailableForTournament(Tournament tournament, LocalDateTime strikeCutoff, UserCursor after, int limit);
+
+    int incrementElos(Map<String, Integer> deltaByUsername);
+
+    int replaceElos(Map<String, Integer> currentEloByUsername, Map<String, Integer> newEloByUsername);
+
+    Stream<PlayerEloDto> streamElos();
+}
@@ -0,0 +1,153 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.dto.UserSummaryDto;
+import com.example.backend.model.Tournament;
+import com.example.backend.model.User;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Number of users read from the database at a time when streaming them
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Finds one page of the users that can be added to a tournament, evaluating every eligibility rule
+     * that depends on the user in a single query served by the gender_enabled_isAvailable_elo_username index.
+     * Only the fields needed to pick players are read back.
+     *
+     * @param tournament the tournament whose gender, elo range, category, creator and players pool the users are matched against.
+     * @param strikeCutoff users with a strike from the tournament's creator after this time are excluded.
+     * @param after the cursor of the last user of the previous page, or null for the first page.
+     * @param limit the maximum number of users to return.
+     * @return the page of eligible users, sorted by elo and then username.
+     */
+    @Override
+    public List<UserSummaryDto> findAvailableForTournament(Tournament tournament, LocalDateTime strikeCutoff, UserCursor after, int limit) {
+        List<Criteria> conditions = new ArrayList<>(List.of(
+            Criteria.where("gender").is(tournament.getGender()),
+            Criteria.where("enabled").is(true),
+            Criteria.where("isAvailable").is(true),
+            Criteria.where("elo").gte(tournament.getMinElo()).lte(tournament.getMaxElo()),
+            Criteria.where("username").nin(tournament.getPlayersPool()),
+            // Users with three or more strikes are excluded regardless of who issued them
+            Criteria.where("strikeReports.2").exists(false),
+            Criteria.where("strikeReports").not().elemMatch(
+                Criteria.where("issuedBy").is(tournament.getCreatedBy()).and("dateCreated").gt(strikeCutoff)
+            )
+        ));
+
+        Integer maxAge = maxAgeForCategory(tournament.getCategory());
+        if (maxAge != null) {
+            conditions.add(Criteria.where("age").lte(maxAge));
+        }
+
+        // Only the users that sort after the last user of the previous page
+        if (after != null) {
+            conditions.add(new Criteria().orOperator(
+                Criteria.where("elo").gt(after.getElo()),
+                Criteria.where("elo").is(after.getElo()).and("username").gt(after.getUsername())
+            ));
+        }
+
+        Query query = new Query(new Criteria().andOperator(conditions))
+            .with(Sort.by(Sort.Direction.ASC, "elo", "username"))
+            .limit(limit);
+        query.fields().include("username", "firstName", "lastName", "elo", "gender", "age").exclude("_id");
+
+        return mongoTemplate.query(User.class)
+            .as(UserSummaryDto.class)
+            .matching(query)
+            .all();
+    }
+
+    /**
+     * Changes the Elo ratings of several users by the given amounts in a single unordered bulk write,
+     * one atomic $inc of the elo field per user. Rating changes applied at the same time, and writes to the rest
+     * of the user documents, add up instead of overwriting each other.
+     *
+     * @param deltaByUsername the change to the Elo rating of each user, by username.
+     * @return the number of users found to apply a change to.
+     */
+    @Override
+    public int incrementElos(Map<String, Integer> deltaByUsername) {
+        if (deltaByUsername.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        deltaByUsername.forEach((username, delta) ->
+            bulk.updateOne(Query.query(Criteria.where("username").is(username)), new Update().inc("elo", delta)));
+        return bulk.execute().getMatchedCount();
+    }
+
+    /**
+     * Sets the Elo ratings of several users in a single unordered bulk write. Each user's rating is only replaced
+     * if it is still the rating it was read as, so a rating changed in the meantime is left alone.
+     *
+     * @param currentEloByUsername the rating each user was read with, by username.
+     * @param newEloByUsername the rating to set for each user, by username.
+     * @return the number of users whose rating was replaced.
+     */
+    @Override
+    public int replaceElos(Map<String, Integer> currentEloByUsername, Map<String, Integer> newEloByUsername) {
+        if (newEloByUsername.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        newEloByUsername.forEach((username, elo) -> bulk.updateOne(
+            Query.query(Criteria.where("username").is(username).and("elo").is(currentEloByUsername.get(username))),
+            new Update().set("elo", elo)));
+        return bulk.execute().getMatchedCount();
+    }
+
+    /**
+     * Streams the username and Elo rating of every user, read from a cursor in batches.
+     * The stream must be closed to release the cursor.
+     *
+     * @return the stream of the users' ratings.
+     */
+    @Override
+    public Stream<PlayerEloDto> streamElos() {
+        Query query = new Query();
+        query.fields().include("username", "elo").exclude("_id");
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.query(User.class)
+            .as(PlayerEloDto.class)
+            .matching(query)
+            .stream();
+    }
+
+    // Returns the oldest age allowed in the tournament category, or null if there is no age limit
+    private Integer maxAgeForCategory(String category) {
+        switch (category) {
+            case "U16":
+                return 16;
+            case "U21":
+                return 21;
+            case "Open":
+                return null;
+            default:
+                // No user is eligible for an unknown category
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * CursorPage class holds one page of a listing and the cursor of the page after it.
+ * The items are returned as the response body and the cursor in the X-Next-Cursor header,
+ * so clients that only need the first page can keep treating the response as a plain list.
+ */
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> items;
+
+    // Null if this is the last page
+    private String nextCursor;
+
+    /**
+     * Builds the response for this page, setting the X-Next-Cursor header if there is a next page.
+     *
+     * @return a ResponseEntity with the page's items as the body.
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -22,7 +22,6 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -35,6 +34,7 @@ public class AdminService {
     private final AdminRepository adminRepository;
     private final UserRepository userRepository;
     private final MatchRepository matchRepository;
+    private final TournamentCacheService tournamentCacheService;
 
     private final LocalValidatorFactoryBean validator;
     private final PasswordEncoder passwordEncoder;
@@ -91,8 +91,16 @@ public class AdminService {
                 // Update tournaments where this admin is the creator
                 List<Tournament> tournaments = tournamentRepository.findAllByCreatedBy(adminName);
                 for (Tournament tournament : tournaments) {
-                    tournament.setCreatedBy(newAdminDetails.getAdminName());
-                    tournamentRepository.save(tournament);
+                    String tournamentName = tournament.getTournamentName();
+
+                    // A concurrent change to the tournament makes the save fail rather than be overwritten, and the rename is retried
+                    OptimisticLockRetry.run("Renaming the creator of tournament " + tournamentName, () -> {
+                        Tournament latestTournament = tournamentRepository.findByTournamentName(tournamentName)
+                            .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+                        latestTournament.setCreatedBy(newAdminDetails.getAdminName());
+                        tournamentRepository.save(latestTournament);
+                        tournamentCacheService.evict(tournamentName);
+                    });
                 }
             }
 
@@ -159,6 +167,7 @@ public class AdminService {
             // Delete the tournaments
             if (!adminTournaments.isEmpty()) {
                 tournamentRepository.deleteAll(adminTournaments);
+                adminTournaments.forEach(tournament -> tournamentCacheService.evict(tournament.getTournamentName()));
                 logger.info("Deleted {} active tournaments created by admin: {}", 
                     adminTournaments.size(), adminName);
             }
@@ -245,7 +254,7 @@ public class AdminService {
         }
 
         // Strikes can only be issued after the tournament has ended, up to a week after
-        if (tournament.getEndDate() == null || tournament.getEndDate().plusDays(7).isBefore(LocalDate.now())) {
+        if (tournament.getEndDate() == null || tournament.getEndDate().plusDays(7).isBefore(Tournament.today())) {
             throw new InvalidStrikeException("Strikes can only be issued after the tournament has ended, up to a week after.");
         }
 
@@ -0,0 +1,303 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pushes the changes to tournament brackets to the clients subscribed to them, as server-sent events.
+ *
+ * Each change is serialised once and handed to every subscriber of the tournament.
+ * Every subscriber has a bounded buffer that a shared pool of sender threads drains, so publishing never waits on a client.
+ * A subscriber whose buffer fills up is disconnected; its client reconnects and starts again from a fresh snapshot of the bracket.
+ * A send that a client does not take within the send timeout is interrupted and its subscriber disconnected as well,
+ * so that stalled clients cannot hold on to the sender threads that the other subscribers are waiting for.
+ * A disconnected subscriber's emitter is completed by its own drain once no send to it is in progress,
+ * as completing an emitter waits for the send in progress on it.
+ */
+@Service
+public class BracketEventService {
+
+    public static final String BRACKET_EVENT = "bracket";
+    public static final String ROUND_EVENT = "round";
+    public static final String MATCH_EVENT = "match";
+
+    private static final Logger logger = LoggerFactory.getLogger(BracketEventService.class);
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService sendWatchdog;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+
+    // The subscribers of each tournament, by tournament name
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BracketEventService(ObjectMapper objectMapper,
+                               @Value("${bracket.events.buffer-size:32}") int bufferSize,
+                               @Value("${bracket.events.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${bracket.events.sender-threads:4}") int senderThreads,
+                               @Value("${bracket.events.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this(objectMapper, Executors.newFixedThreadPool(senderThreads), Executors.newSingleThreadScheduledExecutor(),
+            bufferSize, timeoutMillis, sendTimeoutMillis);
+    }
+
+    BracketEventService(ObjectMapper objectMapper, ExecutorService sender, ScheduledExecutorService sendWatchdog,
+                        int bufferSize, long timeoutMillis, long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.sendWatchdog = sendWatchdog;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    /**
+     * Subscribes to the changes to a tournament's bracket.
+     * The current bracket is sent first, as a "bracket" event, followed by the changes made from then on.
+     * The snapshot is taken once the subscriber is registered, so no change made in between is missed,
+     * and the changes published while it is taken are held back until the snapshot has been sent.
+     *
+     * @param tournamentName the name of the tournament to subscribe to.
+     * @param snapshot supplies the current bracket of the tournament.
+     * @return the emitter to return from the request handler.
+     */
+    public SseEmitter subscribe(String tournamentName, Supplier<?> snapshot) {
+        Subscriber subscriber = new Subscriber(tournamentName, new SseEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        subscribers.compute(tournamentName, (name, tournamentSubscribers) -> {
+            Set<Subscriber> updated = tournamentSubscribers != null ? tournamentSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        logger.debug("New subscriber to the bracket of tournament {}", tournamentName);
+
+        String data = serialise(snapshot.get());
+        subscriber.start(data != null ? new BracketEvent(BRACKET_EVENT, data) : null);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Sends a change to the subscribers of a tournament's bracket.
+     * Nothing is serialised when the tournament has no subscribers.
+     *
+     * @param tournamentName the name of the tournament whose bracket changed.
+     * @param eventName the name of the event, which tells the clients what the payload is.
+     * @param payload the change, serialised as JSON.
+     */
+    public void publish(String tournamentName, String eventName, Object payload) {
+        Set<Subscriber> tournamentSubscribers = tournamentName == null ? null : subscribers.get(tournamentName);
+        if (tournamentSubscribers == null || tournamentSubscribers.isEmpty()) {
+            return;
+        }
+
+        String data = serialise(payload);
+        if (data == null) {
+            return;
+        }
+        BracketEvent event = new BracketEvent(eventName, data);
+        tournamentSubscribers.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    // The number of clients subscribed to a tournament's bracket
+    int subscriberCount(String tournamentName) {
+        return subscribers.getOrDefault(tournamentName, Collections.emptySet()).size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(tournamentSubscribers -> tournamentSubscribers.forEach(Subscriber::close));
+        // Let the drains complete the emitters, giving the sends in progress until the watchdog interrupts them
+        sender.shutdown();
+        try {
+            sender.awaitTermination(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sender.shutdownNow();
+        sendWatchdog.shutdownNow();
+    }
+
+    private String serialise(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialise a bracket event: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.tournamentName, (name, tournamentSubscribers) -> {
+            tournamentSubscribers.remove(subscriber);
+            return tournamentSubscribers.isEmpty() ? null : tournamentSubscribers;
+        });
+    }
+
+    // An event serialised once and shared between the subscribers
+    private record BracketEvent(String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final String tournamentName;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BracketEvent> events = new ArrayBlockingQueue<>(bufferSize);
+
+        // Whether a sender thread is draining the events, so that they are sent one at a time and in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // The bracket snapshot, sent ahead of the buffered events, and whether it was taken so the events can be sent
+        private volatile BracketEvent snapshot;
+        private volatile boolean started;
+
+        // Whether the subscriber was disconnected, so that its drain completes the emitter instead of sending
+        private volatile boolean closed;
+
+        // The sender thread that is sending to the client, if any, so that a send that takes too long can be interrupted
+        private Thread sendingThread;
+
+        private Subscriber(String tournamentName, SseEmitter emitter) {
+            this.tournamentName = tournamentName;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(BracketEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!events.offer(event)) {
+                logger.warn("Disconnecting a subscriber to the bracket of tournament {} that fell {} events behind",
+                    tournamentName, bufferSize);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // Sends the snapshot, then the events buffered while it was taken and the ones published from then on
+        private void start(BracketEvent snapshot) {
+            this.snapshot = snapshot;
+            started = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (started && (closed || snapshot != null || !events.isEmpty()) && draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    logger.error("Failed to schedule the bracket events of tournament {}: {}", tournamentName, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            boolean disconnected;
+            try {
+                BracketEvent first = snapshot;
+                if (first != null && !closed) {
+                    snapshot = null;
+                    send(first);
+                }
+                BracketEvent event;
+                while (!closed && (event = events.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping a subscriber to the bracket of tournament {}: {}", tournamentName, e.getMessage());
+                disconnect();
+            } finally {
+                // A disconnected subscriber keeps its drain flag set, so that no other drain follows the one completing the emitter
+                disconnected = closed;
+                if (!disconnected) {
+                    draining.set(false);
+                }
+            }
+
+            if (disconnected) {
+                complete();
+            } else {
+                // Events queued, or a disconnection made, after the last poll but before the flag was cleared
+                scheduleDrain();
+            }
+        }
+
+        // Sends an event, interrupting the send if the client has not taken it within the send timeout
+        private void send(BracketEvent event) throws IOException {
+            synchronized (this) {
+                sendingThread = Thread.currentThread();
+            }
+            ScheduledFuture<?> timeout = sendWatchdog.schedule(this::abortSend, sendTimeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+            } finally {
+                timeout.cancel(false);
+                synchronized (this) {
+                    sendingThread = null;
+                }
+                // An interrupt that came as the send finished must not cut short the next subscriber's send on this thread
+                Thread.interrupted();
+            }
+        }
+
+        // Drops a subscriber whose client stopped taking events, freeing the sender thread that is stuck sending to it.
+        // The drain completes the emitter once the interrupted send has returned.
+        private synchronized void abortSend() {
+            if (sendingThread != null) {
+                logger.warn("Disconnecting a subscriber to the bracket of tournament {} that took over {} ms to take an event",
+                    tournamentName, sendTimeoutMillis);
+                disconnect();
+                sendingThread.interrupt();
+            }
+        }
+
+        // Disconnects the subscriber without waiting on its client, leaving the emitter to be completed by a drain
+        private void close() {
+            disconnect();
+            scheduleDrain();
+        }
+
+        private void disconnect() {
+            closed = true;
+            remove(this);
+            snapshot = null;
+            events.clear();
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to complete a subscriber to the bracket of tournament {}: {}", tournamentName, e.getMessage());
+            }
+        }
+    }
+}
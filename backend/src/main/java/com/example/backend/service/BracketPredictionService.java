@@ -0,0 +1,266 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.exception.TournamentNotFoundException;
+import com.example.backend.model.Match;
+import com.example.backend.model.Tournament;
+import com.example.backend.repository.MatchRepository;
+import com.example.backend.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Predicts the outcome of the rest of a tournament's knockout bracket by playing it out many times,
+ * each match being won with the probability given by the players' Elo ratings.
+ *
+ * The predictions are cached by tournament name together with the version of the tournament they were made for.
+ * Every match result moves the tournament to a new version, so the cached predictions are used until the next result.
+ */
+@Service
+public class BracketPredictionService {
+
+    public static final String PREDICTIONS_BY_TOURNAMENT = "bracketPredictions";
+
+    private static final Logger logger = LoggerFactory.getLogger(BracketPredictionService.class);
+
+    private final TournamentCacheService tournamentCacheService;
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final ForkJoinPool pool;
+    private final int simulations;
+
+    @Autowired
+    public BracketPredictionService(TournamentCacheService tournamentCacheService, MatchRepository matchRepository,
+                                    UserRepository userRepository, CacheManager cacheManager,
+                                    @Value("${bracket.predictions.simulations:20000}") int simulations) {
+        this(tournamentCacheService, matchRepository, userRepository, cacheManager, ForkJoinPool.commonPool(), simulations);
+    }
+
+    BracketPredictionService(TournamentCacheService tournamentCacheService, MatchRepository matchRepository,
+                             UserRepository userRepository, CacheManager cacheManager, ForkJoinPool pool, int simulations) {
+        this.tournamentCacheService = tournamentCacheService;
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.pool = pool;
+        this.simulations = simulations;
+    }
+
+    /**
+     * Predicts how far each player of a tournament is likely to go in its bracket.
+     * The players are listed from the most likely winner down, each with their probability of playing in each round
+     * and of winning the title. Rounds that are yet to be generated are predicted as if their players were paired
+     * in bracket order, the winners of neighbouring matches meeting each other.
+     *
+     * @param tournamentName the name of the tournament whose bracket to predict.
+     * @return a map containing the predictions and the version of the tournament they were made for, or an error message.
+     */
+    public Map<String, Object> predictBracket(String tournamentName) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> error = new HashMap<>();
+        try {
+            Tournament tournament = tournamentCacheService.findByName(tournamentName)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+            Tournament.Bracket bracket = tournament.getBracket();
+            if (bracket == null || bracket.getRounds() == null || bracket.getRounds().isEmpty()) {
+                response.put("error", "Tournament's bracket is not formed yet!");
+                return response;
+            }
+            if (bracket.isSwiss()) {
+                response.put("error", "Predictions are only available for knockout brackets!");
+                return response;
+            }
+
+            Cache cache = cacheManager.getCache(PREDICTIONS_BY_TOURNAMENT);
+            CachedPredictions cached = cache == null ? null : cache.get(tournamentName, CachedPredictions.class);
+            if (cached != null && Objects.equals(cached.version(), tournament.getVersion())) {
+                return cached.predictions();
+            }
+
+            Map<String, Object> predictions = simulate(tournament);
+            if (cache != null) {
+                cache.put(tournamentName, new CachedPredictions(tournament.getVersion(), predictions));
+            }
+            return predictions;
+        } catch (TournamentNotFoundException e) {
+            logger.error("Tournament not found: {}", e.getMessage(), e);
+            error.put("error", e.getMessage());
+            response.put("error", error);
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while predicting the tournament's bracket: {}", e.getMessage(), e);
+            error.put("error", "An unexpected error occurred while predicting the tournament's bracket!");
+            response.put("error", error);
+        }
+        return response;
+    }
+
+    // Lays out the tournament's bracket, plays it out and turns the counts into probabilities
+    private Map<String, Object> simulate(Tournament tournament) {
+        Map<String, Match> matchesById = matchRepository.findByTournamentName(tournament.getTournamentName())
+            .orElse(Collections.emptyList())
+            .stream()
+            .collect(Collectors.toMap(Match::getId, match -> match));
+
+        BracketLayout layout = new BracketLayout(tournament, matchesById);
+        BracketSimulation simulation = layout.build();
+
+        long start = System.nanoTime();
+        long[] counts = simulation.simulate(simulations, pool);
+        logger.info("Played the bracket of tournament {} {} times in {} ms", tournament.getTournamentName(),
+            simulations, (System.nanoTime() - start) / 1_000_000);
+
+        List<Map<String, Object>> players = new ArrayList<>();
+        for (int player = 0; player < simulation.players(); player++) {
+            List<Double> roundProbabilities = new ArrayList<>();
+            for (int round = 0; round < simulation.rounds(); round++) {
+                roundProbabilities.add((double) counts[simulation.countIndex(player, round)] / simulations);
+            }
+            Map<String, Object> prediction = new HashMap<>();
+            prediction.put("username", layout.usernames.get(player));
+            prediction.put("elo", layout.eloByUsername.get(layout.usernames.get(player)));
+            prediction.put("rounds", roundProbabilities);
+            prediction.put("title", (double) counts[simulation.countIndex(player, simulation.rounds())] / simulations);
+            players.add(prediction);
+        }
+        players.sort(Comparator.comparingDouble((Map<String, Object> prediction) -> (Double) prediction.get("title")).reversed()
+            .thenComparing(prediction -> (String) prediction.get("username")));
+
+        Map<String, Object> predictions = new HashMap<>();
+        predictions.put("version", tournament.getVersion());
+        predictions.put("simulations", simulations);
+        predictions.put("players", players);
+        return predictions;
+    }
+
+    // Predictions along with the version of the tournament they were made for
+    private record CachedPredictions(Long version, Map<String, Object> predictions) {
+    }
+
+    /**
+     * Lays out a tournament's bracket for simulation: every match generated so far, followed, for brackets generated
+     * round by round, by the rounds still to come, pairing the players advancing from the current round in order.
+     * Players who are no longer registered leave their slot empty, giving their opponents a walkover.
+     */
+    private final class BracketLayout {
+        private final Tournament tournament;
+        private final Map<String, Match> matchesById;
+        private final Map<String, Integer> eloByUsername;
+        private final List<String> usernames = new ArrayList<>();
+        private final Map<String, Integer> playerIndex = new HashMap<>();
+        private final Map<String, Integer> matchIndex = new HashMap<>();
+        private final BracketSimulation.Builder builder = new BracketSimulation.Builder();
+
+        private BracketLayout(Tournament tournament, Map<String, Match> matchesById) {
+            this.tournament = tournament;
+            this.matchesById = matchesById;
+
+            // Read the ratings of everyone in the bracket in a single query
+            Set<String> players = new HashSet<>();
+            matchesById.values().forEach(match -> {
+                if (match.getPlayers() != null) {
+                    match.getPlayers().stream().filter(Objects::nonNull).forEach(players::add);
+                }
+            });
+            if (tournament.getBracket().getAdvancingPlayers() != null) {
+                tournament.getBracket().getAdvancingPlayers().stream().filter(Objects::nonNull).forEach(players::add);
+            }
+            this.eloByUsername = userRepository.findEloByUsernameIn(players).stream()
+                .collect(Collectors.toMap(PlayerEloDto::getUsername, PlayerEloDto::getElo));
+        }
+
+        private BracketSimulation build() {
+            Tournament.Bracket bracket = tournament.getBracket();
+            List<Tournament.Round> rounds = bracket.getRounds();
+
+            // In fully generated brackets, the winners of earlier matches fill the slots of the matches they are linked to
+            Map<String, int[]> feeders = new HashMap<>();
+            for (int round = 0; round < rounds.size(); round++) {
+                for (String matchId : rounds.get(round).getMatches()) {
+                    Match match = matchesById.get(matchId);
+                    if (match == null) {
+                        continue;
+                    }
+
+                    int[] feederSlots = feeders.getOrDefault(matchId, new int[] {BracketSimulation.EMPTY, BracketSimulation.EMPTY});
+                    int firstSlot = feederSlots[0] != BracketSimulation.EMPTY ? feederSlots[0] : playerSlot(match, 0);
+                    int secondSlot = feederSlots[1] != BracketSimulation.EMPTY ? feederSlots[1] : playerSlot(match, 1);
+                    int winner = match.isCompleted() ? player(match.getMatchWinner()) : BracketSimulation.UNDECIDED;
+                    int index = builder.addMatch(round, firstSlot, secondSlot, winner);
+                    matchIndex.put(matchId, index);
+
+                    if (match.getNextMatchId() != null) {
+                        feeders.computeIfAbsent(match.getNextMatchId(), id -> new int[] {BracketSimulation.EMPTY, BracketSimulation.EMPTY})
+                            [match.getNextMatchSlot()] = BracketSimulation.winnerOf(index);
+                    }
+                }
+            }
+
+            if (!bracket.isFullTree()) {
+                addRemainingRounds(bracket);
+            }
+            return builder.build();
+        }
+
+        // Adds the rounds still to be generated, until a single player is left
+        private void addRemainingRounds(Tournament.Bracket bracket) {
+            Tournament.Round currentRound = bracket.currentRound();
+            List<Integer> advancing = new ArrayList<>();
+
+            // The players who sat out the current round come first, followed by the winners of its matches
+            List<String> advancingPlayers = bracket.getAdvancingPlayers();
+            if (advancingPlayers != null) {
+                int sittingOut = advancingPlayers.size() - currentRound.getMatches().size();
+                for (int i = 0; i < sittingOut; i++) {
+                    advancing.add(player(advancingPlayers.get(i)));
+                }
+            }
+            for (String matchId : currentRound.getMatches()) {
+                Integer index = matchIndex.get(matchId);
+                if (index != null) {
+                    advancing.add(BracketSimulation.winnerOf(index));
+                }
+            }
+
+            for (int round = bracket.getRounds().size(); advancing.size() > 1; round++) {
+                List<Integer> next = new ArrayList<>();
+                for (int i = 0; i < advancing.size(); i += 2) {
+                    if (i + 1 < advancing.size()) {
+                        next.add(BracketSimulation.winnerOf(builder.addMatch(round, advancing.get(i), advancing.get(i + 1),
+                            BracketSimulation.UNDECIDED)));
+                    } else {
+                        next.add(advancing.get(i));
+                    }
+                }
+                advancing = next;
+            }
+        }
+
+        private int playerSlot(Match match, int slot) {
+            List<String> players = match.getPlayers();
+            return players == null || players.size() <= slot ? BracketSimulation.EMPTY : player(players.get(slot));
+        }
+
+        // The index of a player, added on first sight, or EMPTY for no player or one who is no longer registered
+        private int player(String username) {
+            if (username == null || !eloByUsername.containsKey(username)) {
+                return BracketSimulation.EMPTY;
+            }
+            return playerIndex.computeIfAbsent(username, name -> {
+                usernames.add(name);
+                return builder.addPlayer(eloByUsername.get(name));
+            });
+        }
+    }
+}
@@ -3,13 +3,15 @@ package com.example.backend.service;
 import com.example.backend.repository.TournamentRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.MatchRepository;
+import com.example.backend.dto.PlayerEloDto;
 import com.example.backend.model.Tournament;
 import com.example.backend.model.Match;
-import com.example.backend.model.User;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.exception.MatchNotFoundException;
 import com.example.backend.exception.TournamentNotFoundException;
 
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.validation.Errors;
@@ -19,7 +21,6 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -34,14 +35,28 @@ public class BracketService {
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
     private final LocalValidatorFactoryBean validator;
+    private final TournamentCacheService tournamentCacheService;
+    private final BracketEventService bracketEventService;
 
     /**
      * Generates a bracket for the given tournament.
+     * If another round is added at the same time, saving this one fails on the tournament's version
+     * and the generation is retried against the bracket with the other round in it, so no round is added twice.
      * 
      * @param tournamentName The name of the tournament for which to generate a bracket.
      * @return A map containing the rounds of matches generated for the tournament or an error message.
      */
     public Map<String, Object> generateBracket(String tournamentName) {
+        try {
+            return OptimisticLockRetry.run("Generating the next round of tournament " + tournamentName,
+                () -> generateNextRound(tournamentName));
+        } catch (OptimisticLockingFailureException e) {
+            return concurrentUpdateError();
+        }
+    }
+
+    // Generates the next round of the tournament's bracket, from a fresh read of the tournament
+    private Map<String, Object> generateNextRound(String tournamentName) {
         Map<String, Object> response = new HashMap<>();
         Map<String, String> error = new HashMap<>();
 
@@ -59,31 +74,45 @@ public class BracketService {
                 existingTournament.getBracket().setRounds(new ArrayList<>());
             }
 
+            // Brackets generated in full have no further rounds to generate
+            Tournament.Bracket bracket = existingTournament.getBracket();
+            if (bracket.isFullTree()) {
+                response.put("error", "All rounds of the tournament's bracket have already been generated!");
+                return response;
+            }
+
+            // Swiss brackets pair their rounds from the standings instead
+            if (bracket.isSwiss()) {
+                response.put("error", "The tournament's bracket is played with the Swiss system, its rounds are generated as Swiss rounds!");
+                return response;
+            }
+
+            // Brackets generated before the round state was kept on them have it rebuilt from their matches
+            if (bracket.getAdvancingPlayers() == null && !bracket.getRounds().isEmpty()) {
+                rebuildRoundState(existingTournament);
+            }
+
             // Check if all of the matches in the previous round are completed
-            if (existingTournament.getBracket().getRounds().size() > 0) {
-                Tournament.Round previousRound = existingTournament.getBracket().getRounds().get(existingTournament.getBracket().getRounds().size() - 1);
-                List<Match> previousRoundMatches = matchRepository.findAllById(previousRound.getMatches());
-                for (Match match : previousRoundMatches) {
-                    if (!match.isCompleted()) {
-                        response.put("error", "All matches in the previous round must be completed before generating a new round!");
-                        return response;
-                    }
-                }
+            if (!bracket.currentRoundCompleted()) {
+                response.put("error", "All matches in the previous round must be completed before generating a new round!");
+                return response;
             }
 
             List<String> playersForNewRound = getPlayersForNewRound(existingTournament);
-            List<String> newMatches = createNewRound(existingTournament, playersForNewRound);
+            List<Match> newMatches = createNewRound(existingTournament, playersForNewRound);
             if (playersForNewRound.isEmpty() || newMatches.isEmpty()) {
                 response.put("error", "No matches can be generated for the new round!");
                 return response;
             }
 
-            // Add the new round to the tournament bracket
-            existingTournament.getBracket().getRounds().add(new Tournament.Round(newMatches));
-            existingTournament.setUpdatedAt(LocalDateTime.now());
-            
-            // Save the updated tournament
-            tournamentRepository.save(existingTournament);
+            saveNewRound(existingTournament, playersForNewRound, newMatches);
+            tournamentCacheService.evict(tournamentName);
+
+            // Push the new round to the clients following the bracket
+            Map<String, Object> newRound = new HashMap<>();
+            newRound.put("roundNumber", existingTournament.getBracket().getRounds().size() - 1);
+            newRound.put("matches", newMatches);
+            bracketEventService.publish(tournamentName, BracketEventService.ROUND_EVENT, newRound);
 
             // Use viewTournamentBracket to get the formatted response
             return viewTournamentBracket(tournamentName);
@@ -96,6 +125,8 @@ public class BracketService {
             logger.error("Match not found: {}", e.getMessage(), e);
             error.put("error", e.getMessage());
             response.put("error", error);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("An unexpected error occurred while generating the bracket: {}", e.getMessage(), e);
             error.put("error", "An unexpected error occurred while generating the bracket!");
@@ -104,56 +135,432 @@ public class BracketService {
         return response;
     }
 
+    /**
+     * Generates the whole single-elimination bracket of the given tournament up front.
+     * The matches of the later rounds start without players, and each match is linked to the match and slot
+     * its winner moves on to, so the winners advance as the results come in and no further rounds need to be generated.
+     * The players are seeded by Elo, and the top seeds get the byes of the first round.
+     * 
+     * @param tournamentName The name of the tournament for which to generate the bracket.
+     * @return A map containing the rounds of matches generated for the tournament or an error message.
+     */
+    public Map<String, Object> generateFullBracket(String tournamentName) {
+        try {
+            return OptimisticLockRetry.run("Generating the bracket of tournament " + tournamentName,
+                () -> generateAllRounds(tournamentName));
+        } catch (OptimisticLockingFailureException e) {
+            return concurrentUpdateError();
+        }
+    }
+
+    // Generates every round of the tournament's bracket, from a fresh read of the tournament
+    private Map<String, Object> generateAllRounds(String tournamentName) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> error = new HashMap<>();
+
+        try {
+            Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+            if (tournament.getBracket() != null && tournament.getBracket().getRounds() != null
+                    && !tournament.getBracket().getRounds().isEmpty()) {
+                response.put("error", "The tournament's bracket has already been generated!");
+                return response;
+            }
+
+            List<String> players = tournament.getPlayersPool() == null ? new ArrayList<>() : new ArrayList<>(tournament.getPlayersPool());
+            if (players.size() < 2) {
+                response.put("error", "At least two players are needed to generate the bracket!");
+                return response;
+            }
+
+            List<List<Match>> rounds = createFullTree(tournament, sortPlayersByElo(players));
+
+            Tournament.Bracket bracket = new Tournament.Bracket();
+            bracket.setFullTree(true);
+            rounds.forEach(round -> bracket.getRounds().add(new Tournament.Round(
+                round.stream().map(Match::getId).collect(Collectors.toList()))));
+            tournament.setBracket(bracket);
+
+            saveWithMatches(tournament, rounds.stream().flatMap(List::stream).collect(Collectors.toList()));
+            tournamentCacheService.evict(tournamentName);
+
+            Map<String, Object> bracketView = viewTournamentBracket(tournamentName);
+            bracketEventService.publish(tournamentName, BracketEventService.BRACKET_EVENT, bracketView);
+            return bracketView;
+
+        } catch (UserNotFoundException e) {
+            logger.error("User not found: {}", e.getMessage(), e);
+            error.put("error", e.getMessage());
+            response.put("error", error);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while generating the bracket: {}", e.getMessage(), e);
+            error.put("error", "An unexpected error occurred while generating the bracket!");
+            response.put("error", error);
+        }
+        return response;
+    }
+
+    /**
+     * Generates the next round of a Swiss-system bracket for the given tournament.
+     * Every player in the players pool plays every round, paired with players on the same score by Elo
+     * and never against the same opponent twice if it can be avoided; see SwissPairing.
+     * A win scores a point, and a player left without an opponent has a bye, which counts as a win.
+     * The bracket is played over as many rounds as it takes to single out a winner by elimination, set by its first round.
+     *
+     * @param tournamentName The name of the tournament for which to generate the round.
+     * @return A map containing the rounds of matches generated for the tournament or an error message.
+     */
+    public Map<String, Object> generateSwissRound(String tournamentName) {
+        try {
+            return OptimisticLockRetry.run("Generating the next Swiss round of tournament " + tournamentName,
+                () -> generateNextSwissRound(tournamentName));
+        } catch (OptimisticLockingFailureException e) {
+            return concurrentUpdateError();
+        }
+    }
+
+    // Pairs the next Swiss round of the tournament's bracket, from a fresh read of the tournament
+    private Map<String, Object> generateNextSwissRound(String tournamentName) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> error = new HashMap<>();
+
+        try {
+            Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+            if (tournament.getBracket() == null) {
+                tournament.setBracket(new Tournament.Bracket());
+            }
+            Tournament.Bracket bracket = tournament.getBracket();
+            if (bracket.getRounds() == null) {
+                bracket.setRounds(new ArrayList<>());
+            }
+
+            if (!bracket.isSwiss() && !bracket.getRounds().isEmpty()) {
+                response.put("error", "The tournament's bracket is not played with the Swiss system!");
+                return response;
+            }
+
+            List<String> players = tournament.getPlayersPool() == null ? new ArrayList<>() : new ArrayList<>(tournament.getPlayersPool());
+            if (players.size() < 2) {
+                response.put("error", "At least two players are needed to generate the bracket!");
+                return response;
+            }
+
+            if (!bracket.currentRoundCompleted()) {
+                response.put("error", "All matches in the previous round must be completed before generating a new round!");
+                return response;
+            }
+            if (bracket.isSwiss() && bracket.getRounds().size() >= bracket.getSwissRounds()) {
+                response.put("error", "All rounds of the tournament's bracket have already been generated!");
+                return response;
+            }
+
+            // Tally the scores, the opponents and the byes of the earlier rounds from all of the tournament's matches in one query
+            Map<String, Integer> scores = new HashMap<>();
+            Map<String, Set<String>> opponents = new HashMap<>();
+            Set<String> byes = new HashSet<>();
+            if (!bracket.getRounds().isEmpty()) {
+                List<Match> playedMatches = matchRepository.findByTournamentName(tournamentName).orElse(Collections.emptyList());
+                for (Match match : playedMatches) {
+                    tallySwissMatch(match, scores, opponents, byes);
+                }
+            }
+
+            SwissPairing.Result pairing = SwissPairing.pair(players, findEloByUsername(players), scores, opponents, byes);
+            List<Match> newMatches = new ArrayList<>();
+            for (List<String> pair : pairing.pairs()) {
+                newMatches.add(createMatch(tournament, pair.get(0), pair.get(1)));
+            }
+
+            // A bye is recorded as a match won without an opponent, so that it counts towards the player's score
+            int completedMatches = 0;
+            if (pairing.bye() != null) {
+                Match bye = createMatch(tournament, pairing.bye(), null);
+                bye.setMatchWinner(pairing.bye());
+                bye.setCompleted(true);
+                newMatches.add(bye);
+                completedMatches++;
+            }
+
+            if (!bracket.isSwiss()) {
+                bracket.setSwiss(true);
+                bracket.setSwissRounds(Math.max(1, 32 - Integer.numberOfLeadingZeros(players.size() - 1)));
+            }
+
+            // Every match has a slot for its winner, so that the results are recorded like those of any other round
+            List<String> winners = newMatches.stream()
+                .map(Match::getMatchWinner)
+                .collect(Collectors.toList());
+            bracket.getRounds().add(new Tournament.Round(newMatches.stream().map(Match::getId).collect(Collectors.toList())));
+            bracket.setAdvancingPlayers(winners);
+            bracket.setCompletedMatches(completedMatches);
+
+            logger.info("Paired Swiss round {} of tournament {} with {} matches", bracket.getRounds().size(), tournamentName, newMatches.size());
+            saveWithMatches(tournament, newMatches);
+            tournamentCacheService.evict(tournamentName);
+
+            // Push the new round to the clients following the bracket
+            Map<String, Object> newRound = new HashMap<>();
+            newRound.put("roundNumber", bracket.getRounds().size() - 1);
+            newRound.put("matches", newMatches);
+            bracketEventService.publish(tournamentName, BracketEventService.ROUND_EVENT, newRound);
+
+            return viewTournamentBracket(tournamentName);
+
+        } catch (UserNotFoundException e) {
+            logger.error("User not found: {}", e.getMessage(), e);
+            error.put("error", e.getMessage());
+            response.put("error", error);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while generating the bracket: {}", e.getMessage(), e);
+            error.put("error", "An unexpected error occurred while generating the bracket!");
+            response.put("error", error);
+        }
+        return response;
+    }
+
+    // Adds a played Swiss match to the players' scores, opponents and byes
+    private void tallySwissMatch(Match match, Map<String, Integer> scores, Map<String, Set<String>> opponents, Set<String> byes) {
+        List<String> players = match.getPlayers();
+        if (players == null || players.size() < 2) {
+            return;
+        }
+        String player1 = players.get(0);
+        String player2 = players.get(1);
+        if (player1 != null && player2 != null) {
+            opponents.computeIfAbsent(player1, username -> new HashSet<>()).add(player2);
+            opponents.computeIfAbsent(player2, username -> new HashSet<>()).add(player1);
+        } else if (player1 != null || player2 != null) {
+            byes.add(player1 != null ? player1 : player2);
+        }
+        if (match.isCompleted() && match.getMatchWinner() != null) {
+            scores.merge(match.getMatchWinner(), 1, Integer::sum);
+        }
+    }
+
+    // The response to a bracket generation that kept conflicting with concurrent changes to the tournament
+    private Map<String, Object> concurrentUpdateError() {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The tournament's bracket was changed by someone else at the same time, please try again!");
+        response.put("error", error);
+        return response;
+    }
+
+    /**
+     * Creates every match of a single-elimination bracket, round by round, without saving them.
+     * The first round places the seeds so that the top seeds can only meet in the later rounds,
+     * and a player without an opponent in it has a bye and is moved straight into their second round match.
+     * 
+     * @param tournament The tournament for which to create the matches.
+     * @param seededPlayers The players, from the top seed down.
+     * @return The matches of each round, in bracket order.
+     */
+    private List<List<Match>> createFullTree(Tournament tournament, List<String> seededPlayers) {
+        int bracketSize = Integer.highestOneBit(seededPlayers.size() - 1) << 1;
+        List<Integer> seeds = seedOrder(bracketSize);
+
+        List<Match> firstRound = new ArrayList<>();
+        for (int i = 0; i < bracketSize; i += 2) {
+            firstRound.add(createMatch(tournament, seededPlayer(seededPlayers, seeds.get(i)), seededPlayer(seededPlayers, seeds.get(i + 1))));
+        }
+
+        List<List<Match>> rounds = new ArrayList<>();
+        rounds.add(firstRound);
+        for (List<Match> previousRound = firstRound; previousRound.size() > 1; previousRound = rounds.get(rounds.size() - 1)) {
+            List<Match> round = new ArrayList<>();
+            for (int i = 0; i < previousRound.size(); i += 2) {
+                Match match = createMatch(tournament, null, null);
+                linkToNextMatch(previousRound.get(i), match, 0);
+                linkToNextMatch(previousRound.get(i + 1), match, 1);
+                round.add(match);
+            }
+            rounds.add(round);
+        }
+
+        // Players with a bye win their first round match and are moved into their second round match
+        for (int i = 0; i < firstRound.size(); i++) {
+            Match match = firstRound.get(i);
+            List<String> players = match.getPlayers();
+            if (players.get(0) == null || players.get(1) == null) {
+                String winner = players.get(0) != null ? players.get(0) : players.get(1);
+                match.setMatchWinner(winner);
+                match.setCompleted(true);
+                rounds.get(1).get(i / 2).getPlayers().set(match.getNextMatchSlot(), winner);
+            }
+        }
+        return rounds;
+    }
+
+    /**
+     * Lists the seeds in bracket order, pairing each seed with the seed that makes the pair's seeds add up
+     * to the bracket size plus one, e.g. 1, 8, 4, 5, 2, 7, 3, 6 for a bracket of eight.
+     * 
+     * @param bracketSize The number of players in the first round, a power of two.
+     * @return The seeds, from 1 to the bracket size, in the order of the first round's player slots.
+     */
+    private List<Integer> seedOrder(int bracketSize) {
+        List<Integer> seeds = new ArrayList<>(Arrays.asList(1, 2));
+        while (seeds.size() < bracketSize) {
+            int pairSum = seeds.size() * 2 + 1;
+            List<Integer> nextSeeds = new ArrayList<>();
+            for (int seed : seeds) {
+                nextSeeds.add(seed);
+                nextSeeds.add(pairSum - seed);
+            }
+            seeds = nextSeeds;
+        }
+        return seeds;
+    }
+
+    // The player with the given seed, or null for the seeds beyond the number of players, who are byes
+    private String seededPlayer(List<String> seededPlayers, int seed) {
+        return seed <= seededPlayers.size() ? seededPlayers.get(seed - 1) : null;
+    }
+
+    // Links a match to the match and slot its winner moves on to
+    private void linkToNextMatch(Match match, Match nextMatch, int slot) {
+        match.setNextMatchId(nextMatch.getId());
+        match.setNextMatchSlot(slot);
+    }
+
     /**
      * Determines the players eligible for the new round in the tournament.
+     * The first round is played by the whole players pool, later rounds by the players advancing from the current round.
      * 
      * @param tournament The tournament for which to determine eligible players.
      * @return A list of player usernames eligible for the new round.
-     * @throws MatchNotFoundException if a match is not found during the process.
      */
-    private List<String> getPlayersForNewRound(Tournament tournament) throws MatchNotFoundException {
-        List<String> tournamentPlayersPool = new ArrayList<>(tournament.getPlayersPool());
-        if (tournament.getBracket() == null || tournament.getBracket().getRounds().isEmpty()) {
-            return tournamentPlayersPool;
+    private List<String> getPlayersForNewRound(Tournament tournament) {
+        Tournament.Bracket bracket = tournament.getBracket();
+        if (bracket.getRounds().isEmpty()) {
+            return new ArrayList<>(tournament.getPlayersPool());
         }
 
+        // Matches completed without a winner leave their slot empty
+        return bracket.getAdvancingPlayers().stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Rebuilds the state of the current round of a bracket that was generated before the state was kept on it.
+     * All of the tournament's matches are read in a single query.
+     * 
+     * @param tournament The tournament whose bracket state to rebuild.
+     * @throws MatchNotFoundException if a match of the bracket is not found.
+     */
+    private void rebuildRoundState(Tournament tournament) throws MatchNotFoundException {
+        Map<String, Match> matchesById = matchRepository.findByTournamentName(tournament.getTournamentName())
+            .orElse(Collections.emptyList())
+            .stream()
+            .collect(Collectors.toMap(Match::getId, match -> match));
+
+        Tournament.Bracket bracket = tournament.getBracket();
+        List<Tournament.Round> rounds = bracket.getRounds();
         Set<String> playersParticipated = new HashSet<>();
         List<String> winners = new ArrayList<>();
-        List<Tournament.Round> rounds = tournament.getBracket().getRounds();
+        int completedMatches = 0;
 
         for (int i = 0; i < rounds.size(); i++) {
-            Tournament.Round round = rounds.get(i);
-            List<Match> matches = matchRepository.findAllById(round.getMatches());
-            if (matches.size() != round.getMatches().size()) {
-                throw new MatchNotFoundException("One or more matches not found for round " + i);
-            }
-            
-            for (Match match : matches) {
+            for (String matchId : rounds.get(i).getMatches()) {
+                Match match = matchesById.get(matchId);
+                if (match == null) {
+                    throw new MatchNotFoundException(tournament.getTournamentName());
+                }
                 playersParticipated.addAll(match.getPlayers());
-                
-                if (i == rounds.size() - 1 && match.getMatchWinner() != null) {
+
+                if (i == rounds.size() - 1) {
                     winners.add(match.getMatchWinner());
+                    if (match.isCompleted()) {
+                        completedMatches++;
+                    }
                 }
             }
         }
 
-        List<String> playersForNewRound = tournamentPlayersPool.stream()
+        List<String> advancingPlayers = tournament.getPlayersPool().stream()
             .filter(player -> !playersParticipated.contains(player))
             .collect(Collectors.toList());
+        advancingPlayers.addAll(winners);
+
+        bracket.setAdvancingPlayers(advancingPlayers);
+        bracket.setCompletedMatches(completedMatches);
+    }
+
+    /**
+     * Adds a new round to the tournament bracket and saves it together with its matches.
+     * 
+     * @param tournament The tournament to which the new round is added.
+     * @param playersForNewRound The players that were eligible for the new round.
+     * @param newMatches The matches of the new round, with their IDs already assigned.
+     */
+    private void saveNewRound(Tournament tournament, List<String> playersForNewRound, List<Match> newMatches) {
+        List<String> newMatchIds = newMatches.stream()
+            .map(Match::getId)
+            .collect(Collectors.toList());
+
+        // The players who sit out the new round go through to the next one, followed by a slot for each match winner
+        Set<String> drawnPlayers = newMatches.stream()
+            .flatMap(match -> match.getPlayers().stream())
+            .collect(Collectors.toSet());
+        List<String> advancingPlayers = playersForNewRound.stream()
+            .filter(player -> !drawnPlayers.contains(player))
+            .collect(Collectors.toList());
+        newMatches.forEach(match -> advancingPlayers.add(null));
+
+        // Add the new round to the tournament bracket
+        Tournament.Bracket bracket = tournament.getBracket();
+        bracket.getRounds().add(new Tournament.Round(newMatchIds));
+        bracket.setAdvancingPlayers(advancingPlayers);
+        bracket.setCompletedMatches(0);
 
-        playersForNewRound.addAll(winners);
-        return playersForNewRound;
+        saveWithMatches(tournament, newMatches);
+    }
+
+    /**
+     * Inserts new matches in one batch, then saves the tournament whose bracket refers to them.
+     * If the tournament cannot be saved, the matches are deleted again so that none are left dangling.
+     * 
+     * @param tournament The tournament, with the new matches already added to its bracket.
+     * @param newMatches The new matches, with their IDs already assigned.
+     */
+    private void saveWithMatches(Tournament tournament, List<Match> newMatches) {
+        List<String> newMatchIds = newMatches.stream()
+            .map(Match::getId)
+            .collect(Collectors.toList());
+
+        try {
+            matchRepository.insert(newMatches);
+            tournament.setUpdatedAt(LocalDateTime.now());
+            tournamentRepository.save(tournament);
+        } catch (RuntimeException e) {
+            logger.error("Failed to save the new matches of tournament {}, removing them", tournament.getTournamentName());
+            try {
+                matchRepository.deleteAllById(newMatchIds);
+            } catch (RuntimeException cleanupError) {
+                logger.error("Failed to remove the new matches: {}", cleanupError.getMessage(), cleanupError);
+            }
+            throw e;
+        }
     }
 
     /**
      * Creates a new round of matches based on the players available.
+     * The matches are only built in memory; they are saved together with the round by saveNewRound.
      * 
      * @param tournament The tournament for which to create the new round.
      * @param playersForNewRound The list of players eligible for the new round.
-     * @return A list of match IDs for the newly created matches.
+     * @return A list of the newly created matches.
      */
-    private List<String> createNewRound(Tournament tournament, List<String> playersForNewRound) {
-        List<String> newMatches = new ArrayList<>();
+    private List<Match> createNewRound(Tournament tournament, List<String> playersForNewRound) {
+        List<Match> newMatches = new ArrayList<>();
         if (!isPowerOfTwo(playersForNewRound.size())) {
             generatePreliminaryRound(tournament, playersForNewRound, newMatches);
         } else {
@@ -167,16 +574,15 @@ public class BracketService {
      * 
      * @param tournament The tournament for which to generate the preliminary round.
      * @param players The list of players participating in the preliminary round.
-     * @param newMatches The list to which the new match IDs will be added.
+     * @param newMatches The list to which the new matches will be added.
      */
-    private void generatePreliminaryRound(Tournament tournament, List<String> players, List<String> newMatches) {
+    private void generatePreliminaryRound(Tournament tournament, List<String> players, List<Match> newMatches) {
         logger.info("Forming a preliminary round");
         int preliminaryPlayersCount = calculatePreliminaryPlayersCount(players.size());
         Collections.shuffle(players);
         
         for (int i = 0; i < preliminaryPlayersCount / 2; i++) {
-            Match match = createMatch(tournament, players.get(i), players.get(preliminaryPlayersCount - 1 - i));
-            newMatches.add(match.getId());
+            newMatches.add(createMatch(tournament, players.get(i), players.get(preliminaryPlayersCount - 1 - i)));
         }
     }
 
@@ -185,9 +591,9 @@ public class BracketService {
      * 
      * @param tournament The tournament for which to generate the proper bracket.
      * @param players The list of players participating in the bracket.
-     * @param newMatches The list to which the new match IDs will be added.
+     * @param newMatches The list to which the new matches will be added.
      */
-    private void generateProperBracket(Tournament tournament, List<String> players, List<String> newMatches) {
+    private void generateProperBracket(Tournament tournament, List<String> players, List<Match> newMatches) {
         logger.info("Forming bracket for round: " + tournament.getBracket().getRounds().size());
         
         List<Tournament.Round> rounds = tournament.getBracket().getRounds();
@@ -198,27 +604,26 @@ public class BracketService {
         if (rounds.size() == 1) {
             List<String> sortedPlayers = sortPlayersByElo(players);
             for (int i = 0; i < sortedPlayers.size() / 2; i++) {
-                Match match = createMatch(
+                newMatches.add(createMatch(
                     tournament, 
                     sortedPlayers.get(i), 
                     sortedPlayers.get(sortedPlayers.size() - 1 - i)
-                );
-                newMatches.add(match.getId());
+                ));
             }
         } else {
             for (int i = 0; i < players.size() - 1; i += 2) {
-                Match match = createMatch(
+                newMatches.add(createMatch(
                     tournament, 
                     players.get(i), 
                     players.get(i + 1)
-                );
-                newMatches.add(match.getId());
+                ));
             }
         }
     }
 
     /**
-     * Creates and saves a new match in the database.
+     * Creates a new match, without saving it.
+     * The match ID is assigned up front so that the round can refer to its matches before they are inserted.
      * 
      * @param tournament The tournament in which the match is being created.
      * @param player1 The username of the first player.
@@ -227,9 +632,10 @@ public class BracketService {
      */
     private Match createMatch(Tournament tournament, String player1, String player2) {
         Match match = new Match();
+        match.setId(new ObjectId().toHexString());
         match.setTournamentName(tournament.getTournamentName());
         match.setPlayers(Arrays.asList(player1, player2));
-        return matchRepository.save(match);
+        return match;
     }
 
     /**
@@ -240,14 +646,31 @@ public class BracketService {
      * @throws UserNotFoundException if a user is not found during the sorting process.
      */
     private List<String> sortPlayersByElo(List<String> players) throws UserNotFoundException {
+        Map<String, Integer> eloByUsername = findEloByUsername(players);
         return players.stream()
-            .map(username -> userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username)))
-            .sorted(Comparator.comparingInt(User::getElo).reversed())
-            .map(User::getUsername)
+            .sorted(Comparator.comparingInt((String username) -> eloByUsername.get(username)).reversed())
             .collect(Collectors.toList());
     }
 
+    /**
+     * Reads the ELO ratings of the given players in a single query.
+     *
+     * @param players The list of player usernames.
+     * @return The ELO rating of each player, by username.
+     * @throws UserNotFoundException if a user is not found.
+     */
+    private Map<String, Integer> findEloByUsername(List<String> players) throws UserNotFoundException {
+        Map<String, Integer> eloByUsername = userRepository.findEloByUsernameIn(players).stream()
+            .collect(Collectors.toMap(PlayerEloDto::getUsername, PlayerEloDto::getElo));
+
+        for (String username : players) {
+            if (!eloByUsername.containsKey(username)) {
+                throw new UserNotFoundException(username);
+            }
+        }
+        return eloByUsername;
+    }
+
     /**
      * Checks if a number is a power of two.
      * 
@@ -272,12 +695,22 @@ public class BracketService {
     /**
      * Updates the match results based on the provided match details.
      * 
+     * The match is versioned, so results entered for the same match at the same time cannot overwrite each other:
+     * the update that loses is applied again on top of the one that won.
+     * 
      * @param newMatchDetails The Match object containing the updated match details.
      * @return The updated Match object.
      * @throws IllegalArgumentException if the match details are invalid.
+     * @throws OptimisticLockingFailureException if the match kept changing while the update was retried.
      * @throws Exception if an unexpected error occurs during the update process.
      */
     public Match updateMatchResults(Match newMatchDetails) {
+        return OptimisticLockRetry.run("Updating the results of match " + newMatchDetails.getId(),
+            () -> applyMatchResults(newMatchDetails));
+    }
+
+    // Applies the new match details to a fresh read of the match
+    private Match applyMatchResults(Match newMatchDetails) {
         try {
             // First verify the match exists
             Match existingMatch = matchRepository.findById(newMatchDetails.getId())
@@ -295,6 +728,9 @@ public class BracketService {
                 throw new IllegalArgumentException(String.join(", ", errorMessages));
             }
 
+            boolean wasCompleted = existingMatch.isCompleted();
+            String previousWinner = existingMatch.getMatchWinner();
+
             if (newMatchDetails.getStartDate() != null) {
                 existingMatch.setStartDate(newMatchDetails.getStartDate());
             } 
@@ -308,28 +744,126 @@ public class BracketService {
                 existingMatch.setSets(newMatchDetails.getSets());
             }
 
+            // Record the players' ratings as the match is completed, so that its rating change does not depend on when it is applied
+            if (existingMatch.isCompleted() && !wasCompleted && existingMatch.getPlayerElos() == null) {
+                existingMatch.setPlayerElos(findPlayerElos(existingMatch.getPlayers()));
+            }
+
             // Update the match details in the database
-            return matchRepository.save(existingMatch);
-        } catch (IllegalArgumentException e) {
+            Match savedMatch = matchRepository.save(existingMatch);
+            bracketEventService.publish(existingMatch.getTournamentName(), BracketEventService.MATCH_EVENT, savedMatch);
+
+            // Keep the bracket's round state in line with the result
+            boolean recorded = false;
+            boolean winnerChanged = !Objects.equals(previousWinner, existingMatch.getMatchWinner());
+            if (existingMatch.isCompleted() && (!wasCompleted || winnerChanged)) {
+                if (existingMatch.getNextMatchId() != null) {
+                    advanceWinner(existingMatch);
+                } else {
+                    recorded = recordMatchResult(existingMatch, !wasCompleted);
+                }
+            }
+
+            // Recording the result moves the tournament to a new version, otherwise it is done here so that the bracket's ETag changes
+            if (!recorded && tournamentRepository.incrementVersion(existingMatch.getTournamentName())) {
+                tournamentCacheService.evict(existingMatch.getTournamentName());
+            }
+            return savedMatch;
+        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
     
+    /**
+     * Reads the current ELO ratings of the two players of a match in a single query.
+     * 
+     * @param players The usernames of the players of the match.
+     * @return The ratings in the order of the players, or null if the match does not have two registered players.
+     */
+    private List<Integer> findPlayerElos(List<String> players) {
+        if (players == null || players.size() != 2 || players.get(0) == null || players.get(1) == null) {
+            return null;
+        }
+        Map<String, Integer> eloByUsername = userRepository.findEloByUsernameIn(players).stream()
+            .collect(Collectors.toMap(PlayerEloDto::getUsername, PlayerEloDto::getElo));
+        if (!eloByUsername.keySet().containsAll(players)) {
+            return null;
+        }
+        return Arrays.asList(eloByUsername.get(players.get(0)), eloByUsername.get(players.get(1)));
+    }
+
+    /**
+     * Moves the winner of a match of a fully generated bracket into their slot of the next match.
+     * 
+     * @param match The completed match whose winner to move on.
+     */
+    private void advanceWinner(Match match) {
+        if (match.getMatchWinner() == null) {
+            return;
+        }
+        Match nextMatch = matchRepository.advanceWinner(match.getNextMatchId(), match.getNextMatchSlot(), match.getMatchWinner());
+        if (nextMatch != null) {
+            bracketEventService.publish(match.getTournamentName(), BracketEventService.MATCH_EVENT, nextMatch);
+            logger.info("Advanced {} from match {} to match {}", match.getMatchWinner(), match.getId(), match.getNextMatchId());
+        } else {
+            logger.warn("Could not advance {} from match {}: match {} is missing or already completed",
+                match.getMatchWinner(), match.getId(), match.getNextMatchId());
+        }
+    }
+
+    /**
+     * Records the result of a match in the state of its tournament's current round.
+     * Results of matches from earlier rounds do not change who advances, so they are not recorded.
+     * 
+     * @param match The match whose result to record.
+     * @param newlyCompleted Whether the match was just completed, rather than having its winner corrected.
+     * @return Whether the result was recorded.
+     */
+    private boolean recordMatchResult(Match match, boolean newlyCompleted) {
+        Tournament tournament = tournamentRepository.findByTournamentName(match.getTournamentName()).orElse(null);
+        if (tournament == null || tournament.getBracket() == null) {
+            logger.warn("No bracket found to record the result of match {}", match.getId());
+            return false;
+        }
+
+        Tournament.Bracket bracket = tournament.getBracket();
+        int advancingIndex = bracket.advancingIndexOf(match.getId());
+        if (advancingIndex < 0) {
+            return false;
+        }
+
+        if (tournamentRepository.recordMatchResult(tournament.getTournamentName(), bracket.getRounds().size(),
+                advancingIndex, match.getMatchWinner(), newlyCompleted)) {
+            tournamentCacheService.evict(tournament.getTournamentName());
+            return true;
+        }
+        logger.warn("The bracket of tournament {} moved on before the result of match {} was recorded",
+            tournament.getTournamentName(), match.getId());
+        return false;
+    }
+
     /**
      * Updates the end date of a tournament.
      * 
      * @param tournamentName The name of the tournament to update.
      * @return The updated Tournament object.
      * @throws TournamentNotFoundException if no tournament with the given name is found.
+     * @throws OptimisticLockingFailureException if the tournament kept changing while the update was retried.
      */
     public Tournament updateTournamentEndDate(String tournamentName) {
-        Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
-            .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+        // A concurrent change to the tournament makes the save fail rather than be overwritten, and the update is retried
+        return OptimisticLockRetry.run("Ending tournament " + tournamentName, () -> {
+            Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
 
-        tournament.setEndDate(LocalDate.now());
-        return tournamentRepository.save(tournament);
+            tournament.setEndDate(Tournament.today());
+            tournament.setStatus(Tournament.Status.ENDED);
+            Tournament savedTournament = tournamentRepository.save(tournament);
+            tournamentCacheService.evict(tournamentName);
+            return savedTournament;
+        });
     }
 
     // Method to view the bracket of a tournament
@@ -337,7 +871,7 @@ public class BracketService {
         Map<String, Object> response = new HashMap<>();
         Map<String, String> error = new HashMap<>();
         try {
-            Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+            Tournament tournament = tournamentCacheService.findByName(tournamentName)
                 .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
             
             // Get the bracket and rounds of the tournament, handling null values
@@ -352,11 +886,19 @@ public class BracketService {
                 return response;
             }
 
-            // For each of the round, fetch all of the matches and add them to the response
+            // Fetch all of the tournament's matches in one query, then place them in their rounds in the bracket's order
+            Map<String, Match> matchesById = matchRepository.findByTournamentName(tournament.getTournamentName())
+                .orElse(Collections.emptyList())
+                .stream()
+                .collect(Collectors.toMap(Match::getId, match -> match));
+
             List<Map<String, Object>> roundsWithMatches = new ArrayList<>();
             for (int i = 0; i < rounds.size(); i++) {
                 Tournament.Round round = rounds.get(i);
-                List<Match> matches = matchRepository.findAllById(round.getMatches());
+                List<Match> matches = round.getMatches().stream()
+                    .map(matchesById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
                 Map<String, Object> roundMap = new HashMap<>();
                 roundMap.put("roundNumber", i);
                 roundMap.put("matches", matches);
@@ -0,0 +1,199 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays the rest of a knockout bracket many times over, to estimate how far each player is likely to go.
+ *
+ * The bracket is laid out as a list of matches in playing order, each taking its two players either directly
+ * or as the winners of earlier matches. Matches that are already decided keep their winner; the others are won
+ * with the probability given by the players' Elo ratings.
+ *
+ * The simulations are split between the threads of a fork/join pool. Each task draws from the random number
+ * generator of its own thread and reuses the same arrays for all of its simulations, so simulating a match allocates nothing.
+ * The win probabilities are worked out once for every Elo difference between the players, rather than for every match played.
+ */
+final class BracketSimulation {
+
+    // A slot without a player, or a match decided without a winner
+    static final int EMPTY = -1;
+
+    // The winner of a match that is still to be played
+    static final int UNDECIDED = -2;
+
+    // The number of simulations below which a task runs them itself instead of splitting them further
+    private static final int SIMULATIONS_PER_TASK = 1000;
+
+    // The Elo rating of each player, by player index
+    private final int[] elo;
+
+    // The probability of beating an opponent, by the players' rating difference offset by the largest difference between any two players
+    private final double[] expectedWinning;
+    private final int maxEloDifference;
+
+    // The round, the two slots and the decided winner of each match, by match index.
+    // A slot holds a player index, EMPTY, or the winner of an earlier match as encoded by winnerOf.
+    private final int[] round;
+    private final int[] firstSlot;
+    private final int[] secondSlot;
+    private final int[] decidedWinner;
+    private final int rounds;
+
+    private BracketSimulation(int[] elo, int[] round, int[] firstSlot, int[] secondSlot, int[] decidedWinner, int rounds) {
+        this.elo = elo;
+        this.round = round;
+        this.firstSlot = firstSlot;
+        this.secondSlot = secondSlot;
+        this.decidedWinner = decidedWinner;
+        this.rounds = rounds;
+
+        int minElo = Arrays.stream(elo).min().orElse(0);
+        this.maxEloDifference = Arrays.stream(elo).max().orElse(0) - minElo;
+        this.expectedWinning = new double[maxEloDifference * 2 + 1];
+        for (int difference = -maxEloDifference; difference <= maxEloDifference; difference++) {
+            expectedWinning[difference + maxEloDifference] = EloRatingService.calculateExpectedWinning(minElo + Math.max(difference, 0),
+                minElo + Math.max(-difference, 0));
+        }
+    }
+
+    // The slot that takes the winner of an earlier match
+    static int winnerOf(int matchIndex) {
+        return -2 - matchIndex;
+    }
+
+    int players() {
+        return elo.length;
+    }
+
+    int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Runs the simulations.
+     * The counts are laid out by player, each player having one count per round followed by their number of titles,
+     * which are the simulations in which they won the last match.
+     *
+     * @param simulations the number of times to play the bracket.
+     * @param pool the pool to run the simulations in.
+     * @return the number of simulations in which each player played in each round, and won the title.
+     */
+    long[] simulate(int simulations, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(simulations));
+    }
+
+    // The position of a player's count for a round, or for the title when the round is the number of rounds
+    int countIndex(int player, int roundIndex) {
+        return player * (rounds + 1) + roundIndex;
+    }
+
+    private long[] run(int simulations) {
+        long[] counts = new long[elo.length * (rounds + 1)];
+        int[] winners = new int[round.length];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int simulation = 0; simulation < simulations; simulation++) {
+            for (int match = 0; match < round.length; match++) {
+                int first = resolve(firstSlot[match], winners);
+                int second = resolve(secondSlot[match], winners);
+                if (first >= 0) {
+                    counts[countIndex(first, round[match])]++;
+                }
+                if (second >= 0) {
+                    counts[countIndex(second, round[match])]++;
+                }
+
+                int winner = decidedWinner[match];
+                if (winner == UNDECIDED) {
+                    if (first < 0 || second < 0) {
+                        // A player without an opponent goes through
+                        winner = first < 0 ? second : first;
+                    } else {
+                        winner = random.nextDouble() < expectedWinning[elo[first] - elo[second] + maxEloDifference] ? first : second;
+                    }
+                }
+                winners[match] = winner;
+            }
+
+            int champion = round.length == 0 ? EMPTY : winners[round.length - 1];
+            if (champion >= 0) {
+                counts[countIndex(champion, rounds)]++;
+            }
+        }
+        return counts;
+    }
+
+    private int resolve(int slot, int[] winners) {
+        return slot <= UNDECIDED ? winners[-2 - slot] : slot;
+    }
+
+    // Splits the simulations in halves until they are few enough to run, then adds up the halves' counts
+    private final class SimulationTask extends RecursiveTask<long[]> {
+        private final int simulations;
+
+        private SimulationTask(int simulations) {
+            this.simulations = simulations;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (simulations <= SIMULATIONS_PER_TASK) {
+                return run(simulations);
+            }
+
+            SimulationTask firstHalf = new SimulationTask(simulations / 2);
+            SimulationTask secondHalf = new SimulationTask(simulations - simulations / 2);
+            firstHalf.fork();
+            long[] counts = secondHalf.compute();
+            long[] otherCounts = firstHalf.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Lays out a bracket for simulation. Matches are added in the order they are played, so that every match comes
+     * after the matches whose winners it takes, and the last match added is the final.
+     */
+    static final class Builder {
+        private final List<Integer> elo = new ArrayList<>();
+        private final List<int[]> matches = new ArrayList<>();
+        private int rounds;
+
+        // Adds a player and returns their index
+        int addPlayer(int playerElo) {
+            elo.add(playerElo);
+            return elo.size() - 1;
+        }
+
+        // Adds a match and returns its index; the winner is UNDECIDED for a match still to be played
+        int addMatch(int roundIndex, int firstSlot, int secondSlot, int winner) {
+            matches.add(new int[] {roundIndex, firstSlot, secondSlot, winner});
+            rounds = Math.max(rounds, roundIndex + 1);
+            return matches.size() - 1;
+        }
+
+        BracketSimulation build() {
+            int[] round = new int[matches.size()];
+            int[] firstSlot = new int[matches.size()];
+            int[] secondSlot = new int[matches.size()];
+            int[] decidedWinner = new int[matches.size()];
+            for (int i = 0; i < matches.size(); i++) {
+                int[] match = matches.get(i);
+                round[i] = match[0];
+                firstSlot[i] = match[1];
+                secondSlot[i] = match[2];
+                decidedWinner[i] = match[3];
+            }
+            return new BracketSimulation(elo.stream().mapToInt(Integer::intValue).toArray(),
+                round, firstSlot, secondSlot, decidedWinner, rounds);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.backend.service;
+
+import com.example.backend.model.EloHistory;
+import com.example.backend.repository.EloHistoryCursor;
+import com.example.backend.repository.EloHistoryRepository;
+import com.example.backend.responses.CursorPage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the history of the players' Elo rating changes.
+ *
+ * Rating a match only queues its changes; a single writer thread inserts them in batches, so the request
+ * that rated the match never waits on the history. While a batch is being written the changes that come in
+ * are queued, and go out together in the next batch.
+ * When the queue is full, the changes are written by the thread that recorded them rather than dropped.
+ */
+@Service
+public class EloHistoryService {
+
+    // Number of entries in a page of a player's history when no size is requested, and the most that can be requested
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(EloHistoryService.class);
+
+    private final EloHistoryRepository eloHistoryRepository;
+    private final ExecutorService writer;
+    private final int batchSize;
+    private final BlockingQueue<EloHistory> pending;
+
+    // Whether the writer thread is draining the queue, so that only one batch is written at a time
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Autowired
+    public EloHistoryService(EloHistoryRepository eloHistoryRepository,
+                             @Value("${elo.history.batch-size:500}") int batchSize,
+                             @Value("${elo.history.buffer-size:10000}") int bufferSize) {
+        this(eloHistoryRepository, Executors.newSingleThreadExecutor(), batchSize, bufferSize);
+    }
+
+    EloHistoryService(EloHistoryRepository eloHistoryRepository, ExecutorService writer, int batchSize, int bufferSize) {
+        this.eloHistoryRepository = eloHistoryRepository;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.pending = new LinkedBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Records rating changes in the history. The changes are written in the background.
+     *
+     * @param changes the rating changes to record.
+     */
+    public void record(List<EloHistory> changes) {
+        List<EloHistory> overflow = new ArrayList<>();
+        for (EloHistory change : changes) {
+            if (!pending.offer(change)) {
+                overflow.add(change);
+            }
+        }
+
+        if (!overflow.isEmpty()) {
+            logger.warn("The rating history queue is full, writing {} changes directly", overflow.size());
+            insert(overflow);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Retrieves one page of a player's rating history, most recent change first.
+     * Changes recorded moments ago may still be waiting to be written.
+     *
+     * @param username the username of the player.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of changes to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of the player's rating changes and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<EloHistory> getRatingHistory(String username, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        EloHistoryCursor after = EloHistoryCursor.decode(cursor);
+
+        // One more change than the page holds is read, only to find out whether there is a next page
+        List<EloHistory> changes = eloHistoryRepository.findPageByUsername(username, after, size + 1);
+        if (changes.size() <= size) {
+            return new CursorPage<>(new ArrayList<>(changes), null);
+        }
+
+        List<EloHistory> items = new ArrayList<>(changes.subList(0, size));
+        EloHistory last = items.get(size - 1);
+        return new CursorPage<>(items, new EloHistoryCursor(last.getTimestamp(), last.getId()).encode());
+    }
+
+    // Writes the changes still queued before the application stops
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainQueue();
+    }
+
+    private void scheduleDrain() {
+        if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+                logger.error("Failed to schedule the writing of the rating history: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            drainQueue();
+        } finally {
+            draining.set(false);
+        }
+        // Changes queued after the last poll but before the flag was cleared
+        scheduleDrain();
+    }
+
+    private void drainQueue() {
+        List<EloHistory> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            insert(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void insert(List<EloHistory> batch) {
+        try {
+            eloHistoryRepository.insert(batch);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} rating history changes: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.backend.service;
 
 import com.example.backend.repository.MatchRepository;
-import com.example.backend.repository.TournamentRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.model.EloHistory;
 import com.example.backend.model.Match;
 import com.example.backend.model.Tournament;
 import com.example.backend.model.User;
@@ -16,30 +17,41 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EloRatingService {
     private static final Logger logger = LoggerFactory.getLogger(EloRatingService.class);
     private final MatchRepository matchRepository;
-    private final TournamentRepository tournamentRepository;
     private final UserRepository userRepository;
+    private final TournamentCacheService tournamentCacheService;
+    private final LeaderboardVersionService leaderboardVersionService;
+    private final EloHistoryService eloHistoryService;
 
     /**
      * Updates the Elo rating of users based on the match results.
+     * The changes are also recorded in the players' rating history, with the ratings stored before and after each change.
+     * A match is only ever rated once: rating it again, whether retried or sent twice, changes nothing.
      * 
      * @param matchId the ID of the match for which to update the Elo ratings.
+     * @return true if the ratings were updated, false if the match had already been rated.
      * @throws MatchNotFoundException if no match with the given ID is found.
      * @throws UserNotFoundException if a user involved in the match is not found.
      * @throws TournamentNotFoundException if the tournament associated with the match is not found.
      * @throws RuntimeException if an unexpected error occurs during the update process.
      */
-    public void updateEloRating(String matchId) {
+    public boolean updateEloRating(String matchId) {
         try {
             // Find the match from the repository with the id provided
             Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new MatchNotFoundException("Match not found"));
+            if (match.getEloRatingId() != null) {
+                logger.info("The Elo change of match {} has already been applied", matchId);
+                return false;
+            }
             
             // Get the players that have participated in the match
             List<String> players = match.getPlayers();
@@ -58,33 +70,54 @@ public class EloRatingService {
                 logger.error("Tournament name is not present in the match!");
                 throw new TournamentNotFoundException();
             }
-            Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+            Tournament tournament = tournamentCacheService.findByName(tournamentName)
                 .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
 
 
-            // Initialize the variables needed to calculate the elo rating
-            int player0Elo = player0.getElo();
-            int player1Elo = player1.getElo();
-            double expectedWinning0 = calculateExpectedWinning(player0Elo, player1Elo);
-            double expectedWinning1 = calculateExpectedWinning(player1Elo, player0Elo);
+            // The ratings the players had when the match was completed; matches completed before they were recorded use the current ratings
+            boolean eloRecorded = hasRecordedElos(match);
+            int player0Elo = eloRecorded ? match.getPlayerElos().get(0) : player0.getElo();
+            int player1Elo = eloRecorded ? match.getPlayerElos().get(1) : player1.getElo();
             // The actual result of the match, the winner will get 1.0 and the loser will get 0.0
             double acctualResult0 = match.getMatchWinner().equals(player0.getUsername()) ? 1.0 : 0.0;
             double acctualResult1 = match.getMatchWinner().equals(player1.getUsername()) ? 1.0 : 0.0;
             // Get the dynamic k-factor for the specific match
-            double kFactor = getDynamicKFactor(tournament, match, player0, player1);
+            double kFactor = getDynamicKFactor(tournament, match, player0.getUsername(), player0Elo, player1.getUsername(), player1Elo);
 
-            // Calculate the new elo rating for the players
-            double newElo0 = player0Elo + kFactor * (acctualResult0 - expectedWinning0);
-            double newElo1 = player1Elo + kFactor * (acctualResult1 - expectedWinning1);
+            // Apply the rating changes as atomic increments of the elo field alone, so that the results of other matches
+            // and updates to the users' profiles made in the meantime are not overwritten
+            int newPlayer0Elo = calculateNewElo(player0Elo, player1Elo, acctualResult0, kFactor);
+            int newPlayer1Elo = calculateNewElo(player1Elo, player0Elo, acctualResult1, kFactor);
+            Map<String, Integer> eloChanges = new HashMap<>();
+            eloChanges.merge(player0.getUsername(), newPlayer0Elo - player0Elo, Integer::sum);
+            eloChanges.merge(player1.getUsername(), newPlayer1Elo - player1Elo, Integer::sum);
 
-            // Update the elo rating of the players
-            player0.setElo((int) newElo0);
-            player1.setElo((int) newElo1);
+            // Claim the match first, so that of two ratings of the same match only one applies its changes
+            String ratingId = UUID.randomUUID().toString();
+            if (!matchRepository.claimEloRating(matchId, ratingId)) {
+                logger.info("The Elo change of match {} was applied by another request", matchId);
+                return false;
+            }
+            if (applyEloChanges(eloChanges, List.of(matchId), ratingId) < eloChanges.size()) {
+                logger.warn("A player of match {} was removed before their rating was updated", matchId);
+            }
 
-            // Save the updated elo rating of the players
-            userRepository.save(player0);
-            userRepository.save(player1);
-            return;
+            // The increments go around the save events that move the leaderboards to a new version
+            leaderboardVersionService.increment();
+
+            // The history holds the stored ratings, read back after the increments, and the ratings they went from,
+            // which differ from the match-time ratings when other matches were rated in between
+            Map<String, Integer> storedElos = findStoredElos(eloChanges.keySet());
+            LocalDateTime ratedAt = LocalDateTime.now();
+            List<EloHistory> history = new ArrayList<>();
+            for (String username : List.of(player0.getUsername(), player1.getUsername())) {
+                Integer storedElo = storedElos.get(username);
+                if (storedElo != null) {
+                    history.add(new EloHistory(username, matchId, storedElo - eloChanges.get(username), storedElo, kFactor, ratedAt));
+                }
+            }
+            eloHistoryService.record(history);
+            return true;
         } catch (MatchNotFoundException | TournamentNotFoundException | UserNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -92,14 +125,199 @@ public class EloRatingService {
         }
     }
 
+    /**
+     * Updates the Elo ratings of the players of a whole round, or of a whole ended tournament, at once.
+     * The matches are read in one query and the players' ratings in another, the changes are worked out in memory
+     * in the order the matches were played, and each player's total change is applied as an atomic increment in a single
+     * bulk write and recorded in the rating history, so rating a round costs a handful of round trips however many
+     * matches and players it has.
+     * Like a single match, each match is rated from the ratings recorded when it was completed; matches completed
+     * before the ratings were recorded are rated from the ratings left by the matches before them.
+     * Only completed matches with a winner between two players are rated; matches with a player who is no longer
+     * registered, and matches that have already been rated, are skipped.
+     *
+     * @param tournamentName the name of the tournament whose matches to rate.
+     * @param roundNumber the zero-based number of the round to rate, or null to rate every round of an ended tournament.
+     * @return a map containing the number of matches rated and the number of players whose rating changed.
+     * @throws TournamentNotFoundException if the tournament is not found.
+     * @throws IllegalArgumentException if the round does not exist, or the tournament has not ended when no round is given.
+     * @throws RuntimeException if an unexpected error occurs during the update process.
+     */
+    public Map<String, Object> updateEloRatings(String tournamentName, Integer roundNumber) {
+        try {
+            Tournament tournament = tournamentCacheService.findByName(tournamentName)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+            Tournament.Bracket bracket = tournament.getBracket();
+            if (bracket == null || bracket.getRounds() == null || bracket.getRounds().isEmpty()) {
+                throw new IllegalArgumentException("Tournament's bracket is not formed yet!");
+            }
+
+            List<Tournament.Round> rounds = bracket.getRounds();
+            List<String> matchIds;
+            if (roundNumber != null) {
+                if (roundNumber < 0 || roundNumber >= rounds.size()) {
+                    throw new IllegalArgumentException("Round " + roundNumber + " does not exist in the tournament's bracket!");
+                }
+                matchIds = rounds.get(roundNumber).getMatches();
+            } else {
+                if (tournament.getStatus() != Tournament.Status.ENDED) {
+                    throw new IllegalArgumentException("Only ended tournaments can have all of their rounds rated at once!");
+                }
+                matchIds = rounds.stream()
+                    .flatMap(round -> round.getMatches().stream())
+                    .collect(Collectors.toList());
+            }
+
+            // Read all of the tournament's matches in a single query, and keep the rated ones in the bracket's order
+            Map<String, Match> matchesById = matchRepository.findByTournamentName(tournamentName)
+                .orElse(Collections.emptyList())
+                .stream()
+                .collect(Collectors.toMap(Match::getId, match -> match));
+            List<Match> unratedMatches = matchIds.stream()
+                .map(matchesById::get)
+                .filter(match -> match != null && isRateable(match) && match.getEloRatingId() == null)
+                .collect(Collectors.toList());
+
+            // Claim the unrated matches, keeping those no other rating claimed in the meantime
+            String ratingId = UUID.randomUUID().toString();
+            Set<String> claimedIds = unratedMatches.isEmpty() ? Collections.emptySet()
+                : new HashSet<>(matchRepository.claimEloRatings(
+                    unratedMatches.stream().map(Match::getId).collect(Collectors.toList()), ratingId));
+            List<Match> matches = unratedMatches.stream()
+                .filter(match -> claimedIds.contains(match.getId()))
+                .collect(Collectors.toList());
+
+            // Read the ratings of all of the players in a single query
+            Set<String> usernames = matches.stream()
+                .flatMap(match -> match.getPlayers().stream())
+                .collect(Collectors.toSet());
+            Map<String, Integer> initialElos = userRepository.findEloByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(PlayerEloDto::getUsername, PlayerEloDto::getElo));
+            Map<String, Integer> eloByUsername = new HashMap<>(initialElos);
+
+            // Each match's changes are added to the ratings left by the matches before it
+            Set<String> ratedPlayers = new HashSet<>();
+            List<EloHistory> history = new ArrayList<>();
+            LocalDateTime ratedAt = LocalDateTime.now();
+            int ratedMatches = 0;
+            for (Match match : matches) {
+                String player0 = match.getPlayers().get(0);
+                String player1 = match.getPlayers().get(1);
+                if (!eloByUsername.containsKey(player0) || !eloByUsername.containsKey(player1)) {
+                    logger.warn("Skipping the rating of match {}, a player is no longer registered", match.getId());
+                    continue;
+                }
+
+                int player0CurrentElo = eloByUsername.get(player0);
+                int player1CurrentElo = eloByUsername.get(player1);
+                boolean eloRecorded = hasRecordedElos(match);
+                int player0Elo = eloRecorded ? match.getPlayerElos().get(0) : player0CurrentElo;
+                int player1Elo = eloRecorded ? match.getPlayerElos().get(1) : player1CurrentElo;
+                double acctualResult0 = match.getMatchWinner().equals(player0) ? 1.0 : 0.0;
+                double acctualResult1 = match.getMatchWinner().equals(player1) ? 1.0 : 0.0;
+                double kFactor = getDynamicKFactor(tournament, match, player0, player0Elo, player1, player1Elo);
+
+                int newPlayer0Elo = player0CurrentElo + calculateNewElo(player0Elo, player1Elo, acctualResult0, kFactor) - player0Elo;
+                int newPlayer1Elo = player1CurrentElo + calculateNewElo(player1Elo, player0Elo, acctualResult1, kFactor) - player1Elo;
+                eloByUsername.put(player0, newPlayer0Elo);
+                eloByUsername.put(player1, newPlayer1Elo);
+                history.add(new EloHistory(player0, match.getId(), player0CurrentElo, newPlayer0Elo, kFactor, ratedAt));
+                history.add(new EloHistory(player1, match.getId(), player1CurrentElo, newPlayer1Elo, kFactor, ratedAt));
+                ratedPlayers.add(player0);
+                ratedPlayers.add(player1);
+                ratedMatches++;
+            }
+
+            // Apply each player's total change as an atomic $inc, so changes made in the meantime are kept
+            Map<String, Integer> eloChanges = new HashMap<>();
+            ratedPlayers.forEach(username -> eloChanges.put(username, eloByUsername.get(username) - initialElos.get(username)));
+            int playersUpdated = eloChanges.isEmpty() ? 0 : applyEloChanges(eloChanges, claimedIds, ratingId);
+
+            // The increments go around the save events that move the leaderboards to a new version
+            if (playersUpdated > 0) {
+                leaderboardVersionService.increment();
+            }
+
+            // Each player's chain of changes is moved onto their rating as read back after the increments,
+            // so that the history follows the stored rating even if it changed since it was first read
+            Map<String, Integer> storedElos = playersUpdated == 0 ? Collections.emptyMap() : findStoredElos(eloChanges.keySet());
+            history.removeIf(change -> !storedElos.containsKey(change.getUsername()));
+            for (EloHistory change : history) {
+                int offset = storedElos.get(change.getUsername()) - eloByUsername.get(change.getUsername());
+                change.setOldElo(change.getOldElo() + offset);
+                change.setNewElo(change.getNewElo() + offset);
+            }
+            eloHistoryService.record(history);
+            logger.info("Rated {} matches of tournament {}, updating the ratings of {} players", ratedMatches, tournamentName, playersUpdated);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("matchesRated", ratedMatches);
+            response.put("playersUpdated", playersUpdated);
+            return response;
+        } catch (TournamentNotFoundException | IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("An unexpected error occurred while updating the elo ratings", e);
+        }
+    }
+
+    /*
+     * Applies rating changes as atomic increments of the users' elo field in one bulk write, returning the number of users found.
+     * If the write fails, the claims of the rated matches are given up so that they can be rated again.
+     */
+    private int applyEloChanges(Map<String, Integer> eloChanges, Collection<String> matchIds, String ratingId) {
+        try {
+            return userRepository.incrementElos(eloChanges);
+        } catch (RuntimeException e) {
+            matchRepository.releaseEloRatings(matchIds, ratingId);
+            throw e;
+        }
+    }
+
+    // The ratings of the rated players as stored after their increments, read back in one query for the history
+    private Map<String, Integer> findStoredElos(Collection<String> usernames) {
+        return userRepository.findEloByUsernameIn(usernames).stream()
+            .collect(Collectors.toMap(PlayerEloDto::getUsername, PlayerEloDto::getElo));
+    }
+
+    // Whether the ratings both players had when the match was completed were recorded on it
+    private boolean hasRecordedElos(Match match) {
+        List<Integer> recordedElos = match.getPlayerElos();
+        return recordedElos != null && recordedElos.size() == 2
+            && recordedElos.get(0) != null && recordedElos.get(1) != null;
+    }
+
+    // Whether a match has a result between two players that can be rated
+    private boolean isRateable(Match match) {
+        List<String> players = match.getPlayers();
+        return match.isCompleted() && match.getMatchWinner() != null
+            && players != null && players.size() == 2 && players.get(0) != null && players.get(1) != null;
+    }
+
+    /**
+     * Calculates the new Elo rating of a player after a match.
+     *
+     * @param playerElo the Elo rating of the player before the match.
+     * @param opponentElo the Elo rating of the opponent before the match.
+     * @param actualResult 1.0 if the player won the match, 0.0 if they lost.
+     * @param kFactor the K-factor of the match.
+     * @return the new Elo rating of the player.
+     */
+    static int calculateNewElo(int playerElo, int opponentElo, double actualResult, double kFactor) {
+        double expectedWinning = calculateExpectedWinning(playerElo, opponentElo);
+        return (int) (playerElo + kFactor * (actualResult - expectedWinning));
+    }
+
     /**
      * Calculates the expected winning probability of a player based on their Elo rating.
-     * 
+     * Also used to play out brackets when predicting their outcome.
+     *
      * @param player0Elo the Elo rating of the first player.
      * @param player1Elo the Elo rating of the second player.
      * @return the expected winning probability of the first player.
      */
-    private double calculateExpectedWinning(int player0Elo, int player1Elo) {
+    static double calculateExpectedWinning(int player0Elo, int player1Elo) {
         return 1.0 / (1.0 + Math.pow(10, ((double) player1Elo - (double) player0Elo) / 400.0));
     }
 
@@ -108,13 +326,45 @@ public class EloRatingService {
      * 
      * @param tournament the tournament in which the match is played.
      * @param match the match for which to calculate the K-factor.
-     * @param player0 the first player involved in the match.
-     * @param player1 the second player involved in the match.
+     * @param player0 the username of the first player involved in the match.
+     * @param player0Elo the Elo rating of the first player.
+     * @param player1 the username of the second player involved in the match.
+     * @param player1Elo the Elo rating of the second player.
      * @return the calculated K-factor.
      */
-    private double getDynamicKFactor(Tournament tournament, Match match, User player0, User player1) {
+    private double getDynamicKFactor(Tournament tournament, Match match, String player0, int player0Elo, String player1, int player1Elo) {
+        // Find the player with the lower elo
+        String lowerEloPlayer = player0Elo < player1Elo ? player0 : player1;
+        boolean underdogWon = match.getMatchWinner().equals(lowerEloPlayer);
+
+        // The round only matters to brackets of at least six rounds
+        List<Tournament.Round> rounds = tournament.getBracket().getRounds();
+        int roundIndex = 0;
+        for (int i = 0; rounds.size() >= 6 && i < rounds.size(); i++) {
+            if (rounds.get(i).getMatches().contains(match.getId())) {
+                roundIndex = i;
+                break;
+            }
+        }
+
+        return calculateKFactor(tournament.getPlayersPool().size(), rounds.size(), roundIndex,
+            Math.abs(player0Elo - player1Elo), underdogWon);
+    }
+
+    /**
+     * Calculates the dynamic K-factor from the details of a match that it depends on.
+     * Also used to replay the whole rating history, so that replayed ratings follow the same rules as live ones.
+     *
+     * @param playerCount the number of players in the tournament.
+     * @param totalRounds the number of rounds of the tournament's bracket.
+     * @param roundIndex the zero-based round of the match.
+     * @param eloDifference the difference between the players' Elo ratings.
+     * @param underdogWon whether the player with the lower Elo rating won.
+     * @return the calculated K-factor.
+     */
+    static double calculateKFactor(int playerCount, int totalRounds, int roundIndex, int eloDifference, boolean underdogWon) {
         // Set the base k-factor to be the number of players in the tournament
-        double k = tournament.getPlayersPool().size();
+        double k = playerCount;
         
         /*
         * Change the k-factor based on their elo difference
@@ -123,11 +373,8 @@ public class EloRatingService {
         * If the user with the higher elo won, the k-factor will be decreased
         * This favors the underdogs and rewards players for winning in a match against their favor
         */ 
-        int eloDifference = Math.abs(player0.getElo() - player1.getElo());
         if (eloDifference > 100) {
-            // Find the player with the lower elo
-            User lowerEloPlayer = player0.getElo() < player1.getElo() ? player0 : player1;
-            if (match.getMatchWinner().equals(lowerEloPlayer.getUsername())) {
+            if (underdogWon) {
                 k += 5.0;
             } else {
                 k -= 5.0;
@@ -135,22 +382,12 @@ public class EloRatingService {
         }
 
         // Change the k-factor based on the round that the players are competing in
-        int totalRounds = tournament.getBracket().getRounds().size();
         /*
          * The reason for choosing 6 is to handle cases where
          * The tournament has too little rounds for the quarter-finals to be a significant achievement
          * Minimal number of rounds for quarteer-finals is 3 hence the tournament need to have at least twice the number of rounds to make reaching the quarter-finals a significant achievement
          */
         if (totalRounds >= 6) {
-            int roundIndex = 0;
-            List<Tournament.Round> rounds = tournament.getBracket().getRounds();
-            for (int i = 0; i < totalRounds; i++) {
-                if (rounds.get(i).getMatches().contains(match.getId())) {
-                    roundIndex = i;
-                    break;
-                }
-            }
-
             // The later stage into the tournament, the higher the k-factor
             int quarterFinalIndex = totalRounds - 3;
             if (roundIndex == quarterFinalIndex) {
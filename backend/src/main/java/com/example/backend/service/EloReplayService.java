@@ -0,0 +1,233 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.model.EloHistory;
+import com.example.backend.model.Match;
+import com.example.backend.model.Tournament;
+import com.example.backend.model.User;
+import com.example.backend.repository.MatchRepository;
+import com.example.backend.repository.TournamentRepository;
+import com.example.backend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes every player's Elo rating by replaying the whole history of rated matches from the base rating,
+ * so that a change to the k-factor rules can be applied to the ratings already given.
+ *
+ * The matches are streamed from a database cursor in the order they were played, and the players are given dense
+ * int ids so that their ratings are kept in plain int arrays; however many matches there are, the replay holds only
+ * the players' ratings, a batch of matches and the brackets of the tournaments played last.
+ * The ratings that changed are written back in bulk, each one only if it was not changed while the replay ran,
+ * and every rating written back is recorded in the rating history under the replay's marker.
+ */
+@Service
+@RequiredArgsConstructor
+public class EloReplayService {
+    private static final Logger logger = LoggerFactory.getLogger(EloReplayService.class);
+
+    // Number of ratings written back in a single bulk write
+    static final int WRITE_BATCH_SIZE = 1000;
+
+    // Number of tournaments whose brackets are kept during a replay; a tournament dropped from them is read again when needed
+    static final int TOURNAMENT_CACHE_SIZE = 256;
+
+    // Prefix of the marker that stands in for the match id of the rating history entries written by a replay
+    public static final String REPLAY_MARKER_PREFIX = "replay:";
+
+    // Marks a tournament without a bracket, whose matches cannot be rated
+    private static final TournamentRatingContext UNRATEABLE = new TournamentRatingContext(0, 0, Map.of());
+
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final TournamentRepository tournamentRepository;
+    private final LeaderboardVersionService leaderboardVersionService;
+    private final EloHistoryService eloHistoryService;
+
+    /**
+     * Replays every rated match in the order it was played, starting every player from the base rating,
+     * and writes back the ratings that changed.
+     * Completed matches that have not been rated are rated by the replay, and so are not rated again afterwards.
+     * A player whose rating changes while the replay runs keeps that rating, and is counted as skipped.
+     * Every rating that is written back is recorded in the rating history, with the replay's marker in place of a match id.
+     *
+     * @return a map containing the number of matches replayed and skipped, and the number of players updated and skipped.
+     * @throws RuntimeException if an unexpected error occurs during the replay.
+     */
+    public Map<String, Object> replayEloRatings() {
+        try {
+            long startTime = System.currentTimeMillis();
+
+            // Give every player a dense id, keeping the rating they have now to compare the replayed one with
+            Map<String, Integer> idByUsername = new HashMap<>();
+            String[] usernames = new String[1024];
+            int[] currentElo = new int[1024];
+            try (Stream<PlayerEloDto> players = userRepository.streamElos()) {
+                Iterator<PlayerEloDto> iterator = players.iterator();
+                while (iterator.hasNext()) {
+                    PlayerEloDto player = iterator.next();
+                    int id = idByUsername.size();
+                    if (id == usernames.length) {
+                        usernames = Arrays.copyOf(usernames, id * 2);
+                        currentElo = Arrays.copyOf(currentElo, id * 2);
+                    }
+                    idByUsername.put(player.getUsername(), id);
+                    usernames[id] = player.getUsername();
+                    currentElo[id] = player.getElo();
+                }
+            }
+            int playerCount = idByUsername.size();
+            int[] elo = new int[playerCount];
+            Arrays.fill(elo, User.BASE_ELO);
+
+            // Matches completed before they were claimed by their rating are taken as rated, as their changes were applied
+            String replayId = UUID.randomUUID().toString();
+            long claimed = matchRepository.claimUnratedCompleted(replayId);
+            logger.info("Claimed {} unrated completed matches for the Elo replay", claimed);
+
+            Map<String, TournamentRatingContext> tournaments = new LinkedHashMap<>(TOURNAMENT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TournamentRatingContext> eldest) {
+                    return size() > TOURNAMENT_CACHE_SIZE;
+                }
+            };
+
+            int replayedMatches = 0;
+            int skippedMatches = 0;
+            try (Stream<Match> matches = matchRepository.streamRatedInPlayedOrder()) {
+                Iterator<Match> iterator = matches.iterator();
+                while (iterator.hasNext()) {
+                    Match match = iterator.next();
+                    List<String> players = match.getPlayers();
+                    Integer player0 = players == null || players.size() != 2 || players.get(0) == null ? null : idByUsername.get(players.get(0));
+                    Integer player1 = player0 == null || players.get(1) == null ? null : idByUsername.get(players.get(1));
+                    TournamentRatingContext tournament = player1 == null ? UNRATEABLE
+                        : tournaments.computeIfAbsent(match.getTournamentName(), this::loadTournament);
+                    if (tournament == UNRATEABLE) {
+                        skippedMatches++;
+                        continue;
+                    }
+
+                    int player0Elo = elo[player0];
+                    int player1Elo = elo[player1];
+                    boolean player0Won = match.getMatchWinner().equals(players.get(0));
+                    boolean player1Won = match.getMatchWinner().equals(players.get(1));
+                    double kFactor = EloRatingService.calculateKFactor(tournament.playerCount(), tournament.totalRounds(),
+                        tournament.roundOf(match.getId()), Math.abs(player0Elo - player1Elo),
+                        player0Elo < player1Elo ? player0Won : player1Won);
+
+                    elo[player0] = EloRatingService.calculateNewElo(player0Elo, player1Elo, player0Won ? 1.0 : 0.0, kFactor);
+                    elo[player1] = EloRatingService.calculateNewElo(player1Elo, player0Elo, player1Won ? 1.0 : 0.0, kFactor);
+                    replayedMatches++;
+                }
+            }
+
+            // Write back the ratings that changed, a batch at a time
+            String replayMarker = REPLAY_MARKER_PREFIX + replayId;
+            LocalDateTime replayedAt = LocalDateTime.now();
+            int changedPlayers = 0;
+            int updatedPlayers = 0;
+            Map<String, Integer> currentBatch = new HashMap<>();
+            Map<String, Integer> newBatch = new HashMap<>();
+            for (int id = 0; id < playerCount; id++) {
+                if (elo[id] == currentElo[id]) {
+                    continue;
+                }
+                currentBatch.put(usernames[id], currentElo[id]);
+                newBatch.put(usernames[id], elo[id]);
+                changedPlayers++;
+                if (newBatch.size() == WRITE_BATCH_SIZE) {
+                    updatedPlayers += writeBatch(currentBatch, newBatch, replayMarker, replayedAt);
+                    currentBatch.clear();
+                    newBatch.clear();
+                }
+            }
+            if (!newBatch.isEmpty()) {
+                updatedPlayers += writeBatch(currentBatch, newBatch, replayMarker, replayedAt);
+            }
+
+            // The bulk writes go around the save events that move the leaderboards to a new version
+            if (updatedPlayers > 0) {
+                leaderboardVersionService.increment();
+            }
+            logger.info("Replayed {} matches ({} skipped) in {} ms, updating the ratings of {} of {} players whose rating changed",
+                replayedMatches, skippedMatches, System.currentTimeMillis() - startTime, updatedPlayers, changedPlayers);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("matchesReplayed", replayedMatches);
+            response.put("matchesSkipped", skippedMatches);
+            response.put("playersUpdated", updatedPlayers);
+            response.put("playersSkipped", changedPlayers - updatedPlayers);
+            return response;
+        } catch (Exception e) {
+            throw new RuntimeException("An unexpected error occurred while replaying the elo ratings", e);
+        }
+    }
+
+    // Writes back a batch of replayed ratings and records the ones that replaced a rating in the rating history
+    private int writeBatch(Map<String, Integer> currentBatch, Map<String, Integer> newBatch, String replayMarker, LocalDateTime replayedAt) {
+        int updated = userRepository.replaceElos(currentBatch, newBatch);
+
+        // The bulk write only counts the ratings it replaced, so when some were left alone the others are found by reading them back
+        Set<String> updatedUsernames = newBatch.keySet();
+        if (updated < newBatch.size()) {
+            updatedUsernames = userRepository.findEloByUsernameIn(newBatch.keySet()).stream()
+                .filter(player -> player.getElo() == newBatch.get(player.getUsername()))
+                .map(PlayerEloDto::getUsername)
+                .collect(Collectors.toSet());
+        }
+
+        // A replayed rating has no k-factor of its own, as it sums the changes of every match of the player
+        List<EloHistory> history = new ArrayList<>();
+        for (String username : updatedUsernames) {
+            history.add(new EloHistory(username, replayMarker, currentBatch.get(username), newBatch.get(username), 0.0, replayedAt));
+        }
+        if (!history.isEmpty()) {
+            eloHistoryService.record(history);
+        }
+        return updated;
+    }
+
+    // Reads the details of a tournament that the k-factor of its matches depends on
+    private TournamentRatingContext loadTournament(String tournamentName) {
+        Tournament tournament = tournamentName == null ? null : tournamentRepository.findByTournamentName(tournamentName).orElse(null);
+        if (tournament == null || tournament.getBracket() == null || tournament.getBracket().getRounds() == null) {
+            logger.warn("Skipping the matches of tournament {} in the Elo replay, it has no bracket", tournamentName);
+            return UNRATEABLE;
+        }
+
+        List<Tournament.Round> rounds = tournament.getBracket().getRounds();
+        // The round only matters to brackets of at least six rounds
+        Map<String, Integer> roundByMatchId = new HashMap<>();
+        for (int i = 0; rounds.size() >= 6 && i < rounds.size(); i++) {
+            for (String matchId : rounds.get(i).getMatches()) {
+                roundByMatchId.putIfAbsent(matchId, i);
+            }
+        }
+        int playerCount = tournament.getPlayersPool() == null ? 0 : tournament.getPlayersPool().size();
+        return new TournamentRatingContext(playerCount, rounds.size(), roundByMatchId);
+    }
+
+    // The details of a tournament that the k-factor of its matches depends on
+    private record TournamentRatingContext(int playerCount, int totalRounds, Map<String, Integer> roundByMatchId) {
+        private int roundOf(String matchId) {
+            return roundByMatchId.getOrDefault(matchId, 0);
+        }
+    }
+}
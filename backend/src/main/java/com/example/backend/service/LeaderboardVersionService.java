@@ -0,0 +1,53 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Version of the leaderboards, served as their ETag so that clients polling an unchanged leaderboard get a 304.
+ * The version is kept in the database rather than in memory, so that every instance of the application agrees on it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardVersionService {
+
+    static final String COUNTERS_COLLECTION = "counters";
+    static final String LEADERBOARD_COUNTER = "leaderboard";
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardVersionService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Retrieves the current version of the leaderboards.
+     *
+     * @return the current version, or 0 if the leaderboards never changed.
+     */
+    public long currentVersion() {
+        Document counter = mongoTemplate.findById(LEADERBOARD_COUNTER, Document.class, COUNTERS_COLLECTION);
+        if (counter == null || !(counter.get("version") instanceof Number)) {
+            return 0;
+        }
+        return ((Number) counter.get("version")).longValue();
+    }
+
+    /**
+     * Moves the leaderboards to a new version, after a change to the users they are built from.
+     * Failures are logged rather than thrown, so they do not fail the write that triggered them.
+     */
+    public void increment() {
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(LEADERBOARD_COUNTER)),
+                new Update().inc("version", 1), COUNTERS_COLLECTION);
+        } catch (Exception e) {
+            logger.error("Failed to increment the leaderboard version: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write operations on versioned documents, running them again when they lose a race.
+ *
+ * Tournaments and matches carry a version that every write checks and increments, so a save based on a stale read
+ * fails with an OptimisticLockingFailureException instead of overwriting the other write.
+ * The operation is then run again from its read, a bounded number of times, after a short randomised pause.
+ */
+final class OptimisticLockRetry {
+
+    // Number of times an operation is attempted before the conflict is passed on to the caller
+    static final int MAX_ATTEMPTS = 3;
+
+    // Upper bound of the pause before each retry, multiplied by the number of attempts so far
+    private static final long MAX_BACKOFF_MILLIS = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    private OptimisticLockRetry() {
+    }
+
+    /**
+     * Runs an operation, running it again if a concurrent write to the same document made it fail.
+     * The operation must read the documents it changes itself, so that each attempt starts from their latest version.
+     *
+     * @param description what the operation does, for the logs.
+     * @param operation the operation to run.
+     * @return the result of the first attempt that does not conflict.
+     * @throws OptimisticLockingFailureException if every attempt conflicted with a concurrent write.
+     */
+    static <T> T run(String description, Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.warn("{} kept conflicting with concurrent writes, giving up after {} attempts", description, attempt);
+                    throw e;
+                }
+                logger.info("{} conflicted with a concurrent write, retrying", description);
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Runs an operation that returns nothing, running it again if a concurrent write to the same document made it fail.
+     *
+     * @param description what the operation does, for the logs.
+     * @param operation the operation to run.
+     * @throws OptimisticLockingFailureException if every attempt conflicted with a concurrent write.
+     */
+    static void run(String description, Runnable operation) {
+        run(description, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // Spreads out the retries of writers that conflicted with each other, so they do not collide again
+    private static void pause(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(MAX_BACKOFF_MILLIS + 1) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
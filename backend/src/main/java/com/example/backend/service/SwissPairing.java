@@ -0,0 +1,178 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pairs the players of a Swiss-system round.
+ *
+ * Players are ranked by score, then by Elo. Each score group is split in half by that ranking and the top half
+ * plays the bottom half, the first against the first, so that players meet opponents on the same score and of
+ * comparable strength. A player who cannot be paired within their group without a rematch floats down to the next
+ * group. Rematches are only accepted when no pairing of the remaining players avoids them, after trying to swap
+ * opponents with the pairs already made.
+ *
+ * Pairing is close to linear in the number of players, as each player is usually paired with the first opponent tried.
+ */
+final class SwissPairing {
+
+    private SwissPairing() {
+    }
+
+    /**
+     * The pairings of a round: the pairs of players, from the top of the standings down,
+     * and the player who sits the round out when the number of players is odd.
+     */
+    record Result(List<List<String>> pairs, String bye) {
+    }
+
+    /**
+     * Pairs the players for the next round.
+     *
+     * @param players the players to pair.
+     * @param eloByUsername the Elo rating of each player.
+     * @param scores the score of each player so far; players without one have no points.
+     * @param opponents the players each player already played; players without an entry played no one.
+     * @param byes the players who already sat a round out.
+     * @return the pairs for the round, and the player with a bye if the number of players is odd.
+     */
+    static Result pair(List<String> players, Map<String, Integer> eloByUsername, Map<String, Integer> scores,
+                       Map<String, Set<String>> opponents, Set<String> byes) {
+        Comparator<String> standings = Comparator
+            .comparingInt((String username) -> scores.getOrDefault(username, 0)).reversed()
+            .thenComparing(Comparator.comparingInt((String username) -> eloByUsername.getOrDefault(username, 0)).reversed())
+            .thenComparing(Comparator.naturalOrder());
+        List<String> ranked = new ArrayList<>(players);
+        ranked.sort(standings);
+
+        // The lowest ranked player who has not had a bye yet sits the round out
+        String bye = null;
+        if (ranked.size() % 2 == 1) {
+            bye = ranked.get(ranked.size() - 1);
+            for (int i = ranked.size() - 1; i >= 0; i--) {
+                if (!byes.contains(ranked.get(i))) {
+                    bye = ranked.get(i);
+                    break;
+                }
+            }
+            ranked.remove(bye);
+        }
+
+        List<List<String>> pairs = new ArrayList<>();
+        List<String> floaters = new ArrayList<>();
+        int groupStart = 0;
+        while (groupStart < ranked.size()) {
+            int score = scores.getOrDefault(ranked.get(groupStart), 0);
+            int groupEnd = groupStart;
+            while (groupEnd < ranked.size() && scores.getOrDefault(ranked.get(groupEnd), 0) == score) {
+                groupEnd++;
+            }
+
+            // Players floating down from the group above rank ahead of the players of this group
+            List<String> group = new ArrayList<>(floaters);
+            group.addAll(ranked.subList(groupStart, groupEnd));
+            floaters = pairGroup(group, opponents, pairs);
+            groupStart = groupEnd;
+        }
+        pairRemaining(floaters, opponents, pairs);
+
+        return new Result(pairs, bye);
+    }
+
+    /**
+     * Pairs the top half of a score group with its bottom half, avoiding rematches.
+     *
+     * @return the players left unpaired, in ranking order, who float down to the next group.
+     */
+    private static List<String> pairGroup(List<String> group, Map<String, Set<String>> opponents, List<List<String>> pairs) {
+        int half = group.size() / 2;
+        List<String> top = group.subList(0, half);
+        List<String> bottom = group.subList(half, group.size());
+        boolean[] paired = new boolean[bottom.size()];
+        List<String> unpaired = new ArrayList<>();
+
+        for (int i = 0; i < top.size(); i++) {
+            String player = top.get(i);
+            int opponent = -1;
+            // Start from the player's counterpart in the bottom half and take the first one they have not played
+            for (int offset = 0; offset < bottom.size() && opponent < 0; offset++) {
+                int candidate = (i + offset) % bottom.size();
+                if (!paired[candidate] && !havePlayed(player, bottom.get(candidate), opponents)) {
+                    opponent = candidate;
+                }
+            }
+
+            if (opponent < 0) {
+                unpaired.add(player);
+            } else {
+                paired[opponent] = true;
+                pairs.add(List.of(player, bottom.get(opponent)));
+            }
+        }
+        for (int i = 0; i < bottom.size(); i++) {
+            if (!paired[i]) {
+                unpaired.add(bottom.get(i));
+            }
+        }
+        return unpaired;
+    }
+
+    /**
+     * Pairs the players left at the bottom of the standings, in ranking order.
+     * When a player has played everyone left, a swap with an earlier pair is tried before accepting a rematch.
+     */
+    private static void pairRemaining(List<String> remaining, Map<String, Set<String>> opponents, List<List<String>> pairs) {
+        List<String> players = new ArrayList<>(remaining);
+        while (players.size() >= 2) {
+            String player = players.remove(0);
+            int opponent = -1;
+            for (int i = 0; i < players.size() && opponent < 0; i++) {
+                if (!havePlayed(player, players.get(i), opponents)) {
+                    opponent = i;
+                }
+            }
+
+            if (opponent >= 0) {
+                pairs.add(List.of(player, players.remove(opponent)));
+            } else {
+                String other = players.remove(0);
+                if (!swapIntoEarlierPair(player, other, opponents, pairs)) {
+                    pairs.add(List.of(player, other));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tries to break up a rematch between two players by exchanging opponents with one of the pairs already made,
+     * starting from the lowest ranked pair.
+     *
+     * @return true if a swap was found and the pairs were updated, false if the rematch cannot be avoided this way.
+     */
+    private static boolean swapIntoEarlierPair(String first, String second, Map<String, Set<String>> opponents,
+                                               List<List<String>> pairs) {
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            String pairFirst = pairs.get(i).get(0);
+            String pairSecond = pairs.get(i).get(1);
+            if (!havePlayed(first, pairFirst, opponents) && !havePlayed(second, pairSecond, opponents)) {
+                pairs.set(i, List.of(pairFirst, first));
+                pairs.add(List.of(pairSecond, second));
+                return true;
+            }
+            if (!havePlayed(first, pairSecond, opponents) && !havePlayed(second, pairFirst, opponents)) {
+                pairs.set(i, List.of(pairFirst, second));
+                pairs.add(List.of(first, pairSecond));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean havePlayed(String player, String opponent, Map<String, Set<String>> opponents) {
+        return opponents.getOrDefault(player, Collections.emptySet()).contains(opponent);
+    }
+}
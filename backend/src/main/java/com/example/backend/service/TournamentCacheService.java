@@ -0,0 +1,78 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Tournament;
+import com.example.backend.repository.TournamentRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * In-memory cache of tournaments keyed by tournament name, for the read paths that look tournaments up by name.
+ * The size limit, time to live and statistics of the cache are configured through the spring.cache properties.
+ *
+ * The cached tournaments are shared between requests, so they must not be modified.
+ * Code that updates a tournament reads it from the repository instead and evicts it from this cache once it is written.
+ */
+@Service
+@RequiredArgsConstructor
+public class TournamentCacheService {
+
+    public static final String TOURNAMENTS_BY_NAME = "tournamentsByName";
+
+    private static final Logger logger = LoggerFactory.getLogger(TournamentCacheService.class);
+
+    private final TournamentRepository tournamentRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Retrieves a tournament by its name, from the cache if it is there and from the database otherwise.
+     * Names that have no tournament are not cached, so a tournament created under that name is found right away.
+     *
+     * @param tournamentName the name of the tournament to retrieve.
+     * @return the tournament with the given name, or an empty Optional if there is none.
+     */
+    public Optional<Tournament> findByName(String tournamentName) {
+        Cache cache = cacheManager.getCache(TOURNAMENTS_BY_NAME);
+        if (cache == null || tournamentName == null) {
+            return tournamentRepository.findByTournamentName(tournamentName);
+        }
+
+        Tournament cached = cache.get(tournamentName, Tournament.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Tournament> tournament = tournamentRepository.findByTournamentName(tournamentName);
+        tournament.ifPresent(found -> cache.put(tournamentName, found));
+        return tournament;
+    }
+
+    /**
+     * Removes a tournament from the cache. Called after every write to the tournament.
+     *
+     * @param tournamentName the name of the tournament that was written.
+     */
+    public void evict(String tournamentName) {
+        Cache cache = cacheManager.getCache(TOURNAMENTS_BY_NAME);
+        if (cache != null && tournamentName != null) {
+            cache.evict(tournamentName);
+        }
+    }
+
+    /**
+     * Removes every tournament from the cache. Called after bulk updates that may touch any tournament.
+     */
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(TOURNAMENTS_BY_NAME);
+        if (cache != null) {
+            cache.clear();
+            logger.debug("Cleared the tournament cache");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.TournamentSummaryDto;
+import com.example.backend.dto.UserSummaryDto;
 import com.example.backend.model.*;
 import com.example.backend.repository.*;
+import com.example.backend.responses.CursorPage;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -10,6 +13,7 @@ import com.example.backend.exception.*;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
@@ -19,6 +23,7 @@ import org.springframework.data.util.Pair;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,9 +39,25 @@ public class TournamentService {
     private final UserRepository userRepository;
     private final MatchRepository matchRepository;
     private final LocalValidatorFactoryBean validator;
+    private final TournamentCacheService tournamentCacheService;
 
     private static final Logger logger = LoggerFactory.getLogger(TournamentService.class);
 
+    // Statuses of tournaments that have not ended yet
+    private static final List<Tournament.Status> NOT_ENDED_STATUSES = List.of(
+        Tournament.Status.SIGNUP_OPEN, Tournament.Status.SIGNUP_CLOSED, Tournament.Status.IN_PROGRESS
+    );
+
+    // Largest page of available users that can be requested at once
+    public static final int MAX_AVAILABLE_USERS_PAGE_SIZE = 100;
+
+    // Number of times adding players is attempted when the players pool keeps changing underneath it
+    private static final int MAX_ADD_PLAYERS_ATTEMPTS = 3;
+
+    // Number of tournaments in a page of a listing when no size is requested, and the most that can be requested
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
     /**
      * Retrieves all tournaments from the database.
      *
@@ -56,12 +77,22 @@ public class TournamentService {
 
     /**
      * Retrieves a tournament by its name.
+     * The tournament may come from the tournament cache and is shared with other readers, so it must not be modified.
      *
      * @param tournamentName the name of the tournament to retrieve.
      * @return the tournament object associated with the specified tournament name.
      * @throws TournamentNotFoundException if no tournament with the specified name is found in the database.
      */
     public Tournament getTournamentByName(String tournamentName) throws TournamentNotFoundException {
+        return tournamentCacheService.findByName(tournamentName)
+            .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+    }
+
+    /*
+     * Retrieves a tournament by its name from the database, bypassing the tournament cache,
+     * for the methods that modify the tournament and save it back.
+     */
+    private Tournament getTournamentForUpdate(String tournamentName) throws TournamentNotFoundException {
         return tournamentRepository.findByTournamentName(tournamentName)
             .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
     }
@@ -111,6 +142,8 @@ public class TournamentService {
             if (startDate != null) {
                 tournament.setStartDate(startDate);
             }
+            tournament.setEndDate(null);
+            tournament.refreshStatus(Tournament.today());
 
             // Validate the tournament object
             Errors validationErrors = new BeanPropertyBindingResult(tournament, "tournament");
@@ -132,6 +165,7 @@ public class TournamentService {
              
 
             Tournament savedTournament = tournamentRepository.save(tournament);
+            tournamentCacheService.evict(savedTournament.getTournamentName());
             logger.info("Tournament created successfully: {}", savedTournament.getTournamentName());
 
             return Pair.of(Optional.of(savedTournament), errors);
@@ -150,20 +184,8 @@ public class TournamentService {
      * @throws RuntimeException if there's an error during the database operation or any unexpected errors during the process.
      */
     public List<Tournament> getCurrentAndFutureTournaments() {
-        
-        List<Tournament> currentAndFutureTournaments = tournamentRepository.findAll().stream()
-            .filter(t -> t.getEndDate() == null)
-            .sorted(Comparator.comparing(Tournament::getStartDate))
-            .collect(Collectors.toList());
-
+        List<Tournament> currentAndFutureTournaments = tournamentRepository.findByStatusInOrderByStartDateAsc(NOT_ENDED_STATUSES);
         logger.info("Found {} current and future tournaments", currentAndFutureTournaments.size());
-
-        // Log details of each current and future tournament
-        for (Tournament t : currentAndFutureTournaments) {
-            logger.info("Tournament: {}, Start Date: {}, End Date: {}", 
-                        t.getTournamentName(), t.getStartDate(), t.getEndDate());
-        }
-
         return currentAndFutureTournaments;
     }
 
@@ -177,13 +199,7 @@ public class TournamentService {
     public List<Tournament> getCurrentTournaments() throws RuntimeException {
         try {
             logger.info("Attempting to fetch all current tournaments!");
-            LocalDate currentDate = LocalDate.now();
-            List<Tournament> allTournaments = getAllTournaments();
-
-            List<Tournament> currentTournaments = allTournaments.stream()
-                .filter(t -> t.getEndDate() == null &&
-                            (t.getStartDate().isBefore(currentDate) || t.getStartDate().isEqual(currentDate)))
-                .collect(Collectors.toList());
+            List<Tournament> currentTournaments = tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS);
 
             if (currentTournaments.isEmpty()) {
                 logger.info("No current tournaments found");
@@ -208,12 +224,8 @@ public class TournamentService {
     public List<Tournament> getUserUpcomingTournaments(String username) throws RuntimeException {
         try {
             logger.info("Starting getUserUpcomingTournaments for user: {}", username);
-            List<Tournament> currentAndFutureTournaments = this.getCurrentAndFutureTournaments();
-            logger.info("Retrieved {} current and future tournaments", currentAndFutureTournaments.size());
-
-            List<Tournament> userUpcomingTournaments = currentAndFutureTournaments.stream()
-                .filter(tournament -> tournament.getPlayersPool().contains(username))
-                .collect(Collectors.toList());
+            List<Tournament> userUpcomingTournaments = tournamentRepository
+                .findByPlayersPoolContainingAndStatusInOrderByStartDateAsc(username, NOT_ENDED_STATUSES);
 
             if (userUpcomingTournaments.isEmpty()) {
                 logger.info("No upcoming tournaments found for user: {}", username);
@@ -236,12 +248,7 @@ public class TournamentService {
      * @throws RuntimeException if there's an error during the database operation or any unexpected errors during the process.
      */
     public List<Tournament> getAllHistory() {
-        List<Tournament> allTournaments = tournamentRepository.findAll();
-        List<Tournament> pastTournaments = allTournaments.stream()
-            .filter(tournament -> tournament.getEndDate() != null)
-            .sorted(Comparator.comparing(Tournament::getEndDate).reversed())
-            .collect(Collectors.toList());
-    
+        List<Tournament> pastTournaments = tournamentRepository.findByStatusOrderByEndDateDesc(Tournament.Status.ENDED);
         logger.info("Retrieved {} past tournaments.", pastTournaments.size());
         return pastTournaments;
     }
@@ -256,10 +263,8 @@ public class TournamentService {
      */
     public List<Tournament> getUserHistory(String username) {
         try {
-            List<Tournament> allTournamentsHistory = getAllHistory();
-            List<Tournament> userTournamentsHistory = allTournamentsHistory.stream()
-                .filter(t -> t.getPlayersPool().contains(username))
-                .collect(Collectors.toList());
+            List<Tournament> userTournamentsHistory = tournamentRepository
+                .findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
 
             if (userTournamentsHistory.isEmpty()) {
                 logger.info("No tournament history found for user: {}", username);
@@ -288,12 +293,12 @@ public class TournamentService {
             User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
 
-            List<Tournament> allTournaments = getAllTournaments();
-            LocalDate currentDate = LocalDate.now();
-
-            List<Tournament> userAvailableTournaments = allTournaments.stream()
-                .filter(tournament -> isUserEligibleForTournament(user, tournament, currentDate, true))
-                .sorted(Comparator.comparing(Tournament::getStartDate))
+            // Every rule that depends only on the tournament is evaluated by the query,
+            // leaving only the strike checks, which depend on the user's own reports
+            List<Tournament> userAvailableTournaments = tournamentRepository.findAvailableForPlayer(
+                    user.getUsername(), user.getElo(), user.getGender(), user.getAge(), Tournament.today())
+                .stream()
+                .filter(tournament -> isUserNotStriked(user, tournament.getCreatedBy()))
                 .collect(Collectors.toList());
 
             logger.info("Found {} available tournaments for user: {}", userAvailableTournaments.size(), username);
@@ -312,18 +317,27 @@ public class TournamentService {
 
 
     /**
-     * Retrieves all users that are eligible to participate in a specific tournament.
+     * Retrieves one page of the users that are eligible to participate in a specific tournament.
+     * The user eligibility rules are evaluated by the database, so only the eligible users are read.
      *
      * @param tournamentName the name of the tournament to retrieve users for.
      * @param adminName the name of the admin who created the tournament.
-     * @return a List of users that are eligible to participate in the tournament.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of users to return, up to MAX_AVAILABLE_USERS_PAGE_SIZE.
+     * @return a CursorPage of summaries of the users that are eligible to participate in the tournament and the cursor of the next page.
      * @throws TournamentNotFoundException if no tournament with the given name is found.
+     * @throws IllegalArgumentException if the admin did not create the tournament, the tournament has ended or the cursor or size is invalid.
      */
-    public List<User> getAvailableUsersForTournament(String tournamentName, String adminName) 
+    public CursorPage<UserSummaryDto> getAvailableUsersForTournament(String tournamentName, String adminName, String cursor, int size) 
             throws TournamentNotFoundException, IllegalArgumentException {
         logger.info("Getting available users for tournament: {} created by admin: {}", tournamentName, adminName);
+
+        if (size < 1 || size > MAX_AVAILABLE_USERS_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_AVAILABLE_USERS_PAGE_SIZE);
+        }
+        UserCursor after = UserCursor.decode(cursor);
         
-        Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+        Tournament tournament = tournamentCacheService.findByName(tournamentName)
             .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
 
         if (!tournament.getCreatedBy().equals(adminName)) {
@@ -335,36 +349,22 @@ public class TournamentService {
             throw new IllegalArgumentException("Cannot get available users for a tournament that has already ended");
         }
 
-        List<User> allUsers = userRepository.findAll();
-        LocalDate currentDate = LocalDate.now();
-
-        return allUsers.stream()
-            .filter(user -> isUserEligibleForTournament(user, tournament, currentDate, false) && user.isEnabled() && user.isAvailable())
-            .collect(Collectors.toList());
-    }
-
-
-    /*
-     * Helper method used by getAvailableUsersForTournament and getUserAvailableTournaments
-     * to check if a user is eligible to participate in a tournament.
-     * Based on the criteria in the tournament's signup and tournament details.
-     */
+        // No user can be added once the tournament has started, is full or has its bracket generated
+        LocalDate currentDate = Tournament.today();
+        if (!isTournamentUpcoming(tournament, currentDate) || !isTournamentNotFull(tournament) || isBracketGenerated(tournament)) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
 
-    private boolean isUserEligibleForTournament(User user, Tournament tournament, LocalDate currentDate, boolean isUserSignup) {
-        return (isUserSignup ? isSignupOpen(tournament, currentDate) : isTournamentUpcoming(tournament, currentDate)) &&
-               isTournamentNotFull(tournament) &&
-               isUserNotAlreadyInTournament(user, tournament) &&
-               isUserEloInRange(user, tournament) &&
-               isUserGenderMatching(user, tournament) &&
-               isUserNotStriked(user, tournament) &&
-               isUserAgeEligible(user, tournament) &&
-               !isBracketGenerated(tournament);
+        // One more user than the page holds is read to tell whether there is a next page
+        List<UserSummaryDto> users = userRepository.findAvailableForTournament(tournament, LocalDateTime.now().minusMonths(1), after, size + 1);
+        if (users.size() <= size) {
+            return new CursorPage<>(users, null);
+        }
+        List<UserSummaryDto> items = new ArrayList<>(users.subList(0, size));
+        UserSummaryDto last = items.get(size - 1);
+        return new CursorPage<>(items, new UserCursor(last.getElo(), last.getUsername()).encode());
     }
 
-    // Checks if the signup is open for the tournament
-    private boolean isSignupOpen(Tournament tournament, LocalDate currentDate) {
-        return currentDate.isBefore(tournament.getClosingSignupDate());
-    }
 
     // Checks if the tournament is upcoming
     private boolean isTournamentUpcoming(Tournament tournament, LocalDate currentDate) {
@@ -376,28 +376,13 @@ public class TournamentService {
         return tournament.getPlayersPool().size() < tournament.getPlayerCapacity();
     }
 
-    // Checks if the user is not already in the tournament
-    private boolean isUserNotAlreadyInTournament(User user, Tournament tournament) {
-        return !tournament.getPlayersPool().contains(user.getUsername());
-    }
-
-    // Checks if the user's elo is in the tournament's range
-    private boolean isUserEloInRange(User user, Tournament tournament) {
-        return user.getElo() >= tournament.getMinElo() && user.getElo() <= tournament.getMaxElo();
-    }
-
-    // Checks if the user's gender matches the tournament's gender requirement
-    private boolean isUserGenderMatching(User user, Tournament tournament) {
-        return tournament.getGender().equalsIgnoreCase(user.getGender());
-    }
-
-    // Checks if the user has been striked by the tournament admin
-    private boolean isUserNotStriked(User user, Tournament tournament) {
+    // Checks if the user has been striked by the admin who created the tournament
+    private boolean isUserNotStriked(User user, String adminName) {
         List<User.StrikeReport> strikeReports = user.getStrikeReports();
         LocalDateTime oneMonthAgo = LocalDateTime.now().minusMonths(1);
 
         long recentStrikeCount = strikeReports.stream()
-            .filter(strike -> strike.getIssuedBy() != null &&strike.getIssuedBy().equals(tournament.getCreatedBy()))
+            .filter(strike -> strike.getIssuedBy() != null &&strike.getIssuedBy().equals(adminName))
             .filter(strike -> strike.getDateCreated().isAfter(oneMonthAgo))
             .count();
 
@@ -413,22 +398,16 @@ public class TournamentService {
         return true;
     }
 
-    // Checks if the user's age matches the tournament category 
-    private boolean isUserAgeEligible(User user, Tournament tournament) {
-        int userAge = user.getAge();
-        switch (tournament.getCategory()) {
-            case "U16":
-                return userAge <= 16;
-            case "U21":
-                return userAge <= 21;
-            case "Open":
-                return true;
-            default:
-                logger.warn("Unknown tournament category: {}", tournament.getCategory());
-                return false;
-        }
+    // Returns the admins who have striked the user within the last month, whose tournaments the user cannot join
+    private Set<String> recentlyStrikingAdmins(User user) {
+        LocalDateTime oneMonthAgo = LocalDateTime.now().minusMonths(1);
+
+        return user.getStrikeReports().stream()
+            .filter(strike -> strike.getIssuedBy() != null && strike.getDateCreated().isAfter(oneMonthAgo))
+            .map(User.StrikeReport::getIssuedBy)
+            .collect(Collectors.toSet());
     }
-    
+
     // Checks if there is any brackets already generated for the tournament
     private boolean isBracketGenerated(Tournament tournament) {
         return tournament.getBracket() != null; // Returns true if the bracket is already generated
@@ -446,25 +425,28 @@ public class TournamentService {
     public void joinTournament(String username, String tournamentName) 
         throws TournamentNotFoundException, InvalidJoinException {
         try {
-            List<Tournament> availableTournaments = getUserAvailableTournaments(username);
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
 
-            if (availableTournaments.isEmpty()) {
-                logger.info("No available tournaments found for user: {}", username);
-                throw new InvalidJoinException("No available tournaments found for the user: " + username);
+            if (user.getStrikeReports().size() >= 3) {
+                logger.info("User '{}' has too many strikes to join tournament '{}'", username, tournamentName);
+                throw new InvalidJoinException("Tournament is not available for joining");
             }
 
-            Tournament tournamentToJoin = availableTournaments.stream()
-                .filter(t -> t.getTournamentName().equals(tournamentName))
-                .findFirst()
-                .orElse(null);
+            // Eligibility, capacity and the signup window are checked by the update itself,
+            // so concurrent joins cannot overfill the tournament or lose each other's additions
+            Tournament joinedTournament = tournamentRepository.addPlayerIfAvailable(
+                tournamentName, username, user.getElo(), user.getGender(), user.getAge(),
+                recentlyStrikingAdmins(user), Tournament.today());
 
-            if (tournamentToJoin == null) {
+            if (joinedTournament == null) {
+                if (!tournamentRepository.existsByTournamentName(tournamentName)) {
+                    throw new TournamentNotFoundException(tournamentName);
+                }
                 logger.info("Tournament '{}' is not available for user: {}", tournamentName, username);
                 throw new InvalidJoinException("Tournament is not available for joining");
             }
-
-            tournamentToJoin.getPlayersPool().add(username);
-            tournamentRepository.save(tournamentToJoin);
+            tournamentCacheService.evict(tournamentName);
 
             logger.info("User '{}' successfully joined tournament '{}'", username, tournamentName);
         } catch (TournamentNotFoundException | InvalidJoinException e) {
@@ -486,11 +468,7 @@ public class TournamentService {
     public List<Tournament> getAdminUpcomingTournaments(String adminName) {
         try {
             logger.info("Fetching upcoming tournaments created by admin: {}", adminName);
-            List<Tournament> currentAndFutureTournaments = getCurrentAndFutureTournaments();
-            
-            List<Tournament> adminUpcomingTournaments = currentAndFutureTournaments.stream()
-                .filter(t -> t.getCreatedBy().equals(adminName))
-                .collect(Collectors.toList());
+            List<Tournament> adminUpcomingTournaments = tournamentRepository.findByCreatedByAndStatusInOrderByStartDateAsc(adminName, NOT_ENDED_STATUSES);
 
             logger.info("Found {} upcoming tournaments created by admin: {}", adminUpcomingTournaments.size(), adminName);
             return adminUpcomingTournaments;
@@ -509,11 +487,7 @@ public class TournamentService {
      */
     public List<Tournament> getAdminHistory(String adminName) {
         try {
-            List<Tournament> allHistory = getAllHistory();
-            
-            List<Tournament> adminTournamentHistory = allHistory.stream()
-                .filter(t -> t.getCreatedBy().equals(adminName))
-                .collect(Collectors.toList());
+            List<Tournament> adminTournamentHistory = tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED);
 
             logger.info("Found {} past tournaments for admin: {}", adminTournamentHistory.size(), adminName);
             return adminTournamentHistory;
@@ -526,6 +500,173 @@ public class TournamentService {
         }
     }
 
+    /**
+     * Retrieves one page of all tournaments, ordered by start date.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getAllTournaments(String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findPageOrderByStartDate(null, null, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+    }
+
+    /**
+     * Retrieves one page of the tournaments that have not ended, ordered by start date.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of current and future tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getCurrentAndFutureTournaments(String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findPageOrderByStartDate(NOT_ENDED_STATUSES, null, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+    }
+
+    /**
+     * Retrieves one page of the tournaments in progress, ordered by start date.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of current tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getCurrentTournaments(String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findPageOrderByStartDate(
+            List.of(Tournament.Status.IN_PROGRESS), null, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+    }
+
+    /**
+     * Retrieves one page of the tournaments a user has joined that have not ended, ordered by start date.
+     *
+     * @param username the name of the user to retrieve upcoming tournaments for.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of the user's upcoming tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getUserUpcomingTournaments(String username, String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findPageOrderByStartDate(NOT_ENDED_STATUSES, null, username, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+    }
+
+    /**
+     * Retrieves one page of the tournaments that have ended, most recently ended first.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of ended tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getAllHistory(String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findEndedPageOrderByEndDate(null, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getEndDate);
+    }
+
+    /**
+     * Retrieves one page of the ended tournaments a user took part in, most recently ended first.
+     *
+     * @param username the name of the user to retrieve the tournaments history for.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of the user's ended tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getUserHistory(String username, String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findEndedPageOrderByEndDate(null, username, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getEndDate);
+    }
+
+    /**
+     * Retrieves one page of the tournaments a user can sign up for, ordered by start date.
+     * Tournaments the user is striked from are left out after the page is read,
+     * so a page can hold fewer tournaments than requested even when there is a next page.
+     *
+     * @param username the name of the user to retrieve the available tournaments for.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of tournaments the user can sign up for and the cursor of the next page.
+     * @throws UserNotFoundException if the user is not found in the database.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getUserAvailableTournaments(String username, String cursor, int size) throws UserNotFoundException {
+        TournamentCursor after = decodeCursor(cursor, size);
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new UserNotFoundException(username));
+
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findAvailablePageForPlayer(
+            user.getUsername(), user.getElo(), user.getGender(), user.getAge(), Tournament.today(), after, size + 1);
+
+        CursorPage<TournamentSummaryDto> page = toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+        page.getItems().removeIf(tournament -> !isUserNotStriked(user, tournament.getCreatedBy()));
+        return page;
+    }
+
+    /**
+     * Retrieves one page of the tournaments created by an admin that have not ended, ordered by start date.
+     *
+     * @param adminName the name of the admin who created the tournaments.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of the admin's upcoming tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getAdminUpcomingTournaments(String adminName, String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findPageOrderByStartDate(NOT_ENDED_STATUSES, adminName, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getStartDate);
+    }
+
+    /**
+     * Retrieves one page of the ended tournaments created by an admin, most recently ended first.
+     *
+     * @param adminName the name of the admin who created the tournaments.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param size the maximum number of tournaments to return, up to MAX_PAGE_SIZE.
+     * @return a CursorPage of summaries of the admin's ended tournaments and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor or size is invalid.
+     */
+    public CursorPage<TournamentSummaryDto> getAdminHistory(String adminName, String cursor, int size) {
+        TournamentCursor after = decodeCursor(cursor, size);
+        List<TournamentSummaryDto> tournaments = tournamentRepository.findEndedPageOrderByEndDate(adminName, null, after, size + 1);
+        return toPage(tournaments, size, TournamentSummaryDto::getEndDate);
+    }
+
+    // Checks the requested page size and decodes the cursor of the previous page
+    private TournamentCursor decodeCursor(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return TournamentCursor.decode(cursor);
+    }
+
+    /*
+     * Builds a page from tournaments fetched with a limit of one more than the page size.
+     * The extra tournament only shows that there is a next page; it is dropped, and the
+     * next cursor points at the last tournament kept, using the date the listing is sorted on.
+     */
+    private CursorPage<TournamentSummaryDto> toPage(List<TournamentSummaryDto> tournaments, int size,
+                                                    Function<TournamentSummaryDto, LocalDate> sortDate) {
+        if (tournaments.size() <= size) {
+            return new CursorPage<>(new ArrayList<>(tournaments), null);
+        }
+
+        List<TournamentSummaryDto> items = new ArrayList<>(tournaments.subList(0, size));
+        TournamentSummaryDto last = items.get(size - 1);
+        String nextCursor = new TournamentCursor(sortDate.apply(last), last.getId()).encode();
+        return new CursorPage<>(items, nextCursor);
+    }
+
     /**
      * Updates a tournament's details based on the provided tournament name and new details.
      * There are two cases:
@@ -538,9 +679,17 @@ public class TournamentService {
      * @throws TournamentNotFoundException if no tournament with the given name is found.
      * @throws IllegalArgumentException if the new tournament details are invalid.
      * @throws RuntimeException if there is an unexpected error during the update.
+     * @throws OptimisticLockingFailureException if the tournament kept changing while the update was retried.
      */
     public Map<String, Object> updateTournament(@NotNull String tournamentName, @NotNull Tournament newTournamentDetails)
             throws TournamentNotFoundException, IllegalArgumentException, MatchNotFoundException {
+        // A concurrent change to the tournament makes the save fail rather than be overwritten, and the update is retried
+        return OptimisticLockRetry.run("Updating tournament " + tournamentName,
+            () -> applyTournamentUpdate(tournamentName, newTournamentDetails));
+    }
+
+    // Applies the new details to a fresh read of the tournament
+    private Map<String, Object> applyTournamentUpdate(String tournamentName, Tournament newTournamentDetails) {
         Map<String, Object> response = new HashMap<>();
         Map<String, String> errors = new HashMap<>();
 
@@ -612,12 +761,10 @@ public class TournamentService {
 
             Optional.ofNullable(newTournamentDetails.getCreatedBy()).ifPresent(tournament::setCreatedBy);
             Optional.ofNullable(newTournamentDetails.getLocation()).ifPresent(tournament::setLocation);
-            Optional.ofNullable(newTournamentDetails.getTournamentName()).ifPresent(name -> {
-                tournament.setTournamentName(name);
-                updateMatchesTournamentName(tournamentName, name);
-            });
+            Optional.ofNullable(newTournamentDetails.getTournamentName()).ifPresent(tournament::setTournamentName);
             tournament.setUpdatedAt(LocalDateTime.now());
             Optional.ofNullable(newTournamentDetails.getStartDate()).ifPresent(tournament::setStartDate);
+            tournament.refreshStatus(Tournament.today());
             Optional.ofNullable(newTournamentDetails.getRemarks()).ifPresent(tournament::setRemarks);
             Optional.ofNullable(newTournamentDetails.getPlayerCapacity()).ifPresent(tournament::setPlayerCapacity);
 
@@ -630,6 +777,12 @@ public class TournamentService {
             }
 
             response.put("tournament", tournamentRepository.save(tournament));
+            tournamentCacheService.evict(tournamentName);
+
+            // The matches are renamed once the tournament is saved, so that an update retried after a conflict leaves them alone
+            if (newTournamentDetails.getTournamentName() != null) {
+                updateMatchesTournamentName(tournamentName, newTournamentDetails.getTournamentName());
+            }
         } catch (Exception e) {
             response.put("error", "An unexpected error occurred during tournament update");
             throw e;
@@ -686,6 +839,7 @@ public class TournamentService {
 
         // Delete the tournament
         tournamentRepository.delete(tournament);
+        tournamentCacheService.evict(tournamentName);
 
         logger.info("Tournament and related matches deleted successfully: {}", tournamentName);
     }
@@ -695,6 +849,8 @@ public class TournamentService {
 
     /**
      * Updates the players pool for a tournament.
+     * All the players are looked up in one query and added in one atomic update. If the players pool changes
+     * between being read and being updated, the players are selected again against the new pool.
      *
      * @param tournamentName the name of the tournament to update.
      * @param players a List of player names to add to the tournament.
@@ -702,79 +858,94 @@ public class TournamentService {
      */
     public Map<String, Object> updatePlayersPool(String tournamentName, List<String> players) {
         Tournament tournament;
-        List<String> addedPlayers = new ArrayList<>();
-        List<String> skippedPlayers = new ArrayList<>();
+        Map<String, User> usersByUsername;
         Map<String, Object> result = new HashMap<>();
 
         try {
-            tournament = getTournamentByName(tournamentName);
+            tournament = getTournamentForUpdate(tournamentName);
         } catch (TournamentNotFoundException | IllegalArgumentException e) {
             logger.error("Error accessing tournament: {}", e.getMessage());
             result.put("error", e.getMessage());
             return result;
         }
 
-        for (String username : players) {
-            processPlayer(username, tournament, addedPlayers, skippedPlayers);
-        }
-
         try {
-            if (!addedPlayers.isEmpty()) {
-                tournamentRepository.save(tournament);
-                result.put("message", "Players pool updated successfully");
-            } else {
-                result.put("message", "No changes made to the players pool");
-            }
-            
-            result.put("addedPlayers", addedPlayers);
-            result.put("skippedPlayers", skippedPlayers);
-            
-            return result;
+            usersByUsername = userRepository.findByUsernameIn(new HashSet<>(players)).stream()
+                .collect(Collectors.toMap(User::getUsername, user -> user));
         } catch (Exception e) {
-            logger.error("Error saving tournament: {}", e.getMessage());
-            result.put("error", "Failed to save tournament after updating players pool");
+            logger.error("Error looking up players: {}", e.getMessage());
+            result.put("error", "Failed to look up the players to add");
             return result;
         }
+
+        for (int attempt = 1; ; attempt++) {
+            List<String> addedPlayers = new ArrayList<>();
+            List<String> skippedPlayers = new ArrayList<>();
+            selectPlayersToAdd(players, usersByUsername, tournament, addedPlayers, skippedPlayers);
+
+            try {
+                if (addedPlayers.isEmpty()) {
+                    result.put("message", "No changes made to the players pool");
+                } else if (tournamentRepository.addPlayersWithinCapacity(tournamentName, addedPlayers)) {
+                    tournamentCacheService.evict(tournamentName);
+                    logger.info("Added players {} to tournament {}", addedPlayers, tournamentName);
+                    result.put("message", "Players pool updated successfully");
+                } else if (attempt < MAX_ADD_PLAYERS_ATTEMPTS) {
+                    // The players pool changed since it was read, so select the players again against the new pool
+                    logger.info("Players pool of tournament {} changed while adding players, retrying", tournamentName);
+                    tournament = getTournamentForUpdate(tournamentName);
+                    continue;
+                } else {
+                    result.put("error", "The players pool changed while adding players, please try again");
+                    return result;
+                }
+
+                result.put("addedPlayers", addedPlayers);
+                result.put("skippedPlayers", skippedPlayers);
+                
+                return result;
+            } catch (Exception e) {
+                logger.error("Error saving tournament: {}", e.getMessage());
+                result.put("error", "Failed to save tournament after updating players pool");
+                return result;
+            }
+        }
     }
 
     /**
-     * Processes a player to add them to the tournament if they are eligible.
+     * Selects the players to add to the tournament in a single pass, in the order they were requested.
+     * Players are added while they are eligible and the tournament has room for them.
      *
-     * @param username the name of the player to process.
-     * @param tournament the tournament to add the player to.
-     * @param addedPlayers a List to store the names of players added to the tournament.
+     * @param players the names of the players to add.
+     * @param usersByUsername the users found for the requested players, keyed by username.
+     * @param tournament the tournament to add the players to.
+     * @param addedPlayers a List to store the names of players to add to the tournament.
      * @param skippedPlayers a List to store the names of players not added to the tournament.
      */
-    private void processPlayer(String username, Tournament tournament, List<String> addedPlayers, List<String> skippedPlayers) {
-        try {
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username));
+    private void selectPlayersToAdd(List<String> players, Map<String, User> usersByUsername, Tournament tournament,
+                                    List<String> addedPlayers, List<String> skippedPlayers) {
+        Set<String> playersPool = tournament.getPlayersPool() == null
+            ? new HashSet<>()
+            : new HashSet<>(tournament.getPlayersPool());
+        int remainingCapacity = tournament.getPlayerCapacity() - playersPool.size();
 
-            if (isEligibleForTournament(user, tournament)) {
-                List<String> playersPool = tournament.getPlayersPool();
-                if (playersPool == null) {
-                    playersPool = new ArrayList<>();
-                    tournament.setPlayersPool(playersPool);
-                }
-                
-                if (!playersPool.contains(username)) {
-                    playersPool.add(username);
-                    addedPlayers.add(username);
-                    logger.info("Added player {} to tournament {}", username, tournament.getTournamentName());
-                } else {
-                    logger.info("Player {} is already in the tournament {}", username, tournament.getTournamentName());
-                    skippedPlayers.add(username + " (already in tournament)");
-                }
-            } else {
+        for (String username : players) {
+            User user = usersByUsername.get(username);
+
+            if (user == null) {
+                logger.info("Skipped player {}: User not found", username);
+                skippedPlayers.add(username + " (user not found)");
+            } else if (playersPool.contains(username)) {
+                logger.info("Player {} is already in the tournament {}", username, tournament.getTournamentName());
+                skippedPlayers.add(username + " (already in tournament)");
+            } else if (remainingCapacity <= 0 || !isEligibleForTournament(user, tournament)) {
                 logger.info("Player {} is not eligible for the tournament {}", username, tournament.getTournamentName());
                 skippedPlayers.add(username + " (not eligible)");
+            } else {
+                playersPool.add(username);
+                addedPlayers.add(username);
+                remainingCapacity--;
             }
-        } catch (UserNotFoundException e) {
-            logger.info("Skipped player {}: User not found", username);
-            skippedPlayers.add(username + " (user not found)");
-        } catch (Exception e) {
-            logger.error("Unexpected error processing player {}: {}", username, e.getMessage());
-            skippedPlayers.add(username + " (unexpected error)");
         }
     }
 
@@ -786,11 +957,6 @@ public class TournamentService {
      * @return true if the user is eligible, false otherwise.
      */
     private boolean isEligibleForTournament(User user, Tournament tournament) {
-        // Check if the tournament is full
-        if (tournament.getPlayersPool().size() >= tournament.getPlayerCapacity()) {
-            return false;
-        }
-
         // Check if the user's ELO is within the tournament's range
         if (user.getElo() < tournament.getMinElo() || user.getElo() > tournament.getMaxElo()) {
             return false;
@@ -840,25 +1006,9 @@ public class TournamentService {
      */
     public Tournament removePlayerFromTournament(String tournamentName, String username) {
         try {
-            Tournament tournament = getTournamentByName(tournamentName);
-
-            if (tournament.getClosingSignupDate() != null && tournament.getClosingSignupDate().isBefore(LocalDate.now())) {
-                throw new IllegalArgumentException("Closing sign up date has passed!");
-            }
-
-            List<String> playersPool = tournament.getPlayersPool() == null ? new ArrayList<>() : tournament.getPlayersPool();
-
-            // Check if the user is in the tournament
-            if (!userRepository.existsByUsername(username)) {
-                throw new UserNotFoundException(username);
-            }
-            if (!playersPool.contains(username)) {
-                throw new IllegalArgumentException("User is not in the tournament!");
-            }
-
-            playersPool.remove(username);
-            tournament.setPlayersPool(playersPool);
-            return tournamentRepository.save(tournament);
+            // A concurrent change to the players pool makes the save fail rather than be overwritten, and the removal is retried
+            return OptimisticLockRetry.run("Removing " + username + " from tournament " + tournamentName,
+                () -> removeFromPlayersPool(tournamentName, username));
         } catch (TournamentNotFoundException | UserNotFoundException | IllegalArgumentException e) {
             logger.error("Error removing player from tournament: {}", tournamentName, e);
             throw e;
@@ -867,4 +1017,29 @@ public class TournamentService {
             throw new RuntimeException("Unexpected error removing player from tournament", e);
         }
     }
+
+    // Removes the user from a fresh read of the tournament's players pool
+    private Tournament removeFromPlayersPool(String tournamentName, String username) {
+        Tournament tournament = getTournamentForUpdate(tournamentName);
+
+        if (tournament.getClosingSignupDate() != null && tournament.getClosingSignupDate().isBefore(Tournament.today())) {
+            throw new IllegalArgumentException("Closing sign up date has passed!");
+        }
+
+        List<String> playersPool = tournament.getPlayersPool() == null ? new ArrayList<>() : tournament.getPlayersPool();
+
+        // Check if the user is in the tournament
+        if (!userRepository.existsByUsername(username)) {
+            throw new UserNotFoundException(username);
+        }
+        if (!playersPool.contains(username)) {
+            throw new IllegalArgumentException("User is not in the tournament!");
+        }
+
+        playersPool.remove(username);
+        tournament.setPlayersPool(playersPool);
+        Tournament savedTournament = tournamentRepository.save(tournament);
+        tournamentCacheService.evict(tournamentName);
+        return savedTournament;
+    }
 }
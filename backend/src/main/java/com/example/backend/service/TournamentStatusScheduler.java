@@ -0,0 +1,154 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Match;
+import com.example.backend.model.Tournament;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Background job that moves each tournament's status forward as its dates pass.
+ * The transitions are applied as bulk updates, so only the tournaments whose status changes are written.
+ */
+@Service
+@RequiredArgsConstructor
+public class TournamentStatusScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TournamentStatusScheduler.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final TournamentCacheService tournamentCacheService;
+
+    /**
+     * Refreshes the tournament statuses once the application has started,
+     * so that tournaments whose dates passed while the application was down are not left behind.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshStatusesOnStartup() {
+        backfillVersions();
+        backfillPlayerCounts();
+        refreshStatuses();
+    }
+
+    /**
+     * Gives a version to the tournaments and matches that were saved before they were versioned.
+     * Saving a versioned document that has no version would try to insert it as a new document,
+     * so every stored document needs one before it is next saved.
+     */
+    public void backfillVersions() {
+        try {
+            Query unversioned = new Query(Criteria.where("version").exists(false));
+            long tournaments = mongoTemplate.updateMulti(unversioned, new Update().set("version", 0L), Tournament.class)
+                .getModifiedCount();
+            long matches = mongoTemplate.updateMulti(unversioned, new Update().set("version", 0L), Match.class)
+                .getModifiedCount();
+            if (tournaments > 0) {
+                tournamentCacheService.evictAll();
+            }
+            logger.info("Backfilled the version of {} tournaments and {} matches", tournaments, matches);
+        } catch (Exception e) {
+            logger.error("Error backfilling tournament and match versions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores the player count on tournaments that were saved before the count was introduced.
+     * Tournaments saved since then already have it, so this only writes to older documents.
+     */
+    public void backfillPlayerCounts() {
+        try {
+            AggregationUpdate update = AggregationUpdate.update()
+                .set("playerCount")
+                .toValue(ArrayOperators.Size.lengthOfArray(
+                    ConditionalOperators.ifNull("playersPool").then(Collections.emptyList())
+                ))
+                .set("version")
+                .toValue(ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("version").then(0)).add(1));
+            long updated = mongoTemplate.updateMulti(new Query(Criteria.where("playerCount").exists(false)), update, Tournament.class)
+                .getModifiedCount();
+            if (updated > 0) {
+                tournamentCacheService.evictAll();
+            }
+            logger.info("Backfilled the player count of {} tournaments", updated);
+        } catch (Exception e) {
+            logger.error("Error backfilling tournament player counts: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Refreshes the tournament statuses at the start of every day, in UTC.
+     */
+    @Scheduled(cron = "${tournament.status.refresh-cron:0 0 0 * * *}", zone = "UTC")
+    public void refreshStatuses() {
+        try {
+            // The day the cron runs at the start of, which is the UTC day the write paths evaluate the dates against as well
+            long updated = refreshStatuses(Tournament.today());
+            logger.info("Refreshed the status of {} tournaments", updated);
+        } catch (Exception e) {
+            logger.error("Error refreshing tournament statuses: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves every tournament to the status its dates call for on the given date.
+     * Tournaments that do not have a status yet are given one as well.
+     * The tournament cache is cleared when any status changes, as the bulk updates do not say which tournaments they touched.
+     *
+     * @param currentDate the date to evaluate the tournaments' dates against.
+     * @return the number of tournaments whose status was changed.
+     */
+    public long refreshStatuses(LocalDate currentDate) {
+        long updated = 0;
+
+        // Tournaments that have an end date have ended
+        updated += setStatus(new Criteria().andOperator(
+            Criteria.where("endDate").ne(null),
+            Criteria.where("status").ne(Tournament.Status.ENDED)
+        ), Tournament.Status.ENDED);
+
+        // Tournaments that have started but not ended are in progress
+        updated += setStatus(new Criteria().andOperator(
+            Criteria.where("endDate").is(null),
+            Criteria.where("startDate").lte(currentDate),
+            Criteria.where("status").nin(List.of(Tournament.Status.IN_PROGRESS, Tournament.Status.ENDED))
+        ), Tournament.Status.IN_PROGRESS);
+
+        // Tournaments past their closing signup date but not yet started have their signup closed
+        updated += setStatus(new Criteria().andOperator(
+            Criteria.where("endDate").is(null),
+            Criteria.where("startDate").gt(currentDate),
+            Criteria.where("closingSignupDate").lte(currentDate),
+            Criteria.where("status").nin(List.of(Tournament.Status.SIGNUP_CLOSED, Tournament.Status.IN_PROGRESS, Tournament.Status.ENDED))
+        ), Tournament.Status.SIGNUP_CLOSED);
+
+        // Any tournament still without a status is open for signup
+        updated += setStatus(Criteria.where("status").exists(false), Tournament.Status.SIGNUP_OPEN);
+
+        if (updated > 0) {
+            tournamentCacheService.evictAll();
+        }
+        return updated;
+    }
+
+    private long setStatus(Criteria criteria, Tournament.Status status) {
+        return mongoTemplate.updateMulti(new Query(criteria), new Update().set("status", status).inc("version", 1), Tournament.class)
+            .getModifiedCount();
+    }
+}
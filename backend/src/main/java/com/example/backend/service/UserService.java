@@ -44,6 +44,8 @@ public class UserService {
     private final MatchRepository matchRepository;
     private final TournamentRepository tournamentRepository;
     private final TournamentService tournamentService;
+    private final TournamentCacheService tournamentCacheService;
+    private final BracketEventService bracketEventService;
     
 
     private final LocalValidatorFactoryBean validator;
@@ -210,18 +212,19 @@ public class UserService {
             boolean isUsernameUpdated = newUserDetails.getUsername() != null && !user.getUsername().equals(newUserDetails.getUsername());
 
             if (isUsernameUpdated) {
-                // Get all the tournaments and filter out the ones that the user is participating in
-                List<Tournament> tournaments = tournamentService.getAllTournaments().stream()
-                    .filter(tournament -> tournament.getPlayersPool().contains(username))
-                    .collect(Collectors.toList());
+                // Get the tournaments that the user is participating in
+                List<Tournament> tournaments = tournamentRepository.findByPlayersPoolContaining(username);
                 
                 // For each tournament, update the username in the players pool
                 for (Tournament tournament : tournaments) {
-                    tournament.getPlayersPool().set(tournament.getPlayersPool().indexOf(username), newUserDetails.getUsername());
-                    tournamentRepository.save(tournament);
+                    String tournamentName = tournament.getTournamentName();
+
+                    // A concurrent change to the tournament makes the save fail rather than be overwritten, and the rename is retried
+                    OptimisticLockRetry.run("Renaming " + username + " in tournament " + tournamentName,
+                        () -> renameInTournament(tournamentName, username, newUserDetails.getUsername()));
 
                     // Update matches for this tournament
-                    updateMatchesForTournament(tournament.getTournamentName(), username, newUserDetails.getUsername());
+                    updateMatchesForTournament(tournamentName, username, newUserDetails.getUsername());
                 }
             }
 
@@ -271,33 +274,59 @@ public class UserService {
             .orElseThrow(() -> new MatchNotFoundException(tournamentName));
     
         for (Match match : matches) {
-            boolean matchUpdated = false;
-            
-            // Update players list
-            if (match.getPlayers().contains(oldUsername)) {
-                match.getPlayers().set(match.getPlayers().indexOf(oldUsername), newUsername);
-                matchUpdated = true;
-            }
-    
-            // Update sets
-            for (Match.Set set : match.getSets()) {
-                if (set.getSetWinner().equals(oldUsername)) {
-                    set.setSetWinner(newUsername);
-                    matchUpdated = true;
-                }
+            // Save the match if any updates were made, retrying from a fresh read if it changed concurrently
+            if (renameInMatch(match, oldUsername, newUsername)) {
+                OptimisticLockRetry.run("Renaming " + oldUsername + " in match " + match.getId(),
+                    () -> matchRepository.findById(match.getId()).ifPresent(latestMatch -> {
+                        if (renameInMatch(latestMatch, oldUsername, newUsername)) {
+                            matchRepository.save(latestMatch);
+                        }
+                    }));
             }
-    
-            // Update match winner
-            if (match.getMatchWinner() != null && match.getMatchWinner().equals(oldUsername)) {
-                match.setMatchWinner(newUsername);
+        }
+    }
+
+    // Replaces the old username in a fresh read of a tournament's players pool and bracket
+    private void renameInTournament(String tournamentName, String oldUsername, String newUsername) {
+        Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+            .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+        int index = tournament.getPlayersPool().indexOf(oldUsername);
+        if (index < 0) {
+            return;
+        }
+        tournament.getPlayersPool().set(index, newUsername);
+        if (tournament.getBracket() != null) {
+            tournament.getBracket().replaceAdvancingPlayer(oldUsername, newUsername);
+        }
+        tournamentRepository.save(tournament);
+        tournamentCacheService.evict(tournamentName);
+    }
+
+    // Replaces the old username in a match, returning whether the match was changed
+    private boolean renameInMatch(Match match, String oldUsername, String newUsername) {
+        boolean matchUpdated = false;
+
+        // Update players list
+        if (match.getPlayers().contains(oldUsername)) {
+            match.getPlayers().set(match.getPlayers().indexOf(oldUsername), newUsername);
+            matchUpdated = true;
+        }
+
+        // Update sets
+        for (Match.Set set : match.getSets()) {
+            if (set.getSetWinner().equals(oldUsername)) {
+                set.setSetWinner(newUsername);
                 matchUpdated = true;
             }
-    
-            // Save the match if any updates were made
-            if (matchUpdated) {
-                matchRepository.save(match);
-            }
         }
+
+        // Update match winner
+        if (match.getMatchWinner() != null && match.getMatchWinner().equals(oldUsername)) {
+            match.setMatchWinner(newUsername);
+            matchUpdated = true;
+        }
+        return matchUpdated;
     }
 
     /**
@@ -332,7 +361,7 @@ public class UserService {
      *
      * This method performs the following actions:
      * 1. Retrieves the user by their username.
-     * 2. Fetches all ongoing and future tournaments.
+     * 2. Fetches the ongoing and future tournaments the user is participating in.
      * 3. Removes the user from the players pool of each tournament.
      * 4. Handles incomplete matches by removing the user and determining the
      * winner.
@@ -348,8 +377,8 @@ public class UserService {
             User user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new UserNotFoundException(username));
 
-            List<Tournament> currentAndFutureTournaments = tournamentService.getCurrentAndFutureTournaments();
-            logger.info("Found {} current and future tournaments", currentAndFutureTournaments.size());
+            List<Tournament> currentAndFutureTournaments = tournamentService.getUserUpcomingTournaments(username);
+            logger.info("Found {} current and future tournaments for user {}", currentAndFutureTournaments.size(), username);
 
             if (!currentAndFutureTournaments.isEmpty()) {
                 updateTournamentsWhenUserIsDeleted(currentAndFutureTournaments, username);
@@ -380,52 +409,115 @@ public class UserService {
     private void updateTournamentsWhenUserIsDeleted(List<Tournament> tournaments, String username) {
 
         for (Tournament tournament : tournaments) {
-            boolean tournamentModified = false;
-            int matchesModified = 0; // for logging purposes
-    
-            // Remove user from players pool
-            if (tournament.getPlayersPool().remove(username)) {
-                tournamentModified = true;
-                logger.info("Removed user {} from players pool of tournament {}", username, tournament.getTournamentName());
-            }
-    
+            String tournamentName = tournament.getTournamentName();
+            boolean hasBracket = tournament.getBracket() != null;
+            boolean fullTree = hasBracket && tournament.getBracket().isFullTree();
+
             // Fetch all matches for this tournament
-            List<Match> tournamentMatches = matchRepository.findByTournamentName(tournament.getTournamentName())
-                .orElseThrow(() -> new MatchNotFoundException(tournament.getTournamentName()));
-            
-            // Update each match
+            List<Match> tournamentMatches = matchRepository.findByTournamentName(tournamentName)
+                .orElseThrow(() -> new MatchNotFoundException(tournamentName));
+
+            // Update each match, keeping the results that the bracket has to record
+            Map<String, String> bracketResults = new LinkedHashMap<>();
+            int matchesModified = 0; // for logging purposes
             for (Match match : tournamentMatches) {
 
                 // If the match is not completed and the user is a participant
                 if (!match.isCompleted() && match.getPlayers().contains(username)) {
-                    List<String> players = match.getPlayers();
-                    players.remove(username);
-                    matchesModified++; // for logging purposes
-                    
-                    // Automatically set the match winner if there is only one player left
-                    if (players.size() == 1) {
-                        String winner = players.get(0);
-                        match.setMatchWinner(winner);
-                        match.setCompleted(true);
-                    } else if (players.isEmpty()) { // If no players are left, mark the match as completed without a winner
-                        match.setCompleted(true);
+                    // A concurrent change to the match makes the save fail rather than be overwritten, and the removal is retried
+                    boolean matchModified = OptimisticLockRetry.run("Removing " + username + " from match " + match.getId(),
+                        () -> removeFromMatch(tournamentName, match.getId(), username, hasBracket, fullTree, bracketResults));
+                    if (matchModified) {
+                        matchesModified++;
                     }
-    
-                    match.setSets(new ArrayList<>()); // Reset the sets for the match
-                    matchRepository.save(match);
-                    tournamentModified = true;
                 }
             }
-    
-            // Save the tournament if modified
+
+            // The tournament is updated once its matches are, so a retry of its save does not redo the changes to the matches
+            boolean modifiedMatches = matchesModified > 0;
+            boolean tournamentModified = OptimisticLockRetry.run("Removing " + username + " from tournament " + tournamentName,
+                () -> removeFromTournament(tournamentName, username, modifiedMatches, bracketResults));
+
             if (tournamentModified) {
-                tournamentRepository.save(tournament);
                 logger.info("Updated tournament {}: removed user from players pool, modified {} matches", 
-                            tournament.getTournamentName(), matchesModified);
+                            tournamentName, matchesModified);
             } else {
-                logger.info("No changes made to tournament {}", tournament.getTournamentName());
+                logger.info("No changes made to tournament {}", tournamentName);
+            }
+        }
+    }
+
+    // Removes the deleted user from a fresh read of a match, returning whether the match was changed
+    private boolean removeFromMatch(String tournamentName, String matchId, String username, boolean hasBracket, boolean fullTree,
+                                    Map<String, String> bracketResults) {
+        Match match = matchRepository.findById(matchId).orElse(null);
+        if (match == null || match.isCompleted() || !match.getPlayers().contains(username)) {
+            return false;
+        }
+
+        List<String> players = match.getPlayers();
+        if (fullTree) {
+            // Matches of a full bracket keep their player slots, as the winners of earlier matches are moved into them.
+            // The opponent wins if there is one already, otherwise the match waits for them.
+            players.set(players.indexOf(username), null);
+            String opponent = players.stream().filter(Objects::nonNull).findFirst().orElse(null);
+            if (opponent != null) {
+                match.setMatchWinner(opponent);
+                match.setCompleted(true);
             }
+        } else {
+            players.remove(username);
+
+            // Automatically set the match winner if there is only one player left
+            if (players.size() == 1) {
+                String winner = players.get(0);
+                match.setMatchWinner(winner);
+                match.setCompleted(true);
+            } else if (players.isEmpty()) { // If no players are left, mark the match as completed without a winner
+                match.setCompleted(true);
+            }
+        }
+
+        match.setSets(new ArrayList<>()); // Reset the sets for the match
+        matchRepository.save(match);
+        bracketEventService.publish(tournamentName, BracketEventService.MATCH_EVENT, match);
+        if (match.isCompleted() && match.getNextMatchId() != null && match.getMatchWinner() != null) {
+            Match nextMatch = matchRepository.advanceWinner(match.getNextMatchId(), match.getNextMatchSlot(), match.getMatchWinner());
+            if (nextMatch != null) {
+                bracketEventService.publish(tournamentName, BracketEventService.MATCH_EVENT, nextMatch);
+            }
+        } else if (match.isCompleted() && hasBracket) {
+            bracketResults.put(match.getId(), match.getMatchWinner());
+        }
+        return true;
+    }
+
+    // Removes the deleted user from a fresh read of a tournament and records the results of its changed matches,
+    // returning whether the tournament was saved
+    private boolean removeFromTournament(String tournamentName, String username, boolean matchesModified,
+                                         Map<String, String> bracketResults) {
+        Tournament tournament = tournamentRepository.findByTournamentName(tournamentName).orElse(null);
+        if (tournament == null) {
+            return false;
+        }
+
+        // Remove user from players pool
+        boolean tournamentModified = matchesModified;
+        if (tournament.getPlayersPool() != null && tournament.getPlayersPool().remove(username)) {
+            tournamentModified = true;
+            logger.info("Removed user {} from players pool of tournament {}", username, tournamentName);
+        }
+        if (tournament.getBracket() != null) {
+            tournament.getBracket().replaceAdvancingPlayer(username, null);
+            bracketResults.forEach(tournament.getBracket()::recordResult);
+        }
+
+        // Save the tournament if modified
+        if (tournamentModified) {
+            tournamentRepository.save(tournament);
+            tournamentCacheService.evict(tournamentName);
         }
+        return tournamentModified;
     }
 
     /**
@@ -536,17 +628,9 @@ public class UserService {
      */
     public void leaveTournament(String tournamentName, String username) {
         try {
-            Tournament tournament = tournamentService.getTournamentByName(tournamentName);
-
-            // Check if the user is already in the tournament
-            if (tournament.getPlayersPool() == null || !tournament.getPlayersPool().contains(username)) {
-                throw new IllegalArgumentException("User is not in the tournament!");
-            }
-
-            // Remove the user from the tournament
-            tournament.getPlayersPool().remove(username);
-
-            tournamentRepository.save(tournament);
+            // A concurrent change to the players pool makes the save fail rather than be overwritten, and the removal is retried
+            OptimisticLockRetry.run("Removing " + username + " from tournament " + tournamentName,
+                () -> removeFromPlayersPool(tournamentName, username));
 
             logger.info("User {} left tournament {}", username, tournamentName);
         } catch (TournamentNotFoundException | UserNotFoundException | IllegalArgumentException e) {
@@ -557,4 +641,21 @@ public class UserService {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    // Removes the user from a fresh read of the tournament's players pool
+    private void removeFromPlayersPool(String tournamentName, String username) {
+        Tournament tournament = tournamentRepository.findByTournamentName(tournamentName)
+            .orElseThrow(() -> new TournamentNotFoundException(tournamentName));
+
+        // Check if the user is already in the tournament
+        if (tournament.getPlayersPool() == null || !tournament.getPlayersPool().contains(username)) {
+            throw new IllegalArgumentException("User is not in the tournament!");
+        }
+
+        // Remove the user from the tournament
+        tournament.getPlayersPool().remove(username);
+
+        tournamentRepository.save(tournament);
+        tournamentCacheService.evict(tournamentName);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.example.backend.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TournamentTest {
@@ -144,4 +148,75 @@ class TournamentTest {
         assertTrue(result);
     }
 
+    @Test
+    void refreshStatus_BeforeClosingSignupDate_ShouldBeSignupOpen() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        tournament.setStartDate(today.plusMonths(1));
+
+        // Act
+        tournament.refreshStatus(today);
+
+        // Assert
+        assertEquals(Tournament.Status.SIGNUP_OPEN, tournament.getStatus());
+    }
+
+    @Test
+    void refreshStatus_OnClosingSignupDate_ShouldBeSignupClosed() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        tournament.setStartDate(today.plusWeeks(2));
+
+        // Act
+        tournament.refreshStatus(today);
+
+        // Assert
+        assertEquals(Tournament.Status.SIGNUP_CLOSED, tournament.getStatus());
+    }
+
+    @Test
+    void refreshStatus_OnStartDate_ShouldBeInProgress() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        tournament.setStartDate(today);
+
+        // Act
+        tournament.refreshStatus(today);
+
+        // Assert
+        assertEquals(Tournament.Status.IN_PROGRESS, tournament.getStatus());
+    }
+
+    @Test
+    void refreshStatus_WithEndDate_ShouldBeEnded() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 1, 1);
+        tournament.setStartDate(today.minusDays(3));
+        tournament.setEndDate(today.minusDays(1));
+
+        // Act
+        tournament.refreshStatus(today);
+
+        // Assert
+        assertEquals(Tournament.Status.ENDED, tournament.getStatus());
+    }
+
+    @Test
+    void recordResult_CurrentRoundMatch_ShouldFillWinnerSlot() {
+        // Arrange
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.getRounds().add(new Tournament.Round(Arrays.asList("match1")));
+        bracket.getRounds().add(new Tournament.Round(Arrays.asList("match2", "match3")));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player5", null, null)));
+
+        // Act
+        bracket.recordResult("match3", "player3");
+        bracket.recordResult("match1", "player1");
+
+        // Assert
+        assertEquals(Arrays.asList("player5", null, "player3"), bracket.getAdvancingPlayers());
+        assertEquals(1, bracket.getCompletedMatches());
+        assertFalse(bracket.currentRoundCompleted());
+    }
+
 }
@@ -57,6 +57,9 @@ class AdminServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -161,6 +164,7 @@ class AdminServiceTest {
         newDetails.setAdminName(newAdminName);
         
         Tournament tournament = new Tournament();
+        tournament.setTournamentName("Test Tournament");
         tournament.setCreatedBy(oldAdminName);
         List<Tournament> tournaments = Arrays.asList(tournament);
         
@@ -168,6 +172,7 @@ class AdminServiceTest {
         when(adminRepository.existsByAdminName(newAdminName)).thenReturn(false);
         when(userRepository.existsByUsername(newAdminName)).thenReturn(false);
         when(tournamentRepository.findAllByCreatedBy(oldAdminName)).thenReturn(tournaments);
+        when(tournamentRepository.findByTournamentName("Test Tournament")).thenReturn(Optional.of(tournament));
         when(adminRepository.save(any(Admin.class))).thenReturn(existingAdmin);
         
         // Act
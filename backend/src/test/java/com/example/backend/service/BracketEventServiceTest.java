@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Match;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BracketEventServiceTest {
+
+    // Never runs the sends, as if every client were too slow to take the events
+    @Mock
+    private ExecutorService sender;
+
+    @Mock
+    private ScheduledExecutorService sendWatchdog;
+
+    private ObjectMapper objectMapper;
+    private BracketEventService bracketEventService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper());
+        bracketEventService = new BracketEventService(objectMapper, sender, sendWatchdog, 2, 60000, 10000);
+    }
+
+    private Match createMatch(String id) {
+        Match match = new Match();
+        match.setId(id);
+        return match;
+    }
+
+    @Test
+    void publish_WithoutSubscribers_ShouldNotSerialise() throws Exception {
+        bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match1"));
+
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void publish_WithSeveralSubscribers_ShouldSerialiseOnce() throws Exception {
+        Match match = createMatch("match1");
+        bracketEventService.subscribe("Test Tournament", () -> Map.of("rounds", "snapshot"));
+        bracketEventService.subscribe("Test Tournament", () -> Map.of("rounds", "snapshot"));
+
+        bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, match);
+
+        verify(objectMapper, times(1)).writeValueAsString(match);
+        assertEquals(2, bracketEventService.subscriberCount("Test Tournament"));
+    }
+
+    @Test
+    void publish_WithFullSubscriberBuffer_ShouldDisconnectSubscriber() {
+        bracketEventService.subscribe("Test Tournament", () -> Map.of("rounds", "snapshot"));
+
+        // The snapshot is held apart from the buffer, so the first two matches fill the buffer of two events
+        bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match1"));
+        bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match2"));
+        assertEquals(1, bracketEventService.subscriberCount("Test Tournament"));
+
+        bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match3"));
+        assertEquals(0, bracketEventService.subscriberCount("Test Tournament"));
+    }
+
+    @Test
+    void publish_WithFullSubscriberBuffer_ShouldCompleteEmitterOnSender() throws Exception {
+        SseEmitter emitter = bracketEventService.subscribe("Test Tournament", () -> Map.of("rounds", "snapshot"));
+        ArgumentCaptor<Runnable> drain = ArgumentCaptor.forClass(Runnable.class);
+        verify(sender).execute(drain.capture());
+
+        for (int i = 1; i <= 3; i++) {
+            bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match" + i));
+        }
+        // The publisher does not complete the emitter, as that would wait for a send stuck on it
+        emitter.send(SseEmitter.event().name("check").data("not completed yet"));
+
+        // The drain that was sending completes it instead, without sending what was left
+        drain.getValue().run();
+        verify(sendWatchdog, never()).schedule(any(Runnable.class), anyLong(), any());
+        assertThrows(IllegalStateException.class, () -> emitter.send(SseEmitter.event().name("check").data("completed")));
+    }
+
+    @Test
+    void subscribe_WithChangeWhileTakingSnapshot_ShouldHoldChangeUntilSnapshotIsTaken() {
+        bracketEventService.subscribe("Test Tournament", () -> {
+            // A change made while the snapshot is taken is buffered, but not sent ahead of the snapshot
+            bracketEventService.publish("Test Tournament", BracketEventService.MATCH_EVENT, createMatch("match1"));
+            verify(sender, never()).execute(any());
+            return Map.of("rounds", "snapshot");
+        });
+
+        verify(sender, times(1)).execute(any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.model.Match;
+import com.example.backend.model.Tournament;
+import com.example.backend.repository.MatchRepository;
+import com.example.backend.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BracketPredictionServiceTest {
+
+    private static final int SIMULATIONS = 4000;
+
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+    @Mock
+    private MatchRepository matchRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private BracketPredictionService bracketPredictionService;
+
+    @BeforeEach
+    void setUp() {
+        bracketPredictionService = new BracketPredictionService(tournamentCacheService, matchRepository, userRepository,
+            new ConcurrentMapCacheManager(BracketPredictionService.PREDICTIONS_BY_TOURNAMENT), ForkJoinPool.commonPool(), SIMULATIONS);
+    }
+
+    private Match createMatch(String id, String player1, String player2, String winner) {
+        Match match = new Match();
+        match.setId(id);
+        match.setTournamentName("Test Tournament");
+        match.setPlayers(Arrays.asList(player1, player2));
+        match.setMatchWinner(winner);
+        match.setCompleted(winner != null);
+        return match;
+    }
+
+    // A fully generated bracket of four, where player1 has won their semi-final and the other one is still to be played
+    private Tournament createFullBracket(long version) {
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName("Test Tournament");
+        tournament.setVersion(version);
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setFullTree(true);
+        bracket.setRounds(new ArrayList<>(Arrays.asList(
+            new Tournament.Round(Arrays.asList("semi1", "semi2")),
+            new Tournament.Round(Arrays.asList("final")))));
+        tournament.setBracket(bracket);
+        return tournament;
+    }
+
+    private List<Match> createFullBracketMatches() {
+        Match semi1 = createMatch("semi1", "player1", "player4", "player1");
+        semi1.setNextMatchId("final");
+        semi1.setNextMatchSlot(0);
+        Match semi2 = createMatch("semi2", "player2", "player3", null);
+        semi2.setNextMatchId("final");
+        semi2.setNextMatchSlot(1);
+        return Arrays.asList(semi1, semi2, createMatch("final", "player1", null, null));
+    }
+
+    private List<PlayerEloDto> elos(String... usernames) {
+        return Arrays.stream(usernames)
+            .map(username -> new PlayerEloDto(username, 1500))
+            .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> predictionsByUsername(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("players")).stream()
+            .collect(Collectors.toMap(prediction -> (String) prediction.get("username"), prediction -> prediction));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void predictBracket_WithFullBracket_KeepsDecidedResultsAndSimulatesTheRest() {
+        when(tournamentCacheService.findByName("Test Tournament")).thenReturn(Optional.of(createFullBracket(3L)));
+        when(matchRepository.findByTournamentName("Test Tournament")).thenReturn(Optional.of(createFullBracketMatches()));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(elos("player1", "player2", "player3", "player4"));
+
+        Map<String, Object> result = bracketPredictionService.predictBracket("Test Tournament");
+
+        assertEquals(3L, result.get("version"));
+        Map<String, Map<String, Object>> predictions = predictionsByUsername(result);
+        assertEquals(Arrays.asList(1.0, 1.0), predictions.get("player1").get("rounds"));
+        assertEquals(Arrays.asList(1.0, 0.0), predictions.get("player4").get("rounds"));
+        assertEquals(0.0, predictions.get("player4").get("title"));
+
+        // Exactly one of the other semi-finalists reaches the final, and exactly one player wins each simulation
+        List<Double> player2Rounds = (List<Double>) predictions.get("player2").get("rounds");
+        List<Double> player3Rounds = (List<Double>) predictions.get("player3").get("rounds");
+        assertEquals(1.0, player2Rounds.get(1) + player3Rounds.get(1), 1e-9);
+        double titles = predictions.values().stream().mapToDouble(prediction -> (Double) prediction.get("title")).sum();
+        assertEquals(1.0, titles, 1e-9);
+        assertEquals(0.5, (Double) predictions.get("player1").get("title"), 0.05);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void predictBracket_WithRoundByRoundBracket_SimulatesRoundsYetToBeGenerated() {
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName("Test Tournament");
+        tournament.setVersion(1L);
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2")))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player5", null, null)));
+        tournament.setBracket(bracket);
+
+        when(tournamentCacheService.findByName("Test Tournament")).thenReturn(Optional.of(tournament));
+        when(matchRepository.findByTournamentName("Test Tournament")).thenReturn(Optional.of(Arrays.asList(
+            createMatch("match1", "player1", "player4", null),
+            createMatch("match2", "player2", "player3", null))));
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(elos("player1", "player2", "player3", "player4", "player5"));
+
+        Map<String, Object> result = bracketPredictionService.predictBracket("Test Tournament");
+
+        // player5 sat out the first round and meets the winner of match1 in the second; the winner of match2 waits for the final
+        Map<String, Map<String, Object>> predictions = predictionsByUsername(result);
+        List<Double> player5Rounds = (List<Double>) predictions.get("player5").get("rounds");
+        assertEquals(3, player5Rounds.size());
+        assertEquals(0.0, (double) player5Rounds.get(0));
+        assertEquals(1.0, (double) player5Rounds.get(1));
+        double titles = predictions.values().stream().mapToDouble(prediction -> (Double) prediction.get("title")).sum();
+        assertEquals(1.0, titles, 1e-9);
+    }
+
+    @Test
+    void predictBracket_WithUnchangedVersion_ReusesCachedPredictions() {
+        when(tournamentCacheService.findByName("Test Tournament"))
+            .thenReturn(Optional.of(createFullBracket(3L)))
+            .thenReturn(Optional.of(createFullBracket(3L)))
+            .thenReturn(Optional.of(createFullBracket(4L)));
+        when(matchRepository.findByTournamentName("Test Tournament")).thenReturn(Optional.of(createFullBracketMatches()));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(elos("player1", "player2", "player3", "player4"));
+
+        Map<String, Object> first = bracketPredictionService.predictBracket("Test Tournament");
+        Map<String, Object> second = bracketPredictionService.predictBracket("Test Tournament");
+        Map<String, Object> afterResult = bracketPredictionService.predictBracket("Test Tournament");
+
+        assertSame(first, second);
+        assertEquals(4L, afterResult.get("version"));
+        verify(matchRepository, times(2)).findByTournamentName("Test Tournament");
+    }
+
+    @Test
+    void predictBracket_WithSwissBracket_ReturnsError() {
+        Tournament tournament = createFullBracket(1L);
+        tournament.getBracket().setFullTree(false);
+        tournament.getBracket().setSwiss(true);
+        when(tournamentCacheService.findByName("Test Tournament")).thenReturn(Optional.of(tournament));
+
+        Map<String, Object> result = bracketPredictionService.predictBracket("Test Tournament");
+
+        assertEquals("Predictions are only available for knockout brackets!", result.get("error"));
+        verifyNoInteractions(matchRepository);
+    }
+}
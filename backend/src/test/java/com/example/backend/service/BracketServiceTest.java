@@ -4,6 +4,7 @@ import com.example.backend.exception.MatchNotFoundException;
 import com.example.backend.exception.TournamentNotFoundException;
 import com.example.backend.exception.UserNotFoundException;
 // Existing imports
+import com.example.backend.dto.PlayerEloDto;
 import com.example.backend.model.Match;
 import com.example.backend.model.Tournament;
 import com.example.backend.model.User;
@@ -11,11 +12,13 @@ import com.example.backend.repository.MatchRepository;
 import com.example.backend.repository.TournamentRepository;
 import com.example.backend.repository.UserRepository;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -24,13 +27,14 @@ import static org.mockito.Mockito.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @ExtendWith(MockitoExtension.class)
 class BracketServiceTest {
@@ -43,10 +47,27 @@ class BracketServiceTest {
     private UserRepository userRepository;
     @Mock
     private LocalValidatorFactoryBean validator;
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+    @Mock
+    private BracketEventService bracketEventService;
 
     @InjectMocks
     private BracketService bracketService;
 
+    @BeforeEach
+    void setUp() {
+        // Read the tournaments through to the repository, as the cache does on a miss
+        lenient().when(tournamentCacheService.findByName(any()))
+            .thenAnswer(invocation -> tournamentRepository.findByTournamentName(invocation.getArgument(0)));
+    }
+
+    private List<PlayerEloDto> toPlayerElos(User... users) {
+        return Arrays.stream(users)
+            .map(user -> new PlayerEloDto(user.getUsername(), user.getElo()))
+            .collect(Collectors.toList());
+    }
+
     @Test
     void generateBracket_WithNewTournament_ShouldCreateFirstRound() {
         // Arrange
@@ -68,19 +89,10 @@ class BracketServiceTest {
         player4.setUsername("player4");
         player4.setElo(1200);
 
-        Match match1 = new Match();
-        match1.setId("match1");
-        match1.setPlayers(Arrays.asList("player1", "player4"));
-        Match match2 = new Match();
-        match2.setId("match2");
-        match2.setPlayers(Arrays.asList("player2", "player3"));
-
         when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(userRepository.findByUsername("player3")).thenReturn(Optional.of(player3));
-        when(userRepository.findByUsername("player4")).thenReturn(Optional.of(player4));
-        when(matchRepository.save(any(Match.class))).thenReturn(match1).thenReturn(match2);
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player2, player3, player4));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -89,7 +101,10 @@ class BracketServiceTest {
         assertNotNull(result);
         assertFalse(result.containsKey("error"));
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository, times(2)).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 2));
+        verify(userRepository).findEloByUsernameIn(anyCollection());
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(bracketEventService).publish(eq(tournamentName), eq(BracketEventService.ROUND_EVENT), any());
     }
 
     @Test
@@ -100,12 +115,8 @@ class BracketServiceTest {
         tournament.setTournamentName(tournamentName);
         tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3"));
 
-        Match match = new Match();
-        match.setId("match1");
-        match.setPlayers(Arrays.asList("player2", "player3"));
-
         when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
-        when(matchRepository.save(any(Match.class))).thenReturn(match);
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -114,7 +125,29 @@ class BracketServiceTest {
         assertNotNull(result);
         assertFalse(result.containsKey("error"));
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
+    }
+
+    @Test
+    void generateBracket_WithTournamentSaveFailure_ShouldRemoveInsertedMatches() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3"));
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tournamentRepository.save(any(Tournament.class))).thenThrow(new RuntimeException("Database error"));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertTrue(result.containsKey("error"));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
+        verify(matchRepository).deleteAllById(argThat(ids -> ids.iterator().hasNext()));
+        verify(tournamentCacheService, never()).evict(anyString());
     }
 
     @Test
@@ -214,12 +247,9 @@ class BracketServiceTest {
         // Mock first findByTournamentName for initial tournament state
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player2"))
-            .thenReturn(Optional.of(player2));
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(match);
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player2));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Create the updated tournament state with a round and match
         Tournament updatedTournament = new Tournament();
@@ -237,8 +267,8 @@ class BracketServiceTest {
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament))
             .thenReturn(Optional.of(updatedTournament));
-        when(matchRepository.findAllById(any()))
-            .thenReturn(Arrays.asList(match));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match)));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -248,7 +278,7 @@ class BracketServiceTest {
         assertFalse(result.containsKey("error"));
         assertTrue(result.containsKey("rounds"));
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
     }
 
     @Test
@@ -269,18 +299,11 @@ class BracketServiceTest {
         player2.setUsername("player2");
         player2.setElo(1400);
 
-        Match match = new Match();
-        match.setId("match1");
-        match.setPlayers(Arrays.asList("player1", "player2"));
-
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player2"))
-            .thenReturn(Optional.of(player2));
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(match);
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player2));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -301,8 +324,8 @@ class BracketServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1"))
-            .thenThrow(new UserNotFoundException("player1")); // Just pass the username
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(Collections.emptyList()); // Neither player exists anymore
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -328,7 +351,7 @@ class BracketServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(matchRepository.findAllById(any()))
+        when(matchRepository.findByTournamentName(tournamentName))
             .thenThrow(new MatchNotFoundException("match1")); // Just pass the match ID
 
         // Act
@@ -374,13 +397,9 @@ class BracketServiceTest {
         // Mock initial tournament state
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(userRepository.findByUsername("player3")).thenReturn(Optional.of(player3));
-        when(userRepository.findByUsername("player4")).thenReturn(Optional.of(player4));
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(match1)
-            .thenReturn(match2);
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player2, player3, player4));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Create updated tournament state with bracket and matches
         Tournament updatedTournament = new Tournament();
@@ -398,8 +417,8 @@ class BracketServiceTest {
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament))
             .thenReturn(Optional.of(updatedTournament));
-        when(matchRepository.findAllById(any()))
-            .thenReturn(Arrays.asList(match1, match2));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match1, match2)));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -409,7 +428,7 @@ class BracketServiceTest {
         assertFalse(result.containsKey("error"));
         assertTrue(result.containsKey("rounds"));
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository, times(2)).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 2));
     }
 
     @Test
@@ -458,19 +477,14 @@ class BracketServiceTest {
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
         
-        // Important: Mock ALL findAllById calls with specific arguments
-        when(matchRepository.findAllById(Arrays.asList("match1", "match2")))
-            .thenReturn(Arrays.asList(match1, match2));
-        when(matchRepository.findAllById(Arrays.asList("match3")))
-            .thenReturn(Arrays.asList(finalMatch));
+        // The bracket predates the stored round state, so it is rebuilt from the tournament's matches
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match1, match2, finalMatch)));
         
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player3"))
-            .thenReturn(Optional.of(player3));
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player3));
 
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(finalMatch);
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Setup updated tournament with both rounds
         Tournament updatedTournament = new Tournament();
@@ -507,7 +521,7 @@ class BracketServiceTest {
         
         verify(tournamentRepository, times(2)).findByTournamentName(tournamentName);
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
     }
 
     @Test
@@ -557,17 +571,10 @@ class BracketServiceTest {
             .thenReturn(Optional.of(tournament))
             .thenReturn(Optional.of(tournament));  // For viewTournamentBracket
 
-        // IMPORTANT: Mock for getPlayersForNewRound - must return exact matches
-        when(matchRepository.findAllById(round1.getMatches()))
-            .thenReturn(Arrays.asList(match1, match2));
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(toPlayerElos(player1, player3));
 
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(player1));
-        when(userRepository.findByUsername("player3"))
-            .thenReturn(Optional.of(player3));
-
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(match3);
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Setup updated tournament
         Tournament updatedTournament = new Tournament();
@@ -585,8 +592,8 @@ class BracketServiceTest {
             .thenReturn(updatedTournament);
 
         // Mock for viewTournamentBracket match retrieval
-        when(matchRepository.findAllById(Arrays.asList("match3")))
-            .thenReturn(Arrays.asList(match3));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match1, match2, match3)));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -604,7 +611,7 @@ class BracketServiceTest {
         // Verify repository calls
         verify(tournamentRepository, times(2)).findByTournamentName(tournamentName);
         verify(tournamentRepository).save(any(Tournament.class));
-        verify(matchRepository).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
     }
 
     @Test
@@ -613,6 +620,7 @@ class BracketServiceTest {
         String tournamentName = "TestTournament";
         Tournament tournament = new Tournament();
         tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2"));
         
         Tournament.Bracket bracket = new Tournament.Bracket();
         Tournament.Round round1 = new Tournament.Round(Arrays.asList("match1"));
@@ -621,12 +629,13 @@ class BracketServiceTest {
 
         Match incompleteMatch = new Match();
         incompleteMatch.setId("match1");
+        incompleteMatch.setPlayers(Arrays.asList("player1", "player2"));
         incompleteMatch.setCompleted(false);
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(matchRepository.findAllById(any()))
-            .thenReturn(Arrays.asList(incompleteMatch));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(incompleteMatch)));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -637,6 +646,291 @@ class BracketServiceTest {
             result.get("error"));
     }
 
+    @Test
+    void generateBracket_WithStoredRoundState_ShouldNotReadPreviousMatches() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3", "player4", "player5", "player6"));
+
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(
+            new Tournament.Round(new ArrayList<>()),
+            new Tournament.Round(Arrays.asList("match1", "match2")),
+            new Tournament.Round(Arrays.asList("match3", "match4"))
+        )));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player1", "player4")));
+        bracket.setCompletedMatches(2);
+        tournament.setBracket(bracket);
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertFalse(result.containsKey("error"));
+        verify(matchRepository).insert(argThat((List<Match> matches) ->
+            matches.size() == 1 && matches.get(0).getPlayers().equals(Arrays.asList("player1", "player4"))));
+        verify(matchRepository, never()).findAllById(any());
+        assertEquals(4, bracket.getRounds().size());
+        assertEquals(Collections.singletonList(null), bracket.getAdvancingPlayers());
+        assertEquals(0, bracket.getCompletedMatches());
+    }
+
+    @Test
+    void generateBracket_WithUncompletedStoredRound_ShouldReturnError() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3", "player4"));
+
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2")))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player1", null)));
+        bracket.setCompletedMatches(1);
+        tournament.setBracket(bracket);
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertEquals("All matches in the previous round must be completed before generating a new round!", 
+            result.get("error"));
+        verifyNoInteractions(matchRepository);
+    }
+
+    @Test
+    void generateFullBracket_WithFivePlayers_ShouldLinkEveryRoundAndAdvanceByes() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3", "player4", "player5"));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            User user = new User();
+            user.setUsername("player" + i);
+            user.setElo(1600 - i * 100);
+            users.add(user);
+        }
+
+        List<Match> insertedMatches = new ArrayList<>();
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(toPlayerElos(users.toArray(new User[0])));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> {
+            insertedMatches.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(matchRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(insertedMatches));
+
+        // Act
+        Map<String, Object> result = bracketService.generateFullBracket(tournamentName);
+
+        // Assert
+        assertFalse(result.containsKey("error"));
+        verify(matchRepository, times(1)).insert(anyList());
+        assertEquals(7, insertedMatches.size());
+
+        Tournament.Bracket bracket = tournament.getBracket();
+        assertTrue(bracket.isFullTree());
+        assertEquals(3, bracket.getRounds().size());
+
+        // Seeds 1, 2 and 3 have byes and wait in the second round, seeds 4 and 5 play each other
+        List<Match> firstRound = insertedMatches.subList(0, 4);
+        List<Match> secondRound = insertedMatches.subList(4, 6);
+        Match finalMatch = insertedMatches.get(6);
+        assertEquals(Arrays.asList("player4", "player5"), firstRound.get(1).getPlayers());
+        assertEquals(3, firstRound.stream().filter(Match::isCompleted).count());
+        assertEquals(Arrays.asList("player1", null), secondRound.get(0).getPlayers());
+        assertEquals(Arrays.asList("player2", "player3"), secondRound.get(1).getPlayers());
+
+        assertEquals(secondRound.get(0).getId(), firstRound.get(1).getNextMatchId());
+        assertEquals(1, firstRound.get(1).getNextMatchSlot());
+        assertEquals(finalMatch.getId(), secondRound.get(1).getNextMatchId());
+        assertEquals(1, secondRound.get(1).getNextMatchSlot());
+        assertNull(finalMatch.getNextMatchId());
+        verify(tournamentCacheService).evict(tournamentName);
+    }
+
+    @Test
+    void generateBracket_WithFullBracket_ShouldReturnError() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setFullTree(true);
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1")))));
+        tournament.setBracket(bracket);
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertEquals("All rounds of the tournament's bracket have already been generated!", result.get("error"));
+        verifyNoInteractions(matchRepository);
+    }
+
+    @Test
+    void generateSwissRound_WithFivePlayers_ShouldPairByEloAndGiveLowestPlayerABye() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player5", "player3", "player1", "player4", "player2"));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            User user = new User();
+            user.setUsername("player" + i);
+            user.setElo(1600 - i * 100);
+            users.add(user);
+        }
+
+        List<Match> insertedMatches = new ArrayList<>();
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(toPlayerElos(users.toArray(new User[0])));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> {
+            insertedMatches.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(matchRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(insertedMatches));
+
+        // Act
+        Map<String, Object> result = bracketService.generateSwissRound(tournamentName);
+
+        // Assert
+        assertFalse(result.containsKey("error"));
+        verify(matchRepository, times(1)).insert(anyList());
+        assertEquals(3, insertedMatches.size());
+        assertEquals(Arrays.asList("player1", "player3"), insertedMatches.get(0).getPlayers());
+        assertEquals(Arrays.asList("player2", "player4"), insertedMatches.get(1).getPlayers());
+
+        Match bye = insertedMatches.get(2);
+        assertEquals(Arrays.asList("player5", null), bye.getPlayers());
+        assertEquals("player5", bye.getMatchWinner());
+        assertTrue(bye.isCompleted());
+
+        Tournament.Bracket bracket = tournament.getBracket();
+        assertTrue(bracket.isSwiss());
+        assertEquals(3, bracket.getSwissRounds());
+        assertEquals(1, bracket.getRounds().size());
+        assertEquals(1, bracket.getCompletedMatches());
+        assertFalse(bracket.currentRoundCompleted());
+        verify(tournamentCacheService).evict(tournamentName);
+    }
+
+    @Test
+    void generateSwissRound_WithCompletedRound_ShouldPairPlayersOnTheSameScore() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3", "player4"));
+
+        Match match1 = new Match();
+        match1.setId("match1");
+        match1.setPlayers(Arrays.asList("player1", "player3"));
+        match1.setMatchWinner("player3");
+        match1.setCompleted(true);
+        Match match2 = new Match();
+        match2.setId("match2");
+        match2.setPlayers(Arrays.asList("player2", "player4"));
+        match2.setMatchWinner("player2");
+        match2.setCompleted(true);
+
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setSwiss(true);
+        bracket.setSwissRounds(2);
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2")))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player3", "player2")));
+        bracket.setCompletedMatches(2);
+        tournament.setBracket(bracket);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            User user = new User();
+            user.setUsername("player" + i);
+            user.setElo(1600 - i * 100);
+            users.add(user);
+        }
+
+        List<Match> insertedMatches = new ArrayList<>();
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(toPlayerElos(users.toArray(new User[0])));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> {
+            insertedMatches.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(matchRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(Arrays.asList(match1, match2)));
+
+        // Act
+        Map<String, Object> result = bracketService.generateSwissRound(tournamentName);
+
+        // Assert
+        assertFalse(result.containsKey("error"));
+        assertEquals(2, insertedMatches.size());
+        assertEquals(Arrays.asList("player2", "player3"), insertedMatches.get(0).getPlayers());
+        assertEquals(Arrays.asList("player1", "player4"), insertedMatches.get(1).getPlayers());
+        assertEquals(2, bracket.getRounds().size());
+        assertEquals(0, bracket.getCompletedMatches());
+    }
+
+    @Test
+    void generateSwissRound_WithIncompleteRound_ShouldReturnError() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2"));
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setSwiss(true);
+        bracket.setSwissRounds(1);
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1")))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList((String) null)));
+        tournament.setBracket(bracket);
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+
+        // Act
+        Map<String, Object> result = bracketService.generateSwissRound(tournamentName);
+
+        // Assert
+        assertEquals("All matches in the previous round must be completed before generating a new round!",
+            result.get("error"));
+        verifyNoInteractions(matchRepository);
+    }
+
+    @Test
+    void generateBracket_WithSwissBracket_ShouldReturnError() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setSwiss(true);
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1")))));
+        tournament.setBracket(bracket);
+
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertTrue(result.get("error").toString().contains("Swiss"));
+        verifyNoInteractions(matchRepository);
+    }
+
     @Test
     void generateBracket_WithPreliminaryRound_ShouldCreateMatches() {
         // Arrange
@@ -648,10 +942,7 @@ class BracketServiceTest {
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
         
-        Match newMatch = new Match();
-        newMatch.setId("match1");
-        when(matchRepository.save(any(Match.class)))
-            .thenReturn(newMatch);
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Map<String, Object> result = bracketService.generateBracket(tournamentName);
@@ -659,7 +950,7 @@ class BracketServiceTest {
         // Assert
         assertNotNull(result);
         assertFalse(result.containsKey("error"));
-        verify(matchRepository).save(any(Match.class));
+        verify(matchRepository).insert(argThat((List<Match> matches) -> matches.size() == 1));
     }
 
     @Test
@@ -706,8 +997,8 @@ class BracketServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(matchRepository.findAllById(any()))
-            .thenReturn(Arrays.asList(match));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match)));
 
         // Act
         Map<String, Object> result = bracketService.viewTournamentBracket(tournamentName);
@@ -722,6 +1013,172 @@ class BracketServiceTest {
         assertEquals(1, rounds.size());
     }
 
+    @Test
+    void updateMatchResults_CompletingCurrentRoundMatch_ShouldRecordWinnerInBracket() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Match existingMatch = new Match();
+        existingMatch.setId("match2");
+        existingMatch.setTournamentName(tournamentName);
+        existingMatch.setPlayers(Arrays.asList("player3", "player4"));
+
+        Match updatedDetails = new Match();
+        updatedDetails.setId("match2");
+        updatedDetails.setMatchWinner("player3");
+        updatedDetails.setCompleted(true);
+
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2")))));
+        // One player sat out the round, followed by the slots of the two matches
+        bracket.setAdvancingPlayers(new ArrayList<>(Arrays.asList("player5", null, null)));
+        tournament.setBracket(bracket);
+
+        when(matchRepository.findById("match2")).thenReturn(Optional.of(existingMatch));
+        when(matchRepository.save(any(Match.class))).thenReturn(existingMatch);
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
+        when(tournamentRepository.recordMatchResult(tournamentName, 1, 2, "player3", true)).thenReturn(true);
+
+        // Act
+        bracketService.updateMatchResults(updatedDetails);
+
+        // Assert
+        verify(tournamentRepository).recordMatchResult(tournamentName, 1, 2, "player3", true);
+        verify(tournamentRepository, never()).incrementVersion(anyString());
+        verify(tournamentCacheService).evict(tournamentName);
+    }
+
+    @Test
+    void updateMatchResults_CompletingMatch_ShouldRecordPlayersRatings() {
+        // Arrange
+        Match existingMatch = new Match();
+        existingMatch.setId("match1");
+        existingMatch.setTournamentName("TestTournament");
+        existingMatch.setPlayers(Arrays.asList("player1", "player2"));
+
+        Match updatedDetails = new Match();
+        updatedDetails.setId("match1");
+        updatedDetails.setMatchWinner("player2");
+        updatedDetails.setCompleted(true);
+
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(existingMatch));
+        when(userRepository.findEloByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(new PlayerEloDto("player2", 1300), new PlayerEloDto("player1", 1250)));
+        when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Match result = bracketService.updateMatchResults(updatedDetails);
+
+        // Assert
+        assertEquals(Arrays.asList(1250, 1300), result.getPlayerElos());
+    }
+
+    @Test
+    void updateMatchResults_CompletingLinkedMatch_ShouldAdvanceWinnerToNextMatch() {
+        // Arrange
+        Match existingMatch = new Match();
+        existingMatch.setId("match1");
+        existingMatch.setTournamentName("TestTournament");
+        existingMatch.setPlayers(Arrays.asList("player1", "player2"));
+        existingMatch.setNextMatchId("match5");
+        existingMatch.setNextMatchSlot(0);
+
+        Match updatedDetails = new Match();
+        updatedDetails.setId("match1");
+        updatedDetails.setMatchWinner("player2");
+        updatedDetails.setCompleted(true);
+
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(existingMatch));
+        when(matchRepository.save(any(Match.class))).thenReturn(existingMatch);
+        Match nextMatch = new Match();
+        nextMatch.setId("match5");
+        nextMatch.setPlayers(Arrays.asList("player2", null));
+        when(matchRepository.advanceWinner("match5", 0, "player2")).thenReturn(nextMatch);
+
+        // Act
+        bracketService.updateMatchResults(updatedDetails);
+
+        // Assert
+        verify(matchRepository).advanceWinner("match5", 0, "player2");
+        verify(bracketEventService).publish("TestTournament", BracketEventService.MATCH_EVENT, existingMatch);
+        verify(bracketEventService).publish("TestTournament", BracketEventService.MATCH_EVENT, nextMatch);
+        verify(tournamentRepository, never()).findByTournamentName(anyString());
+        verify(tournamentRepository).incrementVersion("TestTournament");
+    }
+
+    @Test
+    void updateMatchResults_WithConcurrentUpdate_ShouldRetryOnFreshMatch() {
+        // Arrange
+        Match staleMatch = new Match();
+        staleMatch.setId("match1");
+        staleMatch.setTournamentName("TestTournament");
+        staleMatch.setPlayers(Arrays.asList("player1", "player2"));
+        Match freshMatch = new Match();
+        freshMatch.setId("match1");
+        freshMatch.setTournamentName("TestTournament");
+        freshMatch.setPlayers(Arrays.asList("player1", "player2"));
+
+        Match updatedDetails = new Match();
+        updatedDetails.setId("match1");
+        updatedDetails.setStartDate(LocalDateTime.now());
+
+        when(matchRepository.findById("match1"))
+            .thenReturn(Optional.of(staleMatch))
+            .thenReturn(Optional.of(freshMatch));
+        when(matchRepository.save(same(staleMatch))).thenThrow(new OptimisticLockingFailureException("Match was changed"));
+        when(matchRepository.save(same(freshMatch))).thenReturn(freshMatch);
+
+        // Act
+        Match result = bracketService.updateMatchResults(updatedDetails);
+
+        // Assert
+        assertSame(freshMatch, result);
+        assertEquals(updatedDetails.getStartDate(), freshMatch.getStartDate());
+        verify(matchRepository, times(2)).findById("match1");
+    }
+
+    @Test
+    void generateBracket_WithConcurrentRound_ShouldRemoveMatchesAndRetry() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament staleTournament = new Tournament();
+        staleTournament.setTournamentName(tournamentName);
+        staleTournament.setPlayersPool(Arrays.asList("player1", "player2"));
+
+        // By the time of the retry, the other admin's first round is in the bracket and not yet played
+        Tournament freshTournament = new Tournament();
+        freshTournament.setTournamentName(tournamentName);
+        freshTournament.setPlayersPool(Arrays.asList("player1", "player2"));
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(new Tournament.Round(Arrays.asList("otherMatch")))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Collections.singletonList(null)));
+        freshTournament.setBracket(bracket);
+
+        User player1 = new User();
+        player1.setUsername("player1");
+        player1.setElo(1500);
+        User player2 = new User();
+        player2.setUsername("player2");
+        player2.setElo(1400);
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(staleTournament))
+            .thenReturn(Optional.of(freshTournament));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(toPlayerElos(player1, player2));
+        when(matchRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tournamentRepository.save(same(staleTournament))).thenThrow(new OptimisticLockingFailureException("Tournament was changed"));
+
+        // Act
+        Map<String, Object> result = bracketService.generateBracket(tournamentName);
+
+        // Assert
+        assertEquals("All matches in the previous round must be completed before generating a new round!",
+            result.get("error"));
+        verify(matchRepository).deleteAllById(anyList());
+        verify(tournamentRepository, times(1)).save(any(Tournament.class));
+    }
+
     @Test
     void updateTournamentEndDate_WithValidTournament_ShouldUpdateDate() {
         // Arrange
@@ -740,7 +1197,7 @@ class BracketServiceTest {
         // Assert
         assertNotNull(result);
         assertNotNull(result.getEndDate());
-        assertEquals(LocalDate.now(), result.getEndDate());
+        assertEquals(Tournament.today(), result.getEndDate());
     }
 
     @Test
@@ -905,8 +1362,8 @@ class BracketServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(matchRepository.findAllById(any()))
-            .thenReturn(Arrays.asList(match));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match)));
 
         // Act
         Map<String, Object> result = bracketService.viewTournamentBracket(tournamentName);
@@ -929,6 +1386,45 @@ class BracketServiceTest {
         assertEquals("match1", matches.get(0).getId());
     }
 
+    @Test
+    void viewTournamentBracket_WithSeveralRounds_ShouldFetchMatchesOnceInRoundOrder() {
+        // Arrange
+        String tournamentName = "TestTournament";
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Arrays.asList(
+            new Tournament.Round(Arrays.asList("match2", "match1")),
+            new Tournament.Round(Arrays.asList("match3"))
+        )));
+        tournament.setBracket(bracket);
+
+        Match match1 = new Match();
+        match1.setId("match1");
+        Match match2 = new Match();
+        match2.setId("match2");
+        Match match3 = new Match();
+        match3.setId("match3");
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(tournament));
+        when(matchRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(Arrays.asList(match3, match1, match2)));
+
+        // Act
+        Map<String, Object> result = bracketService.viewTournamentBracket(tournamentName);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> rounds = (List<Map<String, Object>>) result.get("rounds");
+        assertEquals(2, rounds.size());
+        assertEquals(Arrays.asList(match2, match1), rounds.get(0).get("matches"));
+        assertEquals(Arrays.asList(match3), rounds.get(1).get("matches"));
+        verify(matchRepository, times(1)).findByTournamentName(tournamentName);
+        verify(matchRepository, never()).findAllById(any());
+    }
+
 
     @Test
     void viewTournamentBracket_WithTournamentNotFound_ShouldReturnError() {
@@ -0,0 +1,114 @@
+package com.example.backend.service;
+
+import com.example.backend.model.EloHistory;
+import com.example.backend.repository.EloHistoryCursor;
+import com.example.backend.repository.EloHistoryRepository;
+import com.example.backend.responses.CursorPage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EloHistoryServiceTest {
+
+    @Mock
+    private EloHistoryRepository eloHistoryRepository;
+
+    @Mock
+    private ExecutorService writer;
+
+    private EloHistory createChange(String username, int oldElo, int newElo) {
+        return new EloHistory(username, "match1", oldElo, newElo, 16.0, LocalDateTime.of(2024, 5, 1, 10, 0));
+    }
+
+    // Runs the writes as soon as they are scheduled
+    private void runWritesImmediately() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(writer).execute(any(Runnable.class));
+    }
+
+    @Test
+    void record_ShouldLeaveTheWriteToTheWriter() {
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 500, 10);
+
+        eloHistoryService.record(List.of(createChange("player1", 1000, 1012), createChange("player2", 1200, 1187)));
+
+        verify(writer).execute(any(Runnable.class));
+        verifyNoInteractions(eloHistoryRepository);
+    }
+
+    @Test
+    void record_WithWriterRunning_ShouldWriteInBatches() {
+        runWritesImmediately();
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 2, 10);
+        EloHistory change1 = createChange("player1", 1000, 1012);
+        EloHistory change2 = createChange("player2", 1200, 1187);
+        EloHistory change3 = createChange("player3", 1100, 1108);
+
+        eloHistoryService.record(List.of(change1, change2, change3));
+
+        verify(eloHistoryRepository).insert(List.of(change1, change2));
+        verify(eloHistoryRepository).insert(List.of(change3));
+    }
+
+    @Test
+    void record_WithFullQueue_ShouldWriteTheOverflowDirectly() {
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 500, 2);
+        EloHistory change3 = createChange("player3", 1100, 1108);
+
+        eloHistoryService.record(List.of(createChange("player1", 1000, 1012), createChange("player2", 1200, 1187), change3));
+
+        verify(eloHistoryRepository).insert(List.of(change3));
+    }
+
+    @Test
+    void shutdown_ShouldWriteTheQueuedChanges() throws Exception {
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 500, 10);
+        EloHistory change1 = createChange("player1", 1000, 1012);
+        EloHistory change2 = createChange("player2", 1200, 1187);
+        eloHistoryService.record(List.of(change1, change2));
+
+        eloHistoryService.shutdown();
+
+        verify(writer).shutdown();
+        verify(eloHistoryRepository).insert(List.of(change1, change2));
+    }
+
+    @Test
+    void getRatingHistory_WithMoreChangesThanThePage_ShouldReturnNextCursor() {
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 500, 10);
+        EloHistory latest = createChange("player1", 1012, 1004);
+        latest.setId("history2");
+        EloHistory earlier = createChange("player1", 1000, 1012);
+        earlier.setId("history1");
+        when(eloHistoryRepository.findPageByUsername("player1", null, 2)).thenReturn(Arrays.asList(latest, earlier));
+
+        CursorPage<EloHistory> page = eloHistoryService.getRatingHistory("player1", null, 1);
+
+        assertEquals(List.of(latest), page.getItems());
+        EloHistoryCursor nextCursor = EloHistoryCursor.decode(page.getNextCursor());
+        assertEquals(latest.getTimestamp(), nextCursor.getTimestamp());
+        assertEquals("history2", nextCursor.getId());
+    }
+
+    @Test
+    void getRatingHistory_WithInvalidSize_ShouldThrowException() {
+        EloHistoryService eloHistoryService = new EloHistoryService(eloHistoryRepository, writer, 500, 10);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> eloHistoryService.getRatingHistory("player1", null, EloHistoryService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(eloHistoryRepository);
+    }
+}
@@ -8,20 +8,23 @@ import static org.mockito.Mockito.*;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.model.EloHistory;
 import com.example.backend.model.Match;
 import com.example.backend.model.Tournament;
 import com.example.backend.model.User;
 import com.example.backend.repository.MatchRepository;
-import com.example.backend.repository.TournamentRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.exception.MatchNotFoundException;
 import com.example.backend.exception.TournamentNotFoundException;
@@ -34,10 +37,16 @@ class EloRatingServiceTest {
     private MatchRepository matchRepository;
     
     @Mock
-    private TournamentRepository tournamentRepository;
+    private TournamentCacheService tournamentCacheService;
     
     @Mock
     private UserRepository userRepository;
+
+    @Mock
+    private LeaderboardVersionService leaderboardVersionService;
+
+    @Mock
+    private EloHistoryService eloHistoryService;
     
     @InjectMocks
     private EloRatingService eloRatingService;
@@ -49,6 +58,9 @@ class EloRatingServiceTest {
 
     @BeforeEach
     void setUp() {
+        // The matches have not been rated, so every rating claims its match
+        lenient().when(matchRepository.claimEloRating(anyString(), anyString())).thenReturn(true);
+
         // Common test data setup
         player1 = new User();
         player1.setUsername("player1");
@@ -75,21 +87,38 @@ class EloRatingServiceTest {
         tournament.setBracket(bracket);
     }
 
+    // The rating changes applied to the players, by username
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> captureEloChanges() {
+        ArgumentCaptor<Map<String, Integer>> eloChanges = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).incrementElos(eloChanges.capture());
+        verify(userRepository, never()).save(any(User.class));
+        return eloChanges.getValue();
+    }
+
+    // The rating changes recorded in the history
+    @SuppressWarnings("unchecked")
+    private List<EloHistory> captureHistory() {
+        ArgumentCaptor<List<EloHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(eloHistoryService).record(history.capture());
+        return history.getValue();
+    }
+
     @Test
     void updateEloRating_NormalMatch_SuccessfulUpdate() {
         // Arrange
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Act
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
-        assertTrue(player1.getElo() > 1000); // Winner's Elo should increase
-        assertTrue(player2.getElo() < 1200); // Loser's Elo should decrease
+        Map<String, Integer> eloChanges = captureEloChanges();
+        assertTrue((player1.getElo() + eloChanges.get("player1")) > 1000); // Winner's Elo should increase
+        assertTrue((player2.getElo() + eloChanges.get("player2")) < 1200); // Loser's Elo should decrease
     }
 
     @Test
@@ -121,7 +150,7 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.empty());
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(TournamentNotFoundException.class, () -> 
@@ -139,15 +168,15 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Act
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
-        assertTrue(player1.getElo() > 800);  // Underdog's Elo should increase significantly
-        assertTrue(player2.getElo() < 1200); // Favorite's Elo should decrease significantly
+        Map<String, Integer> eloChanges = captureEloChanges();
+        assertTrue((player1.getElo() + eloChanges.get("player1")) > 800);  // Underdog's Elo should increase significantly
+        assertTrue((player2.getElo() + eloChanges.get("player2")) < 1200); // Favorite's Elo should decrease significantly
     }
 
     @Test
@@ -196,17 +225,17 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Act
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
+        Map<String, Integer> eloChanges = captureEloChanges();
         
         // Capture the actual Elo changes
-        int player1EloDiff = Math.abs(player1.getElo() - 1000);
-        int player2EloDiff = Math.abs(player2.getElo() - 1400);
+        int player1EloDiff = Math.abs((player1.getElo() + eloChanges.get("player1")) - 1000);
+        int player2EloDiff = Math.abs((player2.getElo() + eloChanges.get("player2")) - 1400);
         
         // Final round should have higher K-factor, resulting in larger Elo changes
         // Lowered threshold to 15 to account for actual K-factor calculation
@@ -248,11 +277,11 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
         
-        // Mock userRepository.save to throw an unexpected exception
+        // Mock userRepository.incrementElos to throw an unexpected exception
         doThrow(new IllegalStateException("Unexpected database error"))
-            .when(userRepository).save(any(User.class));
+            .when(userRepository).incrementElos(anyMap());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> 
@@ -263,6 +292,8 @@ class EloRatingServiceTest {
         assertEquals("An unexpected error occurred while updating the elo rating", exception.getMessage());
         assertTrue(exception.getCause() instanceof IllegalStateException);
         assertEquals("Unexpected database error", exception.getCause().getMessage());
+        // The match is given up so that the rating can be retried
+        verify(matchRepository).releaseEloRatings(eq(List.of("match1")), anyString());
     }
 
     @Test
@@ -336,11 +367,11 @@ class EloRatingServiceTest {
         when(matchRepository.findById(anyString())).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
         
         eloRatingService.updateEloRating("matchId");
         
-        verify(userRepository, times(2)).save(any(User.class));
+        verify(userRepository).incrementElos(anyMap());
     }
 
     @Test
@@ -369,16 +400,16 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Act
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
+        Map<String, Integer> eloChanges = captureEloChanges();
         // Verify Elo changes are smaller due to decreased k-factor
-        assertTrue(player2.getElo() > 1200);
-        assertTrue(player1.getElo() < 1000);
+        assertTrue((player2.getElo() + eloChanges.get("player2")) > 1200);
+        assertTrue((player1.getElo() + eloChanges.get("player1")) < 1000);
     }
 
     @Test
@@ -435,7 +466,7 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Store initial Elo ratings
         int initialElo1 = player1.getElo();
@@ -445,15 +476,15 @@ class EloRatingServiceTest {
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
+        Map<String, Integer> eloChanges = captureEloChanges();
         
         // Calculate Elo changes
-        int eloDiff1 = Math.abs(player1.getElo() - initialElo1);
-        int eloDiff2 = Math.abs(player2.getElo() - initialElo2);
+        int eloDiff1 = Math.abs((player1.getElo() + eloChanges.get("player1")) - initialElo1);
+        int eloDiff2 = Math.abs((player2.getElo() + eloChanges.get("player2")) - initialElo2);
         
         // Debug output
-        System.out.println("Initial Elo1: " + initialElo1 + ", Final Elo1: " + player1.getElo() + ", Diff: " + eloDiff1);
-        System.out.println("Initial Elo2: " + initialElo2 + ", Final Elo2: " + player2.getElo() + ", Diff: " + eloDiff2);
+        System.out.println("Initial Elo1: " + initialElo1 + ", Final Elo1: " + (player1.getElo() + eloChanges.get("player1")) + ", Diff: " + eloDiff1);
+        System.out.println("Initial Elo2: " + initialElo2 + ", Final Elo2: " + (player2.getElo() + eloChanges.get("player2")) + ", Diff: " + eloDiff2);
         
         // The k-factor should be increased in quarter-finals:
         // Base k-factor (16 players) = 16
@@ -493,15 +524,230 @@ class EloRatingServiceTest {
         when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
         when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
         when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
-        when(tournamentRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(tournament));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
 
         // Act
         eloRatingService.updateEloRating("match1");
 
         // Assert
-        verify(userRepository, times(2)).save(any(User.class));
+        Map<String, Integer> eloChanges = captureEloChanges();
         // Verify minimum Elo changes due to minimum k-factor
-        assertTrue(Math.abs(player1.getElo() - 1000) >= 8);
-        assertTrue(Math.abs(player2.getElo() - 1000) >= 8);
+        assertTrue(Math.abs((player1.getElo() + eloChanges.get("player1")) - 1000) >= 8);
+        assertTrue(Math.abs((player2.getElo() + eloChanges.get("player2")) - 1000) >= 8);
+    }
+
+    @Test
+    void updateEloRatings_EndedTournament_RatesMatchesInOrderWithOneBulkWrite() {
+        // Arrange
+        Match match2 = new Match();
+        match2.setId("match2");
+        match2.setPlayers(Arrays.asList("player1", "player3"));
+        match2.setMatchWinner("player3");
+        match2.setCompleted(true);
+        match.setCompleted(true);
+
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(Arrays.asList(
+            new Tournament.Round(Arrays.asList("match1")),
+            new Tournament.Round(Arrays.asList("match2"))));
+        tournament.setBracket(bracket);
+        tournament.setStatus(Tournament.Status.ENDED);
+
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+        when(matchRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(Arrays.asList(match2, match)));
+        // player1 was also rated 100 points up by another match between the read and the increment
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(
+            Arrays.asList(new PlayerEloDto("player1", 1000), new PlayerEloDto("player2", 1200), new PlayerEloDto("player3", 1012)),
+            Arrays.asList(new PlayerEloDto("player1", 1104), new PlayerEloDto("player2", 1187), new PlayerEloDto("player3", 1020)));
+        when(matchRepository.claimEloRatings(anyCollection(), anyString())).thenReturn(Arrays.asList("match1", "match2"));
+        when(userRepository.incrementElos(anyMap())).thenReturn(3);
+
+        // Act
+        Map<String, Object> result = eloRatingService.updateEloRatings("tournament1", null);
+
+        // Assert
+        // player1 beats player2 as the underdog and goes up to 1012, then loses to player3, now rated the same, by half the k-factor
+        verify(userRepository).incrementElos(Map.of("player1", 4, "player2", -13, "player3", 8));
+        verify(userRepository, never()).save(any(User.class));
+        verify(leaderboardVersionService).increment();
+        assertEquals(2, result.get("matchesRated"));
+        assertEquals(3, result.get("playersUpdated"));
+
+        // Every rating change of the chain is recorded, in the order the matches were played,
+        // and player1's chain ends at the rating actually stored
+        List<EloHistory> history = captureHistory();
+        assertEquals(4, history.size());
+        assertEquals("match1", history.get(0).getMatchId());
+        assertEquals(1100, history.get(0).getOldElo());
+        assertEquals(1112, history.get(0).getNewElo());
+        assertEquals(12, history.get(0).getDelta());
+        assertEquals(1200, history.get(1).getOldElo());
+        assertEquals(1187, history.get(1).getNewElo());
+        assertEquals("player1", history.get(2).getUsername());
+        assertEquals("match2", history.get(2).getMatchId());
+        assertEquals(1112, history.get(2).getOldElo());
+        assertEquals(1104, history.get(2).getNewElo());
+        assertEquals(-8, history.get(2).getDelta());
+    }
+
+    @Test
+    void updateEloRatings_WithRecordedRatings_RatesEachMatchFromItsMatchTimeRatings() {
+        // Arrange
+        // Both matches were completed with their players rated as recorded; the players have played other matches since
+        match.setPlayerElos(Arrays.asList(1000, 1200));
+        match.setCompleted(true);
+        Match match2 = new Match();
+        match2.setId("match2");
+        match2.setPlayers(Arrays.asList("player1", "player3"));
+        match2.setMatchWinner("player3");
+        match2.setPlayerElos(Arrays.asList(1000, 1000));
+        match2.setCompleted(true);
+
+        tournament.getBracket().setRounds(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2"))));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+        when(matchRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(Arrays.asList(match, match2)));
+        when(matchRepository.claimEloRatings(anyCollection(), anyString())).thenReturn(Arrays.asList("match1", "match2"));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(
+            Arrays.asList(new PlayerEloDto("player1", 1050), new PlayerEloDto("player2", 1150), new PlayerEloDto("player3", 1000)),
+            Arrays.asList(new PlayerEloDto("player1", 1054), new PlayerEloDto("player2", 1137), new PlayerEloDto("player3", 1008)));
+        when(userRepository.incrementElos(anyMap())).thenReturn(3);
+
+        // Act
+        Map<String, Object> result = eloRatingService.updateEloRatings("tournament1", 0);
+
+        // Assert
+        // The changes rating each match on its own would give: the underdog's win against a 200 points higher rating,
+        // then a loss between equal ratings, both with the minimum k-factor
+        assertEquals(2, result.get("matchesRated"));
+        verify(userRepository).incrementElos(Map.of("player1", 4, "player2", -13, "player3", 8));
+
+        // The history follows the stored ratings the changes were added to
+        List<EloHistory> history = captureHistory();
+        assertEquals(4, history.size());
+        assertEquals(1050, history.get(0).getOldElo());
+        assertEquals(1062, history.get(0).getNewElo());
+        assertEquals("player1", history.get(2).getUsername());
+        assertEquals(1062, history.get(2).getOldElo());
+        assertEquals(1054, history.get(2).getNewElo());
+        assertEquals(1000, history.get(3).getOldElo());
+        assertEquals(1008, history.get(3).getNewElo());
+    }
+
+    @Test
+    void updateEloRatings_OngoingTournamentWithoutRound_ThrowsException() {
+        // Arrange
+        tournament.setStatus(Tournament.Status.IN_PROGRESS);
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> eloRatingService.updateEloRatings("tournament1", null));
+        verifyNoInteractions(matchRepository, leaderboardVersionService);
+    }
+
+    @Test
+    void updateEloRatings_UnknownRound_ThrowsException() {
+        // Arrange
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> eloRatingService.updateEloRatings("tournament1", 3));
+        verifyNoInteractions(matchRepository);
+    }
+
+    @Test
+    void updateEloRating_WithRecordedRatings_AppliesChangesFromMatchTimeRatings() {
+        // Arrange
+        // The players were rated 1000 and 1200 when the match was completed; player2 has played other matches since
+        match.setPlayerElos(Arrays.asList(1000, 1200));
+        player2.setElo(1000);
+
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
+        when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
+        when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+        when(userRepository.incrementElos(anyMap())).thenReturn(2);
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(Arrays.asList(
+            new PlayerEloDto("player1", 1012), new PlayerEloDto("player2", 987)));
+
+        // Act
+        eloRatingService.updateEloRating("match1");
+
+        // Assert
+        // The underdog's win against a 200 points higher rating, with the minimum k-factor
+        assertEquals(Map.of("player1", 12, "player2", -13), captureEloChanges());
+        verify(leaderboardVersionService).increment();
+
+        // The history holds the ratings actually stored before and after the changes
+        List<EloHistory> history = captureHistory();
+        assertEquals(2, history.size());
+        assertEquals("player1", history.get(0).getUsername());
+        assertEquals("match1", history.get(0).getMatchId());
+        assertEquals(1000, history.get(0).getOldElo());
+        assertEquals(1012, history.get(0).getNewElo());
+        assertEquals(12, history.get(0).getDelta());
+        assertEquals(16.0, history.get(0).getKFactor());
+        assertEquals(1000, history.get(1).getOldElo());
+        assertEquals(987, history.get(1).getNewElo());
+        assertEquals(-13, history.get(1).getDelta());
+    }
+
+    @Test
+    void updateEloRating_AlreadyRatedMatch_ChangesNothing() {
+        // Arrange
+        match.setEloRatingId("rating1");
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
+
+        // Act
+        boolean updated = eloRatingService.updateEloRating("match1");
+
+        // Assert
+        assertFalse(updated);
+        verify(matchRepository, never()).claimEloRating(anyString(), anyString());
+        verifyNoInteractions(userRepository, leaderboardVersionService, eloHistoryService);
+    }
+
+    @Test
+    void updateEloRating_MatchClaimedByConcurrentRating_ChangesNothing() {
+        // Arrange
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
+        when(userRepository.findByUsername("player1")).thenReturn(Optional.of(player1));
+        when(userRepository.findByUsername("player2")).thenReturn(Optional.of(player2));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+        when(matchRepository.claimEloRating(eq("match1"), anyString())).thenReturn(false);
+
+        // Act
+        boolean updated = eloRatingService.updateEloRating("match1");
+
+        // Assert
+        assertFalse(updated);
+        verify(userRepository, never()).incrementElos(anyMap());
+        verifyNoInteractions(leaderboardVersionService, eloHistoryService);
+    }
+
+    @Test
+    void updateEloRatings_SkipsMatchesRatedBefore() {
+        // Arrange
+        Match match2 = new Match();
+        match2.setId("match2");
+        match2.setPlayers(Arrays.asList("player1", "player3"));
+        match2.setMatchWinner("player3");
+        match2.setCompleted(true);
+        match2.setEloRatingId("rating1");
+        match.setCompleted(true);
+
+        tournament.getBracket().setRounds(Arrays.asList(new Tournament.Round(Arrays.asList("match1", "match2"))));
+        when(tournamentCacheService.findByName("tournament1")).thenReturn(Optional.of(tournament));
+        when(matchRepository.findByTournamentName("tournament1")).thenReturn(Optional.of(Arrays.asList(match, match2)));
+        when(matchRepository.claimEloRatings(eq(List.of("match1")), anyString())).thenReturn(List.of("match1"));
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(Arrays.asList(
+            new PlayerEloDto("player1", 1000), new PlayerEloDto("player2", 1200)));
+        when(userRepository.incrementElos(anyMap())).thenReturn(2);
+
+        // Act
+        Map<String, Object> result = eloRatingService.updateEloRatings("tournament1", 0);
+
+        // Assert
+        assertEquals(1, result.get("matchesRated"));
+        verify(userRepository).incrementElos(Map.of("player1", 12, "player2", -13));
     }
 }
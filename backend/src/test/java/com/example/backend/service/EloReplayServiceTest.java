@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.PlayerEloDto;
+import com.example.backend.model.EloHistory;
+import com.example.backend.model.Match;
+import com.example.backend.model.Tournament;
+import com.example.backend.repository.MatchRepository;
+import com.example.backend.repository.TournamentRepository;
+import com.example.backend.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EloReplayServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TournamentRepository tournamentRepository;
+    @Mock
+    private LeaderboardVersionService leaderboardVersionService;
+    @Mock
+    private EloHistoryService eloHistoryService;
+
+    @InjectMocks
+    private EloReplayService eloReplayService;
+
+    private Match createMatch(String id, String tournamentName, String player0, String player1, String winner) {
+        Match match = new Match();
+        match.setId(id);
+        match.setTournamentName(tournamentName);
+        match.setPlayers(Arrays.asList(player0, player1));
+        match.setMatchWinner(winner);
+        match.setCompleted(true);
+        return match;
+    }
+
+    // The rating changes recorded in the history, by username
+    @SuppressWarnings("unchecked")
+    private Map<String, EloHistory> captureHistory() {
+        ArgumentCaptor<List<EloHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(eloHistoryService).record(history.capture());
+        return history.getValue().stream().collect(Collectors.toMap(EloHistory::getUsername, change -> change));
+    }
+
+    private Tournament createTournament(String tournamentName, String... matchIds) {
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        tournament.setPlayersPool(Arrays.asList("player1", "player2", "player3", "player4"));
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(Arrays.asList(new Tournament.Round(Arrays.asList(matchIds))));
+        tournament.setBracket(bracket);
+        return tournament;
+    }
+
+    @Test
+    void replayEloRatings_ReplaysMatchesInOrderFromBaseRating() {
+        // Arrange
+        when(userRepository.streamElos()).thenReturn(Stream.of(
+            new PlayerEloDto("player1", 1010), new PlayerEloDto("player2", 1190), new PlayerEloDto("player3", 1200)));
+        when(matchRepository.streamRatedInPlayedOrder()).thenReturn(Stream.of(
+            createMatch("match1", "Tournament", "player1", "player2", "player1"),
+            createMatch("match2", "Tournament", "player1", "player3", "player3")));
+        when(tournamentRepository.findByTournamentName("Tournament"))
+            .thenReturn(Optional.of(createTournament("Tournament", "match1", "match2")));
+        when(userRepository.replaceElos(anyMap(), anyMap())).thenReturn(3);
+
+        // Act
+        Map<String, Object> result = eloReplayService.replayEloRatings();
+
+        // Assert
+        // Everyone starts from 1200: player1 beats player2 to go up to 1208, then loses to player3 with the minimum k-factor
+        verify(userRepository).replaceElos(
+            Map.of("player1", 1010, "player2", 1190, "player3", 1200),
+            Map.of("player1", 1199, "player2", 1192, "player3", 1208));
+        verify(matchRepository).claimUnratedCompleted(anyString());
+        // The tournament is read once for all of its matches
+        verify(tournamentRepository, times(1)).findByTournamentName("Tournament");
+        verify(leaderboardVersionService).increment();
+        assertEquals(2, result.get("matchesReplayed"));
+        assertEquals(0, result.get("matchesSkipped"));
+        assertEquals(3, result.get("playersUpdated"));
+        assertEquals(0, result.get("playersSkipped"));
+
+        // Every rating written back is recorded, from the rating it replaced, under the replay's marker
+        Map<String, EloHistory> history = captureHistory();
+        assertEquals(3, history.size());
+        assertEquals(1010, history.get("player1").getOldElo());
+        assertEquals(1199, history.get("player1").getNewElo());
+        assertEquals(189, history.get("player1").getDelta());
+        assertTrue(history.get("player1").getMatchId().startsWith(EloReplayService.REPLAY_MARKER_PREFIX));
+        verify(userRepository, never()).findEloByUsernameIn(anyCollection());
+    }
+
+    @Test
+    void replayEloRatings_SkipsUnrateableMatchesAndUnchangedRatings() {
+        // Arrange
+        when(userRepository.streamElos()).thenReturn(Stream.of(
+            new PlayerEloDto("player1", 1200), new PlayerEloDto("player2", 1200)));
+        when(matchRepository.streamRatedInPlayedOrder()).thenReturn(Stream.of(
+            // A player who is no longer registered, and a tournament that no longer exists
+            createMatch("match1", "Tournament", "player1", "removedPlayer", "player1"),
+            createMatch("match2", "RemovedTournament", "player1", "player2", "player2")));
+        when(tournamentRepository.findByTournamentName("RemovedTournament")).thenReturn(Optional.empty());
+
+        // Act
+        Map<String, Object> result = eloReplayService.replayEloRatings();
+
+        // Assert
+        verify(userRepository, never()).replaceElos(anyMap(), anyMap());
+        verifyNoInteractions(leaderboardVersionService, eloHistoryService);
+        assertEquals(0, result.get("matchesReplayed"));
+        assertEquals(2, result.get("matchesSkipped"));
+        assertEquals(0, result.get("playersUpdated"));
+    }
+
+    @Test
+    void replayEloRatings_CountsRatingsChangedDuringTheReplayAsSkipped() {
+        // Arrange
+        when(userRepository.streamElos()).thenReturn(Stream.of(
+            new PlayerEloDto("player1", 1000), new PlayerEloDto("player2", 1000)));
+        when(matchRepository.streamRatedInPlayedOrder()).thenReturn(Stream.of(
+            createMatch("match1", "Tournament", "player1", "player2", "player1")));
+        when(tournamentRepository.findByTournamentName("Tournament"))
+            .thenReturn(Optional.of(createTournament("Tournament", "match1")));
+        // player2 was rated again while the replay ran, so their rating is no longer the one that was read
+        when(userRepository.replaceElos(anyMap(), anyMap())).thenReturn(1);
+        when(userRepository.findEloByUsernameIn(anyCollection())).thenReturn(Arrays.asList(
+            new PlayerEloDto("player1", 1208), new PlayerEloDto("player2", 1012)));
+
+        // Act
+        Map<String, Object> result = eloReplayService.replayEloRatings();
+
+        // Assert
+        assertEquals(1, result.get("playersUpdated"));
+        assertEquals(1, result.get("playersSkipped"));
+        verify(leaderboardVersionService).increment();
+
+        // Only the rating that was written back is recorded
+        Map<String, EloHistory> history = captureHistory();
+        assertEquals(1, history.size());
+        assertEquals(1000, history.get("player1").getOldElo());
+        assertEquals(1208, history.get("player1").getNewElo());
+    }
+}
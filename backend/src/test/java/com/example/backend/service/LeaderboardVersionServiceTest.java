@@ -0,0 +1,59 @@
+package com.example.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardVersionServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private LeaderboardVersionService leaderboardVersionService;
+
+    @Test
+    void currentVersion_WithStoredCounter_ReturnsItsVersion() {
+        when(mongoTemplate.findById(LeaderboardVersionService.LEADERBOARD_COUNTER, Document.class,
+                LeaderboardVersionService.COUNTERS_COLLECTION))
+            .thenReturn(new Document("_id", LeaderboardVersionService.LEADERBOARD_COUNTER).append("version", 7));
+
+        assertEquals(7L, leaderboardVersionService.currentVersion());
+    }
+
+    @Test
+    void currentVersion_WithoutCounter_ReturnsZero() {
+        when(mongoTemplate.findById(LeaderboardVersionService.LEADERBOARD_COUNTER, Document.class,
+                LeaderboardVersionService.COUNTERS_COLLECTION))
+            .thenReturn(null);
+
+        assertEquals(0L, leaderboardVersionService.currentVersion());
+    }
+
+    @Test
+    void increment_UpsertsCounterWithIncrement() {
+        leaderboardVersionService.increment();
+
+        verify(mongoTemplate).upsert(any(Query.class),
+            argThat((Update update) -> update.getUpdateObject().get("$inc", Document.class).get("version").equals(1)),
+            eq(LeaderboardVersionService.COUNTERS_COLLECTION));
+    }
+
+    @Test
+    void increment_WithDatabaseError_DoesNotThrow() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), anyString()))
+            .thenThrow(new RuntimeException("Database error"));
+
+        assertDoesNotThrow(() -> leaderboardVersionService.increment());
+    }
+}
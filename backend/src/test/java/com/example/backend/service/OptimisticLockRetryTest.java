@@ -0,0 +1,50 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryTest {
+
+    @Test
+    void run_WithConflictThenSuccess_ReturnsResultOfRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = OptimisticLockRetry.run("Test operation", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OptimisticLockingFailureException("Conflict");
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void run_WithConflictOnEveryAttempt_ThrowsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> OptimisticLockRetry.run("Test operation", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("Conflict");
+        }));
+
+        assertEquals(OptimisticLockRetry.MAX_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    void run_WithOtherException_DoesNotRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> OptimisticLockRetry.run("Test operation", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Invalid");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
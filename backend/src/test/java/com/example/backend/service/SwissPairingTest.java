@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwissPairingTest {
+
+    private Map<String, Integer> eloOf(String... players) {
+        Map<String, Integer> eloByUsername = new HashMap<>();
+        for (int i = 0; i < players.length; i++) {
+            eloByUsername.put(players[i], 2000 - i * 10);
+        }
+        return eloByUsername;
+    }
+
+    private void played(Map<String, Set<String>> opponents, String player1, String player2) {
+        opponents.computeIfAbsent(player1, username -> new HashSet<>()).add(player2);
+        opponents.computeIfAbsent(player2, username -> new HashSet<>()).add(player1);
+    }
+
+    @Test
+    void pair_FirstRound_PairsTopHalfWithBottomHalfByElo() {
+        List<String> players = Arrays.asList("p1", "p2", "p3", "p4", "p5", "p6");
+
+        SwissPairing.Result result = SwissPairing.pair(players, eloOf("p1", "p2", "p3", "p4", "p5", "p6"),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet());
+
+        assertEquals(Arrays.asList(
+            Arrays.asList("p1", "p4"),
+            Arrays.asList("p2", "p5"),
+            Arrays.asList("p3", "p6")), result.pairs());
+        assertNull(result.bye());
+    }
+
+    @Test
+    void pair_WithPreviousOpponent_AvoidsRematch() {
+        List<String> players = Arrays.asList("p1", "p2", "p3", "p4");
+        Map<String, Integer> scores = Map.of("p1", 1, "p2", 1);
+        Map<String, Set<String>> opponents = new HashMap<>();
+        played(opponents, "p1", "p2");
+        played(opponents, "p3", "p4");
+
+        SwissPairing.Result result = SwissPairing.pair(players, eloOf("p1", "p2", "p3", "p4"),
+            scores, opponents, Collections.emptySet());
+
+        assertEquals(2, result.pairs().size());
+        for (List<String> pair : result.pairs()) {
+            assertFalse(opponents.get(pair.get(0)).contains(pair.get(1)), "Rematch between " + pair);
+        }
+    }
+
+    @Test
+    void pair_WithOddPlayers_GivesByeToLowestRankedPlayerWithoutOne() {
+        List<String> players = Arrays.asList("p1", "p2", "p3", "p4", "p5");
+
+        SwissPairing.Result result = SwissPairing.pair(players, eloOf("p1", "p2", "p3", "p4", "p5"),
+            Collections.emptyMap(), Collections.emptyMap(), Set.of("p5"));
+
+        assertEquals("p4", result.bye());
+        assertEquals(2, result.pairs().size());
+        assertTrue(result.pairs().stream().noneMatch(pair -> pair.contains("p4")));
+    }
+
+    @Test
+    void pair_WithThousandsOfPlayers_PairsEveryPlayerOnce() {
+        List<String> players = new ArrayList<>();
+        Map<String, Integer> eloByUsername = new HashMap<>();
+        Map<String, Integer> scores = new HashMap<>();
+        Map<String, Set<String>> opponents = new HashMap<>();
+        for (int i = 0; i < 5001; i++) {
+            String player = "player" + i;
+            players.add(player);
+            eloByUsername.put(player, 1000 + (i * 37) % 1500);
+            scores.put(player, i % 4);
+        }
+        for (int i = 0; i + 1 < players.size(); i += 2) {
+            played(opponents, players.get(i), players.get(i + 1));
+        }
+
+        SwissPairing.Result result = SwissPairing.pair(players, eloByUsername, scores, opponents, Collections.emptySet());
+
+        Set<String> paired = new HashSet<>();
+        for (List<String> pair : result.pairs()) {
+            assertTrue(paired.add(pair.get(0)));
+            assertTrue(paired.add(pair.get(1)));
+            assertFalse(opponents.getOrDefault(pair.get(0), Collections.emptySet()).contains(pair.get(1)));
+        }
+        assertNotNull(result.bye());
+        assertTrue(paired.add(result.bye()));
+        assertEquals(players.size(), paired.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Tournament;
+import com.example.backend.repository.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentCacheServiceTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    private TournamentCacheService tournamentCacheService;
+
+    @BeforeEach
+    void setUp() {
+        tournamentCacheService = new TournamentCacheService(
+            tournamentRepository, new ConcurrentMapCacheManager(TournamentCacheService.TOURNAMENTS_BY_NAME));
+    }
+
+    private Tournament createTournament(String tournamentName) {
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName(tournamentName);
+        return tournament;
+    }
+
+    @Test
+    void findByName_RepeatedLookups_ReadsDatabaseOnce() {
+        Tournament tournament = createTournament("Test Tournament");
+        when(tournamentRepository.findByTournamentName("Test Tournament")).thenReturn(Optional.of(tournament));
+
+        Optional<Tournament> first = tournamentCacheService.findByName("Test Tournament");
+        Optional<Tournament> second = tournamentCacheService.findByName("Test Tournament");
+
+        assertSame(tournament, first.orElseThrow());
+        assertSame(tournament, second.orElseThrow());
+        verify(tournamentRepository, times(1)).findByTournamentName("Test Tournament");
+    }
+
+    @Test
+    void findByName_MissingTournament_IsNotCached() {
+        Tournament tournament = createTournament("New Tournament");
+        when(tournamentRepository.findByTournamentName("New Tournament"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(tournament));
+
+        assertTrue(tournamentCacheService.findByName("New Tournament").isEmpty());
+        assertSame(tournament, tournamentCacheService.findByName("New Tournament").orElseThrow());
+    }
+
+    @Test
+    void evict_AfterWrite_ReadsDatabaseAgain() {
+        Tournament tournament = createTournament("Test Tournament");
+        Tournament updatedTournament = createTournament("Test Tournament");
+        when(tournamentRepository.findByTournamentName("Test Tournament"))
+            .thenReturn(Optional.of(tournament))
+            .thenReturn(Optional.of(updatedTournament));
+
+        tournamentCacheService.findByName("Test Tournament");
+        tournamentCacheService.evict("Test Tournament");
+
+        assertSame(updatedTournament, tournamentCacheService.findByName("Test Tournament").orElseThrow());
+        verify(tournamentRepository, times(2)).findByTournamentName("Test Tournament");
+    }
+
+    @Test
+    void evictAll_AfterBulkUpdate_ReadsDatabaseAgain() {
+        when(tournamentRepository.findByTournamentName(anyString()))
+            .thenAnswer(invocation -> Optional.of(createTournament(invocation.getArgument(0))));
+
+        tournamentCacheService.findByName("Tournament A");
+        tournamentCacheService.findByName("Tournament B");
+        tournamentCacheService.evictAll();
+        tournamentCacheService.findByName("Tournament A");
+        tournamentCacheService.findByName("Tournament B");
+
+        verify(tournamentRepository, times(2)).findByTournamentName("Tournament A");
+        verify(tournamentRepository, times(2)).findByTournamentName("Tournament B");
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.TournamentSummaryDto;
+import com.example.backend.dto.UserSummaryDto;
 import com.example.backend.model.Tournament;
 import com.example.backend.model.User;
 import com.example.backend.model.Match;
 import com.example.backend.repository.TournamentRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.MatchRepository;
+import com.example.backend.repository.TournamentCursor;
+import com.example.backend.repository.UserCursor;
+import com.example.backend.responses.CursorPage;
 import com.example.backend.exception.TournamentNotFoundException;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.exception.InvalidJoinException;
@@ -15,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.data.util.Pair;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -27,7 +33,10 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import java.util.ArrayList;
@@ -51,9 +60,15 @@ class TournamentServiceTest {
     @Mock
     private MatchRepository matchRepository;
 
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+
     @BeforeEach
     void setUp() {
         reset(tournamentRepository);
+        // Read the tournaments through to the repository, as the cache does on a miss
+        lenient().when(tournamentCacheService.findByName(any()))
+            .thenAnswer(invocation -> tournamentRepository.findByTournamentName(invocation.getArgument(0)));
     }
 
     @Test
@@ -145,7 +160,8 @@ class TournamentServiceTest {
         startedTournament.setClosingSignupDate(LocalDate.now().minusDays(14));
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Collections.singletonList(startedTournament));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class)))
+            .thenReturn(Collections.emptyList()); // Excluded by the eligibility query
 
         List<Tournament> result = tournamentService.getUserAvailableTournaments(username);
 
@@ -178,7 +194,8 @@ class TournamentServiceTest {
         tournament.setBracket(bracket); // Tournament has started, should be excluded
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Collections.singletonList(tournament));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class)))
+            .thenReturn(Collections.emptyList()); // Excluded by the eligibility query
 
         List<Tournament> result = tournamentService.getUserAvailableTournaments(username);
 
@@ -206,7 +223,7 @@ class TournamentServiceTest {
         tournament.setCreatedBy("admin");
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Collections.singletonList(tournament));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class))).thenReturn(Collections.singletonList(tournament));
 
         List<Tournament> result = tournamentService.getUserAvailableTournaments(username);
 
@@ -230,7 +247,8 @@ class TournamentServiceTest {
         tournament.setClosingSignupDate(LocalDate.now().minusDays(1));
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Collections.singletonList(tournament));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class)))
+            .thenReturn(Collections.emptyList()); // Excluded by the eligibility query
 
         List<Tournament> result = tournamentService.getUserAvailableTournaments(username);
 
@@ -258,7 +276,7 @@ class TournamentServiceTest {
         eligibleTournament.setClosingSignupDate(LocalDate.now().plusDays(1));
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Collections.singletonList(eligibleTournament));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class))).thenReturn(Collections.singletonList(eligibleTournament));
 
         List<Tournament> result = tournamentService.getUserAvailableTournaments(username);
 
@@ -266,6 +284,24 @@ class TournamentServiceTest {
         assertTrue(result.contains(eligibleTournament));
     }
 
+    @Test
+    void getUserAvailableTournaments_QueriesWithUserAttributes() throws UserNotFoundException {
+        String username = "testUser";
+        User user = createValidUser(username);
+        user.setElo(1500);
+        user.setGender("Female");
+        user.setAge(15);
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(tournamentRepository.findAvailableForPlayer(eq(username), anyInt(), any(), anyInt(), any(LocalDate.class)))
+            .thenReturn(Collections.emptyList());
+
+        tournamentService.getUserAvailableTournaments(username);
+
+        verify(tournamentRepository).findAvailableForPlayer(username, 1500, "Female", 15, Tournament.today());
+        verify(tournamentRepository, never()).findAll();
+    }
+
     @Test
     void getUserUpcomingTournaments_UserHasUpcomingTournaments_ReturnsUpcomingTournaments() throws UserNotFoundException {
         LocalDate currentDate = LocalDate.now();
@@ -277,7 +313,8 @@ class TournamentServiceTest {
         upcomingTournament2.setStartDate(currentDate.plusDays(2));
         upcomingTournament2.setPlayersPool(new ArrayList<>(Collections.singletonList("testUser")));
 
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(upcomingTournament1, upcomingTournament2));
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusInOrderByStartDateAsc(eq("testUser"), anyList()))
+            .thenReturn(Arrays.asList(upcomingTournament1, upcomingTournament2));
 
         List<Tournament> result = tournamentService.getUserUpcomingTournaments("testUser");
 
@@ -293,7 +330,7 @@ class TournamentServiceTest {
         future1.setStartDate(LocalDate.now().minusDays(1));
         future2.setStartDate(LocalDate.now().plusDays(2));
 
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByStatusInOrderByStartDateAsc(anyList()))
             .thenReturn(Arrays.asList(future1, future2));
 
         List<Tournament> result = tournamentService.getCurrentAndFutureTournaments();
@@ -313,7 +350,7 @@ class TournamentServiceTest {
         past1.setEndDate(LocalDate.now().minusDays(1));
         past2.setEndDate(LocalDate.now().minusDays(2));
 
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED))
             .thenReturn(Arrays.asList(past1, past2));
 
         List<Tournament> result = tournamentService.getAdminHistory(adminName);
@@ -436,6 +473,30 @@ class TournamentServiceTest {
         assertFalse(result.getPlayersPool().contains(username));
         assertTrue(result.getPlayersPool().contains("otherUser1"));
         assertTrue(result.getPlayersPool().contains("otherUser2"));
+        verify(tournamentCacheService).evict(tournamentName);
+    }
+
+    @Test
+    void removePlayerFromTournament_ConcurrentUpdate_RetriesOnFreshTournament() {
+        String tournamentName = "Test Tournament";
+        String username = "testUser";
+        Tournament staleTournament = createValidTournament(tournamentName);
+        staleTournament.setPlayersPool(new ArrayList<>(Arrays.asList(username)));
+        Tournament freshTournament = createValidTournament(tournamentName);
+        freshTournament.setPlayersPool(new ArrayList<>(Arrays.asList(username, "newPlayer")));
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(staleTournament))
+            .thenReturn(Optional.of(freshTournament));
+        when(userRepository.existsByUsername(username)).thenReturn(true);
+        when(tournamentRepository.save(same(staleTournament)))
+            .thenThrow(new OptimisticLockingFailureException("Tournament was changed"));
+        when(tournamentRepository.save(same(freshTournament))).thenReturn(freshTournament);
+
+        Tournament result = tournamentService.removePlayerFromTournament(tournamentName, username);
+
+        assertEquals(Collections.singletonList("newPlayer"), result.getPlayersPool());
+        verify(tournamentCacheService).evict(tournamentName);
     }
 
     @Test
@@ -688,36 +749,22 @@ class TournamentServiceTest {
         upcomingTournament2.setCreatedBy(adminName);
         upcomingTournament2.setStartDate(LocalDate.now().plusDays(20));
         
-        Tournament otherAdminTournament = createValidTournament("OtherAdmin");
-        otherAdminTournament.setCreatedBy("otherAdmin");
-        otherAdminTournament.setStartDate(LocalDate.now().plusDays(15));
-        
-        Tournament endedTournament = createValidTournament("Ended");
-        endedTournament.setCreatedBy(adminName);
-        endedTournament.setEndDate(LocalDate.now().minusDays(1));
-
-        List<Tournament> allTournaments = Arrays.asList(
-            upcomingTournament1, 
-            upcomingTournament2, 
-            otherAdminTournament, 
-            endedTournament
-        );
-
-        when(tournamentRepository.findAll()).thenReturn(allTournaments);
+        // Other admins' and ended tournaments are filtered out by the query itself
+        when(tournamentRepository.findByCreatedByAndStatusInOrderByStartDateAsc(eq(adminName), anyList()))
+            .thenReturn(Arrays.asList(upcomingTournament1, upcomingTournament2));
 
         List<Tournament> result = tournamentService.getAdminUpcomingTournaments(adminName);
 
         assertEquals(2, result.size());
         assertTrue(result.contains(upcomingTournament1));
         assertTrue(result.contains(upcomingTournament2));
-        assertFalse(result.contains(otherAdminTournament));
-        assertFalse(result.contains(endedTournament));
+        verify(tournamentRepository, never()).findAll();
     }
 
     @Test
     void getAdminUpcomingTournaments_NoTournaments_ReturnsEmptyList() {
         String adminName = "testAdmin";
-        when(tournamentRepository.findAll()).thenReturn(Collections.emptyList());
+        when(tournamentRepository.findByCreatedByAndStatusInOrderByStartDateAsc(eq(adminName), anyList())).thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getAdminUpcomingTournaments(adminName);
 
@@ -727,27 +774,21 @@ class TournamentServiceTest {
     @Test
     void getAdminUpcomingTournaments_OnlyEndedTournaments_ReturnsEmptyList() {
         String adminName = "testAdmin";
-        
-        Tournament endedTournament1 = createValidTournament("Ended1");
-        endedTournament1.setCreatedBy(adminName);
-        endedTournament1.setEndDate(LocalDate.now().minusDays(1));
-        
-        Tournament endedTournament2 = createValidTournament("Ended2");
-        endedTournament2.setCreatedBy(adminName);
-        endedTournament2.setEndDate(LocalDate.now().minusDays(2));
 
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(endedTournament1, endedTournament2));
+        // Ended tournaments do not match the endDate == null filter
+        when(tournamentRepository.findByCreatedByAndStatusInOrderByStartDateAsc(eq(adminName), anyList()))
+            .thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getAdminUpcomingTournaments(adminName);
 
         assertTrue(result.isEmpty());
+        verify(tournamentRepository).findByCreatedByAndStatusInOrderByStartDateAsc(eq(adminName), anyList());
     }
 
     @Test
     void getAdminUpcomingTournaments_emptyRepository_ThrowsRuntimeException() {
         String adminName = "testAdmin";
-        when(tournamentRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(tournamentRepository.findByCreatedByAndStatusInOrderByStartDateAsc(eq(adminName), anyList())).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> tournamentService.getAdminUpcomingTournaments(adminName));
@@ -842,88 +883,89 @@ class TournamentServiceTest {
         user.setAge(22);
         user.setStrikeReports(new ArrayList<>());
 
-        Tournament tournament = createValidTournament(tournamentName);
-        tournament.setPlayerCapacity(8);
-        tournament.setPlayersPool(new ArrayList<>());
-        tournament.setMinElo(1000);
-        tournament.setMaxElo(2000);
-        tournament.setGender("Male");
-        tournament.setCategory("Open");
-        tournament.setBracket(null);
-        tournament.setCreatedBy("admin");
-        tournament.setClosingSignupDate(LocalDate.now().plusMonths(1));
+        Tournament joinedTournament = createValidTournament(tournamentName);
+        joinedTournament.setPlayersPool(new ArrayList<>(Arrays.asList(username)));
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(tournament));
-        when(tournamentRepository.save(any(Tournament.class))).thenReturn(tournament);
+        when(tournamentRepository.addPlayerIfAvailable(eq(tournamentName), eq(username), eq(1500), eq("Male"), eq(22),
+                anyCollection(), any(LocalDate.class)))
+            .thenReturn(joinedTournament);
 
         tournamentService.joinTournament(username, tournamentName);
 
-        assertTrue(tournament.getPlayersPool().contains(username));
-        verify(tournamentRepository).save(tournament);
+        verify(tournamentRepository, never()).save(any(Tournament.class));
     }
 
     @Test
-    void joinTournament_TournamentNotFoundInAvailableList_throwsTournamentNotFoundException() {
+    void joinTournament_TournamentNotFoundInAvailableList_throwsInvalidJoinException() {
         String username = "testUser";
         String tournamentName = "Test Tournament";
         
         User user = createValidUser(username);
-        user.setElo(1500);
-        user.setGender("Male");
-        user.setAge(20);
-
-        Tournament tournament = createValidTournament(tournamentName);
-        tournament.setPlayerCapacity(8);
-        tournament.setPlayersPool(Arrays.asList(username)); // User already in tournament
-        tournament.setBracket(null);
-        tournament.setStartDate(LocalDate.now().plusMonths(1));
-        tournament.setClosingSignupDate(LocalDate.now().plusWeeks(2));
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(tournament)); // This is needed for getUserAvailableTournaments
+        when(tournamentRepository.addPlayerIfAvailable(eq(tournamentName), eq(username), anyInt(), any(), anyInt(),
+                anyCollection(), any(LocalDate.class)))
+            .thenReturn(null); // Excluded by the update's filter, e.g. full or already joined
+        when(tournamentRepository.existsByTournamentName(tournamentName)).thenReturn(true);
 
-        assertThrows(InvalidJoinException.class, 
+        InvalidJoinException exception = assertThrows(InvalidJoinException.class, 
             () -> tournamentService.joinTournament(username, tournamentName));
+        assertEquals("Tournament is not available for joining", exception.getMessage());
     }
 
     @Test
-    void joinTournament_SuccessfulJoin_returnsUpdatedTournament() throws TournamentNotFoundException, InvalidJoinException {
+    void joinTournament_RecentStrike_ExcludesStrikingAdminsTournaments() throws TournamentNotFoundException, InvalidJoinException {
         String username = "testUser";
         String tournamentName = "Test Tournament";
-        Tournament tournament = createValidTournament(tournamentName);
-        tournament.setPlayersPool(new ArrayList<>());
         User user = createValidUser(username);
+        user.getStrikeReports().add(new User.StrikeReport("No show", LocalDateTime.now().minusDays(1), "strikingAdmin"));
+        user.getStrikeReports().add(new User.StrikeReport("Late", LocalDateTime.now().minusMonths(2), "otherAdmin"));
 
         when(userRepository.findByUsername(username))
             .thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll())
-            .thenReturn(Collections.singletonList(tournament));
-        when(tournamentRepository.save(any(Tournament.class)))
-            .thenReturn(tournament);
+        when(tournamentRepository.addPlayerIfAvailable(eq(tournamentName), eq(username), anyInt(), any(), anyInt(),
+                anyCollection(), any(LocalDate.class)))
+            .thenReturn(createValidTournament(tournamentName));
 
         tournamentService.joinTournament(username, tournamentName);
 
-        verify(tournamentRepository).save(argThat(savedTournament -> 
-            savedTournament.getPlayersPool().contains(username)
-        ));
+        verify(tournamentRepository).addPlayerIfAvailable(eq(tournamentName), eq(username), anyInt(), any(), anyInt(),
+            eq(Set.of("strikingAdmin")), any(LocalDate.class));
     }
 
     @Test
-    void joinTournament_noAvailableTournaments_throwsInvalidJoinException() {
+    void joinTournament_ThreeStrikes_throwsInvalidJoinExceptionWithoutUpdating() {
         String username = "testUser";
         String tournamentName = "Test Tournament";
         User user = createValidUser(username);
+        for (int i = 0; i < 3; i++) {
+            user.getStrikeReports().add(new User.StrikeReport("Strike " + i, LocalDateTime.now().minusMonths(2), "admin" + i));
+        }
 
         when(userRepository.findByUsername(username))
             .thenReturn(Optional.of(user));
-        when(tournamentRepository.findAll())
-            .thenReturn(Collections.emptyList());
 
-        InvalidJoinException exception = assertThrows(InvalidJoinException.class,
+        assertThrows(InvalidJoinException.class,
+            () -> tournamentService.joinTournament(username, tournamentName));
+        verify(tournamentRepository, never()).addPlayerIfAvailable(any(), any(), anyInt(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void joinTournament_nonexistentTournament_throwsTournamentNotFoundException() {
+        String username = "testUser";
+        String tournamentName = "Test Tournament";
+        User user = createValidUser(username);
+
+        when(userRepository.findByUsername(username))
+            .thenReturn(Optional.of(user));
+        when(tournamentRepository.addPlayerIfAvailable(eq(tournamentName), eq(username), anyInt(), any(), anyInt(),
+                anyCollection(), any(LocalDate.class)))
+            .thenReturn(null);
+        when(tournamentRepository.existsByTournamentName(tournamentName)).thenReturn(false);
+
+        assertThrows(TournamentNotFoundException.class,
             () -> tournamentService.joinTournament(username, tournamentName));
-        assertEquals("No available tournaments found for the user: " + username, 
-            exception.getMessage());
     }
 
     @Test
@@ -1022,7 +1064,7 @@ class TournamentServiceTest {
     @Test
     void getAdminHistory_NoTournaments_returnsEmptyList() {
         String adminName = "admin";
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED))
             .thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getAdminHistory(adminName);
@@ -1033,14 +1075,10 @@ class TournamentServiceTest {
     @Test
     void getAdminHistory_OnlyCurrentTournaments_returnsEmptyList() {
         String adminName = "admin";
-        Tournament current1 = createValidTournament("Current1");
-        Tournament current2 = createValidTournament("Current2");
-        current1.setCreatedBy(adminName);
-        current2.setCreatedBy(adminName);
-        // No endDate set, meaning they're current tournaments
 
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(current1, current2));
+        // Current tournaments have no endDate, so they do not match the history query
+        when(tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED))
+            .thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getAdminHistory(adminName);
 
@@ -1059,31 +1097,22 @@ class TournamentServiceTest {
         past1.setEndDate(LocalDate.now().minusDays(1));
         past2.setEndDate(LocalDate.now().minusDays(2));
 
-        // Current tournaments
-        Tournament current = createValidTournament("Current");
-        current.setCreatedBy(adminName);
-        
-        // Other admin's tournament
-        Tournament otherAdminPast = createValidTournament("OtherPast");
-        otherAdminPast.setCreatedBy("otherAdmin");
-        otherAdminPast.setEndDate(LocalDate.now().minusDays(1));
-
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(past1, past2, current, otherAdminPast));
+        // Current and other admins' tournaments are filtered out by the query itself
+        when(tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED))
+            .thenReturn(Arrays.asList(past1, past2));
 
         List<Tournament> result = tournamentService.getAdminHistory(adminName);
 
         assertEquals(2, result.size());
-        assertTrue(result.contains(past1));
-        assertTrue(result.contains(past2));
-        assertFalse(result.contains(current));
-        assertFalse(result.contains(otherAdminPast));
+        assertEquals(past1, result.get(0));
+        assertEquals(past2, result.get(1));
+        verify(tournamentRepository, never()).findAll();
     }
 
     @Test
     void getAdminHistory_noTournamentsinRepository_throwsRuntimeException() {
         String adminName = "admin";
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByCreatedByAndStatusOrderByEndDateDesc(adminName, Tournament.Status.ENDED))
             .thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, 
@@ -1106,7 +1135,7 @@ class TournamentServiceTest {
         past2.setEndDate(LocalDate.now().minusDays(2));
         past2.setPlayersPool(new ArrayList<>(Collections.singletonList(username)));
 
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED))
             .thenReturn(Arrays.asList(past1, past2));
 
         List<Tournament> result = tournamentService.getUserHistory(username);
@@ -1114,50 +1143,44 @@ class TournamentServiceTest {
         assertEquals(2, result.size());
         assertTrue(result.contains(past1));
         assertTrue(result.contains(past2));
-        verify(tournamentRepository).findAll();
+        verify(tournamentRepository).findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
     }
 
     @Test
     void getUserHistory_NoParticipation_ReturnsEmptyList() {
         String username = "testUser";
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED))
             .thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getUserHistory(username);
 
         assertTrue(result.isEmpty());
-        verify(tournamentRepository).findAll();
+        verify(tournamentRepository).findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
     }
 
     @Test
     void getUserHistory_TournamentWithNullPlayersPool_HandlesNullSafely() {
         String username = "testUser";
         
-        // Create a tournament with null players pool
-        Tournament tournament = createValidTournament("Test");
-        tournament.setEndDate(LocalDate.now().minusDays(1));
-        tournament.setPlayersPool(new ArrayList<>()); // Initialize with empty list instead of null
-        
         // Create a valid tournament with non-empty players pool
         Tournament validTournament = createValidTournament("Valid");
         validTournament.setEndDate(LocalDate.now().minusDays(1));
         validTournament.setPlayersPool(new ArrayList<>(Collections.singletonList(username)));
 
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(tournament, validTournament));
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED))
+            .thenReturn(Arrays.asList(validTournament));
 
         List<Tournament> result = tournamentService.getUserHistory(username);
 
         assertEquals(1, result.size());
         assertTrue(result.contains(validTournament));
-        assertFalse(result.contains(tournament));
-        verify(tournamentRepository).findAll();
+        verify(tournamentRepository).findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
     }
 
     @Test
     void getUserHistory_DatabaseError_ThrowsRuntimeException() {
         String username = "testUser";
-        when(tournamentRepository.findAll())
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED))
             .thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, 
@@ -1165,7 +1188,7 @@ class TournamentServiceTest {
         
         assertEquals("Unexpected error occurred while fetching tournaments history for user", 
             exception.getMessage());
-        verify(tournamentRepository).findAll();
+        verify(tournamentRepository).findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
     }
 
     @Test
@@ -1177,55 +1200,36 @@ class TournamentServiceTest {
         userTournament.setEndDate(LocalDate.now().minusDays(1));
         userTournament.setPlayersPool(new ArrayList<>(Collections.singletonList(username)));
         
-        // Tournament without user in players pool
-        Tournament otherTournament = createValidTournament("OtherTournament");
-        otherTournament.setEndDate(LocalDate.now().minusDays(1));
-        otherTournament.setPlayersPool(new ArrayList<>(Collections.singletonList("otherUser")));
-
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(userTournament, otherTournament));
+        // Tournaments without the user in the players pool are filtered out by the query itself
+        when(tournamentRepository.findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED))
+            .thenReturn(Arrays.asList(userTournament));
 
         List<Tournament> result = tournamentService.getUserHistory(username);
 
         assertEquals(1, result.size());
         assertTrue(result.contains(userTournament));
-        assertFalse(result.contains(otherTournament));
-        verify(tournamentRepository).findAll();
+        verify(tournamentRepository).findByPlayersPoolContainingAndStatusOrderByEndDateDesc(username, Tournament.Status.ENDED);
     }
 
     @Test
     void getCurrentTournaments_NoTournaments_ReturnsEmptyList() {
-        when(tournamentRepository.findAll()).thenReturn(Collections.emptyList());
-
-        List<Tournament> result = tournamentService.getCurrentTournaments();
-
-        assertTrue(result.isEmpty());
-        verify(tournamentRepository).findAll();
-    }
-
-    @Test
-    void getCurrentTournaments_OnlyEndedTournaments_ReturnsEmptyList() {
-        Tournament endedTournament = createValidTournament("Ended Tournament");
-        endedTournament.setEndDate(LocalDate.now().minusDays(1));
-
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(endedTournament));
+        when(tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS)).thenReturn(Collections.emptyList());
 
         List<Tournament> result = tournamentService.getCurrentTournaments();
 
         assertTrue(result.isEmpty());
+        verify(tournamentRepository).findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS);
     }
 
     @Test
-    void getCurrentTournaments_OnlyFutureTournaments_ReturnsEmptyList() {
-        Tournament futureTournament = createValidTournament("Future Tournament");
-        futureTournament.setStartDate(LocalDate.now().plusDays(1));
-        futureTournament.setEndDate(null);
-
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(futureTournament));
+    void getCurrentTournaments_QueriesInProgressStatus() {
+        when(tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS))
+            .thenReturn(Collections.emptyList());
 
-        List<Tournament> result = tournamentService.getCurrentTournaments();
+        tournamentService.getCurrentTournaments();
 
-        assertTrue(result.isEmpty());
+        verify(tournamentRepository).findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS);
+        verify(tournamentRepository, never()).findAll();
     }
 
     @Test
@@ -1235,7 +1239,7 @@ class TournamentServiceTest {
         currentTournament.setStartDate(LocalDate.now());
         currentTournament.setEndDate(null);
 
-        when(tournamentRepository.findAll()).thenReturn(Arrays.asList(currentTournament));
+        when(tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS)).thenReturn(Arrays.asList(currentTournament));
 
         List<Tournament> result = tournamentService.getCurrentTournaments();
 
@@ -1250,16 +1254,9 @@ class TournamentServiceTest {
         currentTournament.setStartDate(LocalDate.now());
         currentTournament.setEndDate(null);
 
-        // Create an ended tournament
-        Tournament endedTournament = createValidTournament("Ended Tournament");
-        endedTournament.setEndDate(LocalDate.now().minusDays(1));
-
-        // Create a future tournament
-        Tournament futureTournament = createValidTournament("Future Tournament");
-        futureTournament.setStartDate(LocalDate.now().plusDays(1));
-
-        when(tournamentRepository.findAll())
-            .thenReturn(Arrays.asList(currentTournament, endedTournament, futureTournament));
+        // Ended and future tournaments are filtered out by the query itself
+        when(tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS))
+            .thenReturn(Arrays.asList(currentTournament));
 
         List<Tournament> result = tournamentService.getCurrentTournaments();
 
@@ -1269,7 +1266,7 @@ class TournamentServiceTest {
 
     @Test
     void getCurrentTournaments_RepositoryThrowsException_ThrowsRuntimeException() {
-        when(tournamentRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(tournamentRepository.findByStatusOrderByStartDateAsc(Tournament.Status.IN_PROGRESS)).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> tournamentService.getCurrentTournaments());
@@ -1277,6 +1274,91 @@ class TournamentServiceTest {
         assertEquals("Unexpected error occurred while fetching current tournaments", exception.getMessage());
     }
 
+    @Test
+    void getCurrentAndFutureTournaments_MoreThanPageSize_ReturnsPageAndNextCursor() {
+        TournamentSummaryDto tournament1 = createTournamentSummary("Tournament 1");
+        tournament1.setId("id1");
+        TournamentSummaryDto tournament2 = createTournamentSummary("Tournament 2");
+        tournament2.setId("id2");
+        TournamentSummaryDto tournament3 = createTournamentSummary("Tournament 3");
+        tournament3.setId("id3");
+
+        when(tournamentRepository.findPageOrderByStartDate(anyList(), isNull(), isNull(), isNull(), eq(3)))
+            .thenReturn(Arrays.asList(tournament1, tournament2, tournament3));
+
+        CursorPage<TournamentSummaryDto> result = tournamentService.getCurrentAndFutureTournaments(null, 2);
+
+        assertEquals(Arrays.asList(tournament1, tournament2), result.getItems());
+        assertEquals(new TournamentCursor(tournament2.getStartDate(), "id2"), TournamentCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getCurrentAndFutureTournaments_WithCursor_QueriesAfterCursor() {
+        TournamentCursor cursor = new TournamentCursor(LocalDate.now().plusMonths(2), "id2");
+        TournamentSummaryDto tournament3 = createTournamentSummary("Tournament 3");
+        tournament3.setId("id3");
+
+        when(tournamentRepository.findPageOrderByStartDate(anyList(), isNull(), isNull(), eq(cursor), eq(3)))
+            .thenReturn(Collections.singletonList(tournament3));
+
+        CursorPage<TournamentSummaryDto> result = tournamentService.getCurrentAndFutureTournaments(cursor.encode(), 2);
+
+        assertEquals(Collections.singletonList(tournament3), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAdminHistory_MoreThanPageSize_NextCursorUsesEndDate() {
+        String adminName = "admin";
+        TournamentSummaryDto tournament1 = createTournamentSummary("Tournament 1");
+        tournament1.setId("id1");
+        tournament1.setEndDate(LocalDate.now().minusDays(1));
+        TournamentSummaryDto tournament2 = createTournamentSummary("Tournament 2");
+        tournament2.setId("id2");
+        tournament2.setEndDate(LocalDate.now().minusDays(2));
+
+        when(tournamentRepository.findEndedPageOrderByEndDate(adminName, null, null, 2))
+            .thenReturn(Arrays.asList(tournament1, tournament2));
+
+        CursorPage<TournamentSummaryDto> result = tournamentService.getAdminHistory(adminName, null, 1);
+
+        assertEquals(Collections.singletonList(tournament1), result.getItems());
+        assertEquals(new TournamentCursor(tournament1.getEndDate(), "id1"), TournamentCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getUserAvailableTournaments_Paged_ExcludesTournamentsFromStrikingAdmin() throws UserNotFoundException {
+        String username = "testUser";
+        User user = createValidUser(username);
+        user.getStrikeReports().add(new User.StrikeReport("No show", LocalDateTime.now().minusDays(1), "strikingAdmin"));
+        TournamentSummaryDto fromStrikingAdmin = createTournamentSummary("Tournament 1");
+        fromStrikingAdmin.setCreatedBy("strikingAdmin");
+        TournamentSummaryDto fromOtherAdmin = createTournamentSummary("Tournament 2");
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(tournamentRepository.findAvailablePageForPlayer(eq(username), anyInt(), anyString(), anyInt(), any(LocalDate.class), isNull(), eq(11)))
+            .thenReturn(Arrays.asList(fromStrikingAdmin, fromOtherAdmin));
+
+        CursorPage<TournamentSummaryDto> result = tournamentService.getUserAvailableTournaments(username, null, 10);
+
+        assertEquals(Collections.singletonList(fromOtherAdmin), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllTournaments_InvalidCursor_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> tournamentService.getAllTournaments("not a cursor", 10));
+        verifyNoInteractions(tournamentRepository);
+    }
+
+    @Test
+    void getAllTournaments_PageSizeTooLarge_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> tournamentService.getAllTournaments(null, TournamentService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(tournamentRepository);
+    }
+
     @Test
     void getAvailableUsersForTournament_Success_ReturnsEligibleUsers() throws TournamentNotFoundException {
         String tournamentName = "Test Tournament";
@@ -1286,22 +1368,47 @@ class TournamentServiceTest {
         tournament.setCreatedBy(adminName);
         tournament.setEndDate(null);
         
-        User eligibleUser1 = createValidUser("user1");
-        User eligibleUser2 = createValidUser("user2");
-        User ineligibleUser = createValidUser("user3");
-        ineligibleUser.setGender("Female"); // Different gender makes user ineligible
+        UserSummaryDto eligibleUser1 = new UserSummaryDto("user1", "First", "User", 1500, "Male", 20);
+        UserSummaryDto eligibleUser2 = new UserSummaryDto("user2", "Second", "User", 1600, "Male", 20);
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findAll())
-            .thenReturn(Arrays.asList(eligibleUser1, eligibleUser2, ineligibleUser));
+        when(userRepository.findAvailableForTournament(eq(tournament), any(LocalDateTime.class), isNull(), eq(51)))
+            .thenReturn(Arrays.asList(eligibleUser1, eligibleUser2));
 
-        List<User> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName);
+        CursorPage<UserSummaryDto> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, 50);
 
-        assertEquals(2, result.size());
-        assertTrue(result.contains(eligibleUser1));
-        assertTrue(result.contains(eligibleUser2));
-        assertFalse(result.contains(ineligibleUser));
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.getItems().contains(eligibleUser1));
+        assertTrue(result.getItems().contains(eligibleUser2));
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAvailableUsersForTournament_MoreThanPageSize_NextCursorUsesLastUser() throws TournamentNotFoundException {
+        String tournamentName = "Test Tournament";
+        String adminName = "admin";
+
+        Tournament tournament = createValidTournament(tournamentName);
+        tournament.setCreatedBy(adminName);
+        tournament.setEndDate(null);
+
+        UserSummaryDto eligibleUser1 = new UserSummaryDto("user1", "First", "User", 1500, "Male", 20);
+        UserSummaryDto eligibleUser2 = new UserSummaryDto("user2", "Second", "User", 1600, "Male", 20);
+        UserSummaryDto eligibleUser3 = new UserSummaryDto("user3", "Third", "User", 1700, "Male", 20);
+
+        UserCursor after = new UserCursor(1400, "user0");
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(tournament));
+        when(userRepository.findAvailableForTournament(eq(tournament), any(LocalDateTime.class), eq(after), eq(3)))
+            .thenReturn(Arrays.asList(eligibleUser1, eligibleUser2, eligibleUser3));
+
+        CursorPage<UserSummaryDto> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName, after.encode(), 2);
+
+        assertEquals(Arrays.asList(eligibleUser1, eligibleUser2), result.getItems());
+        assertEquals(new UserCursor(1600, "user2").encode(), result.getNextCursor());
     }
 
     @Test
@@ -1313,7 +1420,7 @@ class TournamentServiceTest {
             .thenReturn(Optional.empty());
 
         assertThrows(TournamentNotFoundException.class, 
-            () -> tournamentService.getAvailableUsersForTournament(tournamentName, adminName));
+            () -> tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, 50));
     }
 
     @Test
@@ -1329,7 +1436,7 @@ class TournamentServiceTest {
             .thenReturn(Optional.of(tournament));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> tournamentService.getAvailableUsersForTournament(tournamentName, wrongAdmin));
+            () -> tournamentService.getAvailableUsersForTournament(tournamentName, wrongAdmin, null, 50));
         
         assertEquals("This tournament was not created by the specified admin", exception.getMessage());
     }
@@ -1347,7 +1454,7 @@ class TournamentServiceTest {
             .thenReturn(Optional.of(tournament));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-            () -> tournamentService.getAvailableUsersForTournament(tournamentName, adminName));
+            () -> tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, 50));
         
         assertEquals("Cannot get available users for a tournament that has already ended", exception.getMessage());
     }
@@ -1360,51 +1467,46 @@ class TournamentServiceTest {
         Tournament tournament = createValidTournament(tournamentName);
         tournament.setCreatedBy(adminName);
         tournament.setEndDate(null);
-        tournament.setGender("Male");
-
-        User ineligibleUser1 = createValidUser("user1");
-        ineligibleUser1.setGender("Female");
-        User ineligibleUser2 = createValidUser("user2");
-        ineligibleUser2.setEnabled(false);
-        User ineligibleUser3 = createValidUser("user3");
-        ineligibleUser3.setAvailable(false);
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findAll())
-            .thenReturn(Arrays.asList(ineligibleUser1, ineligibleUser2, ineligibleUser3));
+        when(userRepository.findAvailableForTournament(eq(tournament), any(LocalDateTime.class), isNull(), eq(51)))
+            .thenReturn(new ArrayList<>());
 
-        List<User> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName);
+        CursorPage<UserSummaryDto> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, 50);
 
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
     }
 
     @Test
-    void getAvailableUsersForTournament_DisabledAndUnavailableUsers_Filtered() throws TournamentNotFoundException {
+    void getAvailableUsersForTournament_TournamentFull_ReturnsEmptyListWithoutQueryingUsers() throws TournamentNotFoundException {
         String tournamentName = "Test Tournament";
         String adminName = "admin";
 
         Tournament tournament = createValidTournament(tournamentName);
         tournament.setCreatedBy(adminName);
         tournament.setEndDate(null);
-
-        User eligibleUser = createValidUser("user1");
-        User disabledUser = createValidUser("user2");
-        disabledUser.setEnabled(false);
-        User unavailableUser = createValidUser("user3");
-        unavailableUser.setAvailable(false);
+        tournament.setPlayerCapacity(2);
+        tournament.setPlayersPool(new ArrayList<>(Arrays.asList("player1", "player2")));
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findAll())
-            .thenReturn(Arrays.asList(eligibleUser, disabledUser, unavailableUser));
 
-        List<User> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName);
+        CursorPage<UserSummaryDto> result = tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, 50);
 
-        assertEquals(1, result.size());
-        assertTrue(result.contains(eligibleUser));
-        assertFalse(result.contains(disabledUser));
-        assertFalse(result.contains(unavailableUser));
+        assertTrue(result.getItems().isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAvailableUsersForTournament_PageSizeTooLarge_ThrowsIllegalArgumentException() {
+        String tournamentName = "Test Tournament";
+        String adminName = "admin";
+        int size = TournamentService.MAX_AVAILABLE_USERS_PAGE_SIZE + 1;
+
+        assertThrows(IllegalArgumentException.class,
+            () -> tournamentService.getAvailableUsersForTournament(tournamentName, adminName, null, size));
+        verifyNoInteractions(tournamentRepository, userRepository);
     }
 
     @Test
@@ -1416,12 +1518,10 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(createValidUser("player1")));
-        when(userRepository.findByUsername("player2"))
-            .thenReturn(Optional.of(createValidUser("player2")));
-        when(tournamentRepository.save(any(Tournament.class)))
-            .thenReturn(tournament);
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(createValidUser("player1"), createValidUser("player2")));
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, players))
+            .thenReturn(true);
 
         Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
 
@@ -1430,6 +1530,9 @@ class TournamentServiceTest {
         List<String> addedPlayers = (List<String>) result.get("addedPlayers");
         assertEquals(2, addedPlayers.size());
         assertTrue(addedPlayers.containsAll(players));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(tournamentRepository, never()).save(any(Tournament.class));
+        verify(tournamentCacheService).evict(tournamentName);
     }
 
     @Test
@@ -1454,8 +1557,8 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername(anyString()))
-            .thenReturn(Optional.of(createValidUser("player1")));
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(createValidUser("player1"), createValidUser("player2")));
 
         Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
 
@@ -1477,14 +1580,10 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("validPlayer"))
-            .thenReturn(Optional.of(validUser));
-        when(userRepository.findByUsername("invalidPlayer"))
-            .thenReturn(Optional.empty());
-        when(userRepository.findByUsername("existingPlayer"))
-            .thenReturn(Optional.of(existingUser));
-        when(tournamentRepository.save(any(Tournament.class)))
-            .thenReturn(tournament);
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(validUser, existingUser));
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, Collections.singletonList("validPlayer")))
+            .thenReturn(true);
 
         Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
 
@@ -1508,9 +1607,9 @@ class TournamentServiceTest {
 
         when(tournamentRepository.findByTournamentName(tournamentName))
             .thenReturn(Optional.of(tournament));
-        when(userRepository.findByUsername("player1"))
-            .thenReturn(Optional.of(createValidUser("player1")));
-        when(tournamentRepository.save(any(Tournament.class)))
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Collections.singletonList(createValidUser("player1")));
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, players))
             .thenThrow(new RuntimeException("Database error"));
 
         Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
@@ -1518,6 +1617,53 @@ class TournamentServiceTest {
         assertEquals("Failed to save tournament after updating players pool", result.get("error"));
     }
 
+    @Test
+    void updatePlayersPool_MorePlayersThanCapacity_SkipsPlayersBeyondCapacity() {
+        String tournamentName = "Test Tournament";
+        List<String> players = Arrays.asList("player1", "player2", "player3");
+        Tournament tournament = createValidTournament(tournamentName);
+        tournament.setPlayerCapacity(3);
+        tournament.setPlayersPool(new ArrayList<>(Collections.singletonList("existingPlayer")));
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(tournament));
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(createValidUser("player1"), createValidUser("player2"), createValidUser("player3")));
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, Arrays.asList("player1", "player2")))
+            .thenReturn(true);
+
+        Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
+
+        assertEquals("Players pool updated successfully", result.get("message"));
+        assertEquals(Arrays.asList("player1", "player2"), result.get("addedPlayers"));
+        assertEquals(Collections.singletonList("player3 (not eligible)"), result.get("skippedPlayers"));
+    }
+
+    @Test
+    void updatePlayersPool_PoolChangedConcurrently_SelectsAgainstNewPool() {
+        String tournamentName = "Test Tournament";
+        List<String> players = Arrays.asList("player1", "player2");
+        Tournament tournament = createValidTournament(tournamentName);
+        Tournament updatedTournament = createValidTournament(tournamentName);
+        updatedTournament.setPlayersPool(new ArrayList<>(Collections.singletonList("player1")));
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(tournament))
+            .thenReturn(Optional.of(updatedTournament));
+        when(userRepository.findByUsernameIn(anyCollection()))
+            .thenReturn(Arrays.asList(createValidUser("player1"), createValidUser("player2")));
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, players))
+            .thenReturn(false);
+        when(tournamentRepository.addPlayersWithinCapacity(tournamentName, Collections.singletonList("player2")))
+            .thenReturn(true);
+
+        Map<String, Object> result = tournamentService.updatePlayersPool(tournamentName, players);
+
+        assertEquals("Players pool updated successfully", result.get("message"));
+        assertEquals(Collections.singletonList("player2"), result.get("addedPlayers"));
+        assertEquals(Collections.singletonList("player1 (already in tournament)"), result.get("skippedPlayers"));
+    }
+
     @Test
     void updatePlayersPool_EmptyPlayersList_ReturnsNoChanges() {
         String tournamentName = "Test Tournament";
@@ -1557,6 +1703,15 @@ class TournamentServiceTest {
         return tournament;
     }
 
+    private TournamentSummaryDto createTournamentSummary(String name) {
+        TournamentSummaryDto summary = new TournamentSummaryDto();
+        summary.setTournamentName(name);
+        summary.setCreatedBy("admin");
+        summary.setStartDate(LocalDate.now().plusMonths(2));
+        summary.setPlayerCapacity(8);
+        return summary;
+    }
+
     private User createValidUser(String username) {
         User user = new User();
         user.setUsername(username);
@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Tournament;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentStatusSchedulerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+
+    @InjectMocks
+    private TournamentStatusScheduler tournamentStatusScheduler;
+
+    @Test
+    void refreshStatuses_AppliesEveryTransition_ReturnsTotalModified() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Tournament.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        long updated = tournamentStatusScheduler.refreshStatuses(LocalDate.now());
+
+        // ENDED, IN_PROGRESS, SIGNUP_CLOSED and the SIGNUP_OPEN backfill
+        assertEquals(4, updated);
+        verify(mongoTemplate, times(4)).updateMulti(any(Query.class), any(Update.class), eq(Tournament.class));
+        verify(tournamentCacheService).evictAll();
+    }
+
+    @Test
+    void refreshStatuses_NothingModified_KeepsCache() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Tournament.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        long updated = tournamentStatusScheduler.refreshStatuses(LocalDate.now());
+
+        assertEquals(0, updated);
+        verify(tournamentCacheService, never()).evictAll();
+    }
+
+    @Test
+    void refreshStatuses_DatabaseError_DoesNotPropagate() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Tournament.class)))
+            .thenThrow(new RuntimeException("Database error"));
+
+        assertDoesNotThrow(() -> tournamentStatusScheduler.refreshStatuses());
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
@@ -49,6 +50,12 @@ class UserServiceTest {
     @Mock
     private TournamentService tournamentService;
 
+    @Mock
+    private TournamentCacheService tournamentCacheService;
+
+    @Mock
+    private BracketEventService bracketEventService;
+
     @InjectMocks
     private UserService userService;
 
@@ -305,7 +312,7 @@ class UserServiceTest {
         existingUser.setUsername(username);
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(existingUser));
-        when(tournamentService.getCurrentAndFutureTournaments()).thenReturn(Collections.emptyList());
+        when(tournamentService.getUserUpcomingTournaments(username)).thenReturn(Collections.emptyList());
 
         userService.deleteUser(username);
 
@@ -327,7 +334,7 @@ class UserServiceTest {
         user.setUsername(username);
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentService.getCurrentAndFutureTournaments()).thenReturn(Collections.emptyList());
+        when(tournamentService.getUserUpcomingTournaments(username)).thenReturn(Collections.emptyList());
 
         userService.deleteUser(username);
 
@@ -496,10 +503,11 @@ class UserServiceTest {
         match.setPlayers(new ArrayList<>());
         
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentService.getCurrentAndFutureTournaments())
+        when(tournamentService.getUserUpcomingTournaments(username))
             .thenReturn(Collections.singletonList(tournament));
         when(matchRepository.findByTournamentName("testTournament"))
             .thenReturn(Optional.of(Collections.singletonList(match)));
+        when(tournamentRepository.findByTournamentName("testTournament")).thenReturn(Optional.of(tournament));
 
         userService.deleteUser(username);
 
@@ -518,16 +526,19 @@ class UserServiceTest {
         tournament.setPlayersPool(new ArrayList<>(Arrays.asList(username, "otherPlayer")));
         
         Match match = new Match();
+        match.setId("match1");
         match.setTournamentName("testTournament");
         match.setPlayers(new ArrayList<>(Arrays.asList(username, "otherPlayer")));
         match.setCompleted(false);
         match.setSets(new ArrayList<>());
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentService.getCurrentAndFutureTournaments())
+        when(tournamentService.getUserUpcomingTournaments(username))
             .thenReturn(Collections.singletonList(tournament));
         when(matchRepository.findByTournamentName("testTournament"))
             .thenReturn(Optional.of(Collections.singletonList(match)));
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
+        when(tournamentRepository.findByTournamentName("testTournament")).thenReturn(Optional.of(tournament));
 
         userService.deleteUser(username);
 
@@ -535,6 +546,57 @@ class UserServiceTest {
         assertFalse(match.getPlayers().contains(username));
     }
 
+    @Test
+    void deleteUser_ConcurrentTournamentUpdate_RetriesWithoutRedoingMatches() {
+        String username = "testUser";
+        User user = new User();
+        user.setUsername(username);
+
+        Tournament staleTournament = createTournamentWithBracket(username);
+        Tournament freshTournament = createTournamentWithBracket(username);
+        freshTournament.getPlayersPool().add("newPlayer");
+
+        Match match = new Match();
+        match.setId("match1");
+        match.setTournamentName("testTournament");
+        match.setPlayers(new ArrayList<>(Arrays.asList(username, "otherPlayer")));
+        match.setSets(new ArrayList<>());
+
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(tournamentService.getUserUpcomingTournaments(username))
+            .thenReturn(Collections.singletonList(staleTournament));
+        when(matchRepository.findByTournamentName("testTournament"))
+            .thenReturn(Optional.of(Collections.singletonList(match)));
+        when(matchRepository.findById("match1")).thenReturn(Optional.of(match));
+        when(tournamentRepository.findByTournamentName("testTournament"))
+            .thenReturn(Optional.of(staleTournament))
+            .thenReturn(Optional.of(freshTournament));
+        when(tournamentRepository.save(same(staleTournament)))
+            .thenThrow(new OptimisticLockingFailureException("Tournament was changed"));
+
+        userService.deleteUser(username);
+
+        // The match is changed once, and the fresh tournament records its result once
+        verify(matchRepository, times(1)).save(match);
+        verify(tournamentRepository).save(freshTournament);
+        assertEquals(Arrays.asList("otherPlayer", "newPlayer"), freshTournament.getPlayersPool());
+        assertEquals(Collections.singletonList("otherPlayer"), freshTournament.getBracket().getAdvancingPlayers());
+        assertEquals(1, freshTournament.getBracket().getCompletedMatches());
+        verify(userRepository).delete(user);
+    }
+
+    private Tournament createTournamentWithBracket(String username) {
+        Tournament tournament = new Tournament();
+        tournament.setTournamentName("testTournament");
+        tournament.setPlayersPool(new ArrayList<>(Arrays.asList(username, "otherPlayer")));
+        Tournament.Bracket bracket = new Tournament.Bracket();
+        bracket.setRounds(new ArrayList<>(Collections.singletonList(
+            new Tournament.Round(new ArrayList<>(Collections.singletonList("match1"))))));
+        bracket.setAdvancingPlayers(new ArrayList<>(Collections.singletonList(null)));
+        tournament.setBracket(bracket);
+        return tournament;
+    }
+
     @Test
     void deleteUser_DatabaseError_ThrowsRuntimeException() {
         String username = "testUser";
@@ -542,7 +604,7 @@ class UserServiceTest {
         user.setUsername(username);
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(tournamentService.getCurrentAndFutureTournaments()).thenReturn(Collections.emptyList());
+        when(tournamentService.getUserUpcomingTournaments(username)).thenReturn(Collections.emptyList());
         doThrow(new RuntimeException("Database error")).when(userRepository).delete(user);
 
         assertThrows(RuntimeException.class, () -> userService.deleteUser(username));
@@ -611,7 +673,7 @@ class UserServiceTest {
         tournament.setTournamentName(tournamentName);
         tournament.setPlayersPool(new ArrayList<>(Arrays.asList(username, "otherPlayer")));
         
-        when(tournamentService.getTournamentByName(tournamentName)).thenReturn(tournament);
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
         
         when(tournamentRepository.save(any(Tournament.class)))
             .thenThrow(new RuntimeException("Database error"));
@@ -620,6 +682,31 @@ class UserServiceTest {
             () -> userService.leaveTournament(tournamentName, username));
     }
 
+    @Test
+    void leaveTournament_ConcurrentUpdate_RetriesOnFreshTournament() {
+        String username = "testUser";
+        String tournamentName = "testTournament";
+
+        Tournament staleTournament = new Tournament();
+        staleTournament.setTournamentName(tournamentName);
+        staleTournament.setPlayersPool(new ArrayList<>(Arrays.asList(username)));
+        Tournament freshTournament = new Tournament();
+        freshTournament.setTournamentName(tournamentName);
+        freshTournament.setPlayersPool(new ArrayList<>(Arrays.asList(username, "newPlayer")));
+
+        when(tournamentRepository.findByTournamentName(tournamentName))
+            .thenReturn(Optional.of(staleTournament))
+            .thenReturn(Optional.of(freshTournament));
+        when(tournamentRepository.save(same(staleTournament)))
+            .thenThrow(new OptimisticLockingFailureException("Tournament was changed"));
+
+        userService.leaveTournament(tournamentName, username);
+
+        verify(tournamentRepository).save(freshTournament);
+        assertEquals(Collections.singletonList("newPlayer"), freshTournament.getPlayersPool());
+        verify(tournamentCacheService).evict(tournamentName);
+    }
+
     @Test
     void updateUser_NullUsername_ThrowsUserNotFoundException() {
         User updatedUser = new User();
@@ -758,14 +845,14 @@ class UserServiceTest {
         tournament.setTournamentName(tournamentName);
         tournament.setPlayersPool(null);  // Explicitly set players pool to null
         
-        when(tournamentService.getTournamentByName(tournamentName)).thenReturn(tournament);
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
             () -> userService.leaveTournament(tournamentName, username));
         
         assertEquals("User is not in the tournament!", exception.getMessage());
-        verify(tournamentService).getTournamentByName(tournamentName);
+        verify(tournamentRepository).findByTournamentName(tournamentName);
         verify(tournamentRepository, never()).save(any(Tournament.class));
     }
 
@@ -779,7 +866,7 @@ class UserServiceTest {
         tournament.setTournamentName(tournamentName);
         tournament.setPlayersPool(new ArrayList<>(Arrays.asList(username)));
         
-        when(tournamentService.getTournamentByName(tournamentName)).thenReturn(tournament);
+        when(tournamentRepository.findByTournamentName(tournamentName)).thenReturn(Optional.of(tournament));
         when(tournamentRepository.save(any(Tournament.class)))
             .thenThrow(new RuntimeException("Unexpected database error"));
 
@@ -788,7 +875,7 @@ class UserServiceTest {
             () -> userService.leaveTournament(tournamentName, username));
         
         assertEquals("Unexpected database error", exception.getMessage());
-        verify(tournamentService).getTournamentByName(tournamentName);
+        verify(tournamentRepository).findByTournamentName(tournamentName);
         verify(tournamentRepository).save(tournament);
     }
 
@@ -29,6 +29,7 @@ function AdministratorEditTournaments() {
     const [isChanged, setIsChanged] = useState(false);
     const [newPlayersPool, setNewPlayersPool] = useState([]);
     const [availablePlayers, setAvailablePlayers] = useState([]);
+    const [nextAvailablePlayersCursor, setNextAvailablePlayersCursor] = useState(null);
     const [isPlayerRemoved, setIsPlayerRemoved] = useState(false);
     const [showConfirmationPopUp, setShowConfirmationPopUp] = useState(false);
     const [originalTournamentInformation, setOriginalTournamentInformation] = useState({});
@@ -99,7 +100,8 @@ function AdministratorEditTournaments() {
     };
 
     // ----------------------- API Call: Retrieving the players who fit the criteria to join a tournament by the tournament name -----------------------
-    async function getAvailablePlayers() {
+    // The players come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getAvailablePlayers(cursor = null) {
         try {
             const adminData = JSON.parse(localStorage.getItem("adminData"));
             if (!adminData || !adminData.jwtToken) {
@@ -110,6 +112,7 @@ function AdministratorEditTournaments() {
             const response = await axios.get(
                 `${API_URL}/admins/tournaments/${tournamentName}/available-users`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${adminData.jwtToken}`,
@@ -120,11 +123,13 @@ function AdministratorEditTournaments() {
             console.log(response.data);
 
             if (response.status === 200) {
-                setAvailablePlayers(response.data);
+                setAvailablePlayers((previousPlayers) => cursor ? [...(previousPlayers || []), ...response.data] : response.data);
+                setNextAvailablePlayersCursor(response.headers["x-next-cursor"] ?? null);
             }
         } catch (error) {
             console.error("Error fetching players:", error.response.data.error);
             setAvailablePlayers(null);
+            setNextAvailablePlayersCursor(null);
         }
     };
 
@@ -584,6 +589,16 @@ function AdministratorEditTournaments() {
                             ) : (
                                 <p className="text-sm text-gray-500"> No available players at the moment. </p>
                             )}
+                            {nextAvailablePlayersCursor && (
+                                <div className = "mt-4 flex justify-center">
+                                    <button
+                                        className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                        onClick = {() => getAvailablePlayers(nextAvailablePlayersCursor)}
+                                    >
+                                        Load More Players
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     </div>
                 </div>
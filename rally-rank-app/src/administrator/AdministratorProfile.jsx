@@ -22,7 +22,11 @@ function AdministratorProfile() {
     }, []);
 
     const navigate = useNavigate();
-    const [allMyTournaments, setAllMyTournaments] = useState({});
+    const [myScheduledTournaments, setMyScheduledTournaments] = useState([]);
+    const [myPastTournaments, setMyPastTournaments] = useState([]);
+    const [nextMyScheduledTournamentsCursor, setNextMyScheduledTournamentsCursor] = useState(null);
+    const [nextMyPastTournamentsCursor, setNextMyPastTournamentsCursor] = useState(null);
+    const allMyTournaments = [...myScheduledTournaments, ...myPastTournaments];
     const [administratorProfileInformation, setAdministratorProfileInformation] = useState({});
 
     // For Alert Messages
@@ -90,8 +94,45 @@ function AdministratorProfile() {
                 ),
             ]);
 
-            const combinedData = [...response1.data, ...response2.data];
-            setAllMyTournaments(combinedData);
+            setMyScheduledTournaments(response1.data);
+            setMyPastTournaments(response2.data);
+            setNextMyScheduledTournamentsCursor(response1.headers["x-next-cursor"] ?? null);
+            setNextMyPastTournamentsCursor(response2.headers["x-next-cursor"] ?? null);
+
+        } catch (error) {
+            console.error('Error fetching tournaments:', error);
+        }
+    };
+
+    // ----------------------- API Call: Retrieve the next page of the administrator's tournaments -----------------------
+    // The scheduled tournaments are paged through first, then the past ones; the cursor of the next page is in the X-Next-Cursor header
+    async function fetchMoreTournaments() {
+        try {
+            const adminData = JSON.parse(localStorage.getItem("adminData"));
+            if (!adminData || !adminData.jwtToken) {
+                console.error('No JWT token found');
+                return;
+            }
+
+            const isScheduled = nextMyScheduledTournamentsCursor !== null;
+            const response = await axios.get(
+                `${API_URL}/admins/tournaments/${isScheduled ? "scheduled" : "my-history"}`,
+                {
+                    params: { cursor: isScheduled ? nextMyScheduledTournamentsCursor : nextMyPastTournamentsCursor },
+                    withCredentials: true,
+                    headers: {
+                        Authorization: `Bearer ${adminData.jwtToken}`,
+                    },
+                },
+            );
+
+            if (isScheduled) {
+                setMyScheduledTournaments((previousTournaments) => [...previousTournaments, ...response.data]);
+                setNextMyScheduledTournamentsCursor(response.headers["x-next-cursor"] ?? null);
+            } else {
+                setMyPastTournaments((previousTournaments) => [...previousTournaments, ...response.data]);
+                setNextMyPastTournamentsCursor(response.headers["x-next-cursor"] ?? null);
+            }
 
         } catch (error) {
             console.error('Error fetching tournaments:', error);
@@ -185,6 +226,16 @@ function AdministratorProfile() {
                             </div>
                         </div>
                     )}
+                    {(nextMyScheduledTournamentsCursor || nextMyPastTournamentsCursor) && (
+                        <div className = "mt-4 flex justify-center">
+                            <button
+                                className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                onClick = {fetchMoreTournaments}
+                            >
+                                Load More Tournaments
+                            </button>
+                        </div>
+                    )}
                 </div>
             </div>
         </div>
@@ -23,6 +23,8 @@ function AdministratorTournamentHistory() {
     const [thisAdministrator, setThisAdministrator] = useState("");
     const [myPastTournaments, setMyPastTournaments] = useState([]);
     const [allPastTournaments, setAllPastTournaments] = useState([]);
+    const [nextAllPastTournamentsCursor, setNextAllPastTournamentsCursor] = useState(null);
+    const [nextMyPastTournamentsCursor, setNextMyPastTournamentsCursor] = useState(null);
 
     // For Alert Messages
     const [warningMessage, setWarningMessage] = useState("");
@@ -56,7 +58,8 @@ function AdministratorTournamentHistory() {
     }, [activeButton]);
 
     // -------------------------- API Call: Retrieve all past and completed tournaments ---------------------------
-    async function getAllPastTournaments() {
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getAllPastTournaments(cursor = null) {
         try {
             const adminData = JSON.parse(localStorage.getItem("adminData"));
             if (!adminData || !adminData.jwtToken) {
@@ -67,6 +70,7 @@ function AdministratorTournamentHistory() {
             const response = await axios.get(
                 `${API_URL}/admins/tournaments/all-history`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${adminData.jwtToken}`,
@@ -74,8 +78,10 @@ function AdministratorTournamentHistory() {
                 },
             );
             
-            setTournaments(response.data); 
-            setAllPastTournaments(response.data);
+            const loadedTournaments = cursor ? [...allPastTournaments, ...response.data] : response.data;
+            setTournaments(loadedTournaments); 
+            setAllPastTournaments(loadedTournaments);
+            setNextAllPastTournamentsCursor(response.headers["x-next-cursor"] ?? null);
 
             setThisAdministrator(adminData.adminName);
 
@@ -83,11 +89,12 @@ function AdministratorTournamentHistory() {
             setWarningMessage("Unable to fetch all past tournaments. Please reload and try again.");
             setAllPastTournaments([]);
             setTournaments([]); 
+            setNextAllPastTournamentsCursor(null);
         }
     };
 
     // -------------------------- API Call: Retrieve all past and completed tournaments created by administrator ---------------------------
-    async function getMyPastTournaments() {
+    async function getMyPastTournaments(cursor = null) {
         try {
             const adminData = JSON.parse(localStorage.getItem('adminData'));
             if (!adminData || !adminData.jwtToken) {
@@ -99,6 +106,7 @@ function AdministratorTournamentHistory() {
                 `${API_URL}/admins/tournaments/my-history`,
                 
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${adminData.jwtToken}`,
@@ -106,14 +114,17 @@ function AdministratorTournamentHistory() {
                 },
             );
 
-            setMyPastTournaments(response.data);
-            setTournaments(response.data);
+            const loadedTournaments = cursor ? [...myPastTournaments, ...response.data] : response.data;
+            setMyPastTournaments(loadedTournaments);
+            setTournaments(loadedTournaments);
+            setNextMyPastTournamentsCursor(response.headers["x-next-cursor"] ?? null);
 
         } catch (error) {
             setWarningMessage("Unable to fetch your past tournaments. Please reload and try again.");
             console.error('Error fetching available tournaments:', error.response.data.error);
             setMyPastTournaments([]); 
             setTournaments([]); 
+            setNextMyPastTournamentsCursor(null);
         }
     };
 
@@ -159,6 +170,16 @@ function AdministratorTournamentHistory() {
                     ) : (
                         <p> No tournaments found.</p>
                     )}
+                    {(activeButton === 0 ? nextAllPastTournamentsCursor : nextMyPastTournamentsCursor) && (
+                        <div className = "mt-4 flex justify-center">
+                            <button
+                                className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                onClick = {() => activeButton === 0 ? getAllPastTournaments(nextAllPastTournamentsCursor) : getMyPastTournaments(nextMyPastTournamentsCursor)}
+                            >
+                                Load More Tournaments
+                            </button>
+                        </div>
+                    )}
                 </div>
             </div>
         </div>
@@ -33,6 +33,8 @@ function AdministratorTournaments() {
     const [isTransitioning, setIsTransitioning] = useState(false);
     const [thisAdministrator, setThisAdministrator] = useState(null);
     const [myCreatedTournaments, setMyCreatedTournaments] = useState([]);
+    const [nextAllTournamentsCursor, setNextAllTournamentsCursor] = useState(null);
+    const [nextMyTournamentsCursor, setNextMyTournamentsCursor] = useState(null);
 
     useEffect(() => {
         if (activeButton === 0) {
@@ -68,7 +70,8 @@ function AdministratorTournaments() {
     };
 
     // ----------------------- API Call: Retrieve all tournaments created -----------------------
-    async function getAllTournaments() {
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getAllTournaments(cursor = null) {
         try {
             const adminData = JSON.parse(localStorage.getItem("adminData"));
             if (!adminData || !adminData.jwtToken) {
@@ -79,6 +82,7 @@ function AdministratorTournaments() {
             const response = await axios.get(
                 `${API_URL}/admins/tournaments/ongoing`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${adminData.jwtToken}`,
@@ -86,18 +90,21 @@ function AdministratorTournaments() {
                 },
             );
 
-            setAllTournaments(response.data);
-            setTournaments(response.data);
+            const loadedTournaments = cursor ? [...allTournaments, ...response.data] : response.data;
+            setAllTournaments(loadedTournaments);
+            setTournaments(loadedTournaments);
+            setNextAllTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             setWarningMessage("Unable to retrieve tournaments.");
             console.error('Error fetching available tournaments:', error.response.data.error);
             setAllTournaments([]); 
             setTournaments([]); 
+            setNextAllTournamentsCursor(null);
         }
     };
 
    // ----------------------- API Call: Retrieve all tournaments created by the administrator -----------------------
-    async function getMyTournaments() {
+    async function getMyTournaments(cursor = null) {
         try {
             const adminData = JSON.parse(localStorage.getItem("adminData"));
             if (!adminData || !adminData.jwtToken) {
@@ -108,6 +115,7 @@ function AdministratorTournaments() {
             const response = await axios.get(
                 `${API_URL}/admins/tournaments/scheduled`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${adminData.jwtToken}`
@@ -115,14 +123,17 @@ function AdministratorTournaments() {
                 },
             );
 
-            setMyCreatedTournaments(response.data);
-            setTournaments(response.data);
+            const loadedTournaments = cursor ? [...myCreatedTournaments, ...response.data] : response.data;
+            setMyCreatedTournaments(loadedTournaments);
+            setTournaments(loadedTournaments);
+            setNextMyTournamentsCursor(response.headers["x-next-cursor"] ?? null);
             setThisAdministrator(adminData.adminName);
 
         } catch (error) {
             setWarningMessage("Unable to retrieve your created tournaments.");
             setMyCreatedTournaments([]); 
             setTournaments([]); 
+            setNextMyTournamentsCursor(null);
         }
     };
 
@@ -183,6 +194,16 @@ function AdministratorTournaments() {
                             No tournaments found. Create a new tournament today!
                         </p>
                     )}
+                    {(activeButton === 0 ? nextAllTournamentsCursor : nextMyTournamentsCursor) && (
+                        <div className = "mt-4 flex justify-center">
+                            <button
+                                className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                onClick = {() => activeButton === 0 ? getAllTournaments(nextAllTournamentsCursor) : getMyTournaments(nextMyTournamentsCursor)}
+                            >
+                                Load More Tournaments
+                            </button>
+                        </div>
+                    )}
                 </div>
                 {/* CREATE TOURNAMENT BUTTON */}
                 <div
@@ -15,11 +15,6 @@ const AdministratorTournamentCard = ({ tournaments, setIsTransitioning, thisAdmi
         return currentDate < tournamentStartDate;
     };
 
-    // Function: Check if brackets are generated for the tournament
-    const isBracketsGenerated = (tournamentBrackets) => {
-        return tournamentBrackets != null;
-    };
-
     const formatDate = (dateString) => {
         const date = new Date(dateString);
         date.setHours(date.getHours() + 8); // Add 8 hours
@@ -74,10 +69,10 @@ const AdministratorTournamentCard = ({ tournaments, setIsTransitioning, thisAdmi
                         <p>
                             <strong>
                                 (
-                                    {tournament.playerCapacity - tournament.playersPool.length > 0
-                                    ? tournament.playerCapacity - tournament.playersPool.length === 1
+                                    {tournament.playerCapacity - tournament.playerCount > 0
+                                    ? tournament.playerCapacity - tournament.playerCount === 1
                                         ? "1 slot left"
-                                        :`${tournament.playerCapacity - tournament.playersPool.length} slots left`
+                                        :`${tournament.playerCapacity - tournament.playerCount} slots left`
                                     : "Full"
                                     }
                                 )
@@ -92,7 +87,7 @@ const AdministratorTournamentCard = ({ tournaments, setIsTransitioning, thisAdmi
 
                         {/* EDIT TOURNAMENT BUTTON */}
                         <div className = "edit-tournament-button mt-auto ml-auto">
-                            {checkThisAdmin(tournament.createdBy) && !isPastTournament && isBeforeStartDate(tournament.startDate) && !isBracketsGenerated(tournament.bracket) && (
+                            {checkThisAdmin(tournament.createdBy) && !isPastTournament && isBeforeStartDate(tournament.startDate) && !tournament.bracketGenerated && (
                                 <button
                                     onClick = {(e) => {
                                         e.stopPropagation();
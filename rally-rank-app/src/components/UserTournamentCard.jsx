@@ -56,17 +56,17 @@ const UserTournamentCard = ({ tournamentType, isAvailableTournament, isScheduled
                         <div className = "absolute bottom-0 right-2 text-right">
                             <p
                                 style = {{
-                                    color: tournament.playerCapacity - tournament.playersPool.length <= 10
+                                    color: tournament.playerCapacity - tournament.playerCount <= 10
                                     ? "red"
                                     : "text-grey",
-                                    fontWeight: tournament.playerCapacity - tournament.playersPool.length <= 10
+                                    fontWeight: tournament.playerCapacity - tournament.playerCount <= 10
                                     ? 700
                                     : "normal"
                                 }}
                                 className = "font-semibold mb-3"
                             >
-                                {tournament.playerCapacity - tournament.playersPool.length > 0
-                                ? `Slots left: ${tournament.playerCapacity - tournament.playersPool.length}`
+                                {tournament.playerCapacity - tournament.playerCount > 0
+                                ? `Slots left: ${tournament.playerCapacity - tournament.playerCount}`
                                 : "Slots are full!"}
                             </p>
                         </div>
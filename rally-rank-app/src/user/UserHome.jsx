@@ -103,9 +103,11 @@ function UserHome() {
 
     // ------------------------------------- Scheduled Tournaments Functions -------------------------------------
     const [scheduledTournaments, setScheduledTournaments] = useState([]);
+    const [nextScheduledTournamentsCursor, setNextScheduledTournamentsCursor] = useState(null);
 
     // ----------------------- API Call: Retrieving list of user's scheduled tournaments -----------------------
-    async function getScheduledTournaments() {
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getScheduledTournaments(cursor = null) {
         try {
             const userData = JSON.parse(localStorage.getItem("userData"));
 
@@ -117,13 +119,15 @@ function UserHome() {
             const response = await axios.get(
                 `${API_URL}/users/tournaments/scheduled`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${userData.jwtToken}`
                     }
                 }
             );
-            setScheduledTournaments(response.data);
+            setScheduledTournaments((previousTournaments) => cursor ? [...previousTournaments, ...response.data] : response.data);
+            setNextScheduledTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             setWarningMessage("Unable to fetch your scheduled tournaments. Please reload the page and try again.");
             console.error("Error fetching scheduled tournaments: ", error);
@@ -265,6 +269,16 @@ function UserHome() {
                     <h2 className = "text-xl font-bold mb-4"> My Scheduled Tournaments </h2>
                     <div className = "p-6 text-white rounded-[20px] shadow-lg h-5/6 overflow-auto bg-white">
                         <UserScheduledTournamentCard scheduledTournaments = {scheduledTournaments} isScheduledTournament = {true} />
+                        {nextScheduledTournamentsCursor && (
+                            <div className = "mt-4 flex justify-center">
+                                <button
+                                    className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                    onClick = {() => getScheduledTournaments(nextScheduledTournamentsCursor)}
+                                >
+                                    Load More Tournaments
+                                </button>
+                            </div>
+                        )}
                     </div>
                 </div>
             </div>
@@ -72,6 +72,7 @@ function UserPastTournaments() {
 
     // ------------------------------------- Past Tournament Functions -------------------------------------
     const [pastTournaments, setPastTournaments] = useState([]);
+    const [nextPastTournamentsCursor, setNextPastTournamentsCursor] = useState(null);
 
     const [loading, setLoading] = useState(true);
 
@@ -80,8 +81,9 @@ function UserPastTournaments() {
     }
 
     // ------------------------------------- API Call: Retrieiving user's past tournaments -------------------------------------
-    async function getPastTournaments() {
-        setLoading(true);
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getPastTournaments(cursor = null) {
+        setLoading(!cursor);
         try {
             const userData = JSON.parse(localStorage.getItem("userData"));
             if (!userData || !userData.jwtToken) {
@@ -92,6 +94,7 @@ function UserPastTournaments() {
             const response = await axios.get(
                 `${API_URL}/users/tournaments/history`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${userData.jwtToken}`
@@ -99,10 +102,12 @@ function UserPastTournaments() {
                 }
             );
             
-            setPastTournaments(response.data);
+            setPastTournaments((previousTournaments) => cursor ? [...previousTournaments, ...response.data] : response.data);
+            setNextPastTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             console.error("Error fetching available tournaments: ", error);
             setPastTournaments([]);
+            setNextPastTournamentsCursor(null);
         } finally {
             setLoading(false);
         }
@@ -142,6 +147,16 @@ function UserPastTournaments() {
                     ) : (
                     <p> No tournaments found. </p>
                 )}
+                {!loading && nextPastTournamentsCursor && (
+                    <div className = "mt-4 flex justify-center">
+                        <button
+                            className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                            onClick = {() => getPastTournaments(nextPastTournamentsCursor)}
+                        >
+                            Load More Tournaments
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -19,6 +19,7 @@ function UserProfile() {
 
     const navigate = useNavigate();
     const [pastTournaments, setPastTournaments] = useState([]);
+    const [nextPastTournamentsCursor, setNextPastTournamentsCursor] = useState(null);
     const [userProfileInformation, setUserProfileInformation] = useState([]);
     const dateOptions = { day: "2-digit", month: "2-digit", year: "numeric"};
 
@@ -56,7 +57,8 @@ function UserProfile() {
     };
 
     // ------------------------------------- API Call: Retrieiving user's past tournaments -------------------------------------
-    async function getPastTournaments() {
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getPastTournaments(cursor = null) {
         try {
             const userData = JSON.parse(localStorage.getItem("userData"));
             if (!userData || !userData.jwtToken) {
@@ -67,6 +69,7 @@ function UserProfile() {
             const response = await axios.get(
                 `${API_URL}/users/tournaments/history`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${userData.jwtToken}`
@@ -74,10 +77,12 @@ function UserProfile() {
                 }
             );
             console.log(response.data);
-            setPastTournaments(response.data);
+            setPastTournaments((previousTournaments) => cursor ? [...previousTournaments, ...response.data] : response.data);
+            setNextPastTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             console.error("Error fetching available tournaments: ", error);
             setPastTournaments([]);
+            setNextPastTournamentsCursor(null);
         }
     }
 
@@ -235,6 +240,16 @@ function UserProfile() {
                                 </div>
                             </div>
                         )}
+                        {nextPastTournamentsCursor && (
+                            <div className = "mt-4 flex justify-center">
+                                <button
+                                    className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                                    onClick = {() => getPastTournaments(nextPastTournamentsCursor)}
+                                >
+                                    Load More Tournaments
+                                </button>
+                            </div>
+                        )}
                     </div>
                 </>
             </div>
@@ -24,6 +24,8 @@ function UserTournaments() {
     const [availableTournaments, setAvailableTournaments] = useState([]);
     const [displayTournamentType, setDisplayTournamentType] = useState([]);
     const [myScheduledTournaments, setMyScheduledTournaments] = useState([]);
+    const [nextAvailableTournamentsCursor, setNextAvailableTournamentsCursor] = useState(null);
+    const [nextMyScheduledTournamentsCursor, setNextMyScheduledTournamentsCursor] = useState(null);
 
     const handleAvailableTournamentClick = () => {
         navigate(`/users/Tournaments`);
@@ -42,8 +44,9 @@ function UserTournaments() {
 
 
     // ------------------------------------- API Call: Retrieiving available tournaments -------------------------------------
-    async function getAvailableTournaments() {
-        setLoading(true);
+    // The tournaments come one page at a time; the cursor of the next page, if any, is in the X-Next-Cursor header
+    async function getAvailableTournaments(cursor = null) {
+        setLoading(!cursor);
         try {
             const userData = JSON.parse(localStorage.getItem("userData"));
             if (!userData || !userData.jwtToken) {
@@ -53,25 +56,29 @@ function UserTournaments() {
             const response = await axios.get(
                 `${API_URL}/users/tournaments/available`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${userData.jwtToken}`
                     }
                 }
             );
-            setAvailableTournaments(response.data);
-            setDisplayTournamentType(response.data);
+            const loadedTournaments = cursor ? [...availableTournaments, ...response.data] : response.data;
+            setAvailableTournaments(loadedTournaments);
+            setDisplayTournamentType(loadedTournaments);
+            setNextAvailableTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             console.error("Error fetching available tournaments: ", error);
             setAvailableTournaments([]);
+            setNextAvailableTournamentsCursor(null);
         } finally {
             setLoading(false);
         }
     };
 
     // ------------------------------------- API Call: Retrieiving user's scheduled tournaments (ongoing and upcoming) -------------------------------------
-    async function getMyScheduledTournaments() {
-        setLoading(true);
+    async function getMyScheduledTournaments(cursor = null) {
+        setLoading(!cursor);
         try {
             const userData = JSON.parse(localStorage.getItem("userData"));
             if (!userData || !userData.jwtToken) {
@@ -81,18 +88,22 @@ function UserTournaments() {
             const response = await axios.get(
                 `${API_URL}/users/tournaments/scheduled`,
                 {
+                    params: cursor ? { cursor } : {},
                     withCredentials: true,
                     headers: {
                         Authorization: `Bearer ${userData.jwtToken}`
                     }
                 }
             );
-            setMyScheduledTournaments(response.data);
-            setDisplayTournamentType(response.data);
+            const loadedTournaments = cursor ? [...myScheduledTournaments, ...response.data] : response.data;
+            setMyScheduledTournaments(loadedTournaments);
+            setDisplayTournamentType(loadedTournaments);
+            setNextMyScheduledTournamentsCursor(response.headers["x-next-cursor"] ?? null);
         } catch (error) {
             console.error("Error fetching user's scheduled tournaments: ", error);
             setMyScheduledTournaments([]);
             setDisplayTournamentType([]);
+            setNextMyScheduledTournamentsCursor(null);
         } finally {
             setLoading(false);
         }
@@ -144,6 +155,18 @@ function UserTournaments() {
                 ) : (
                     <p> No tournaments found. </p>
                 )}
+                {!loading && (activeButton === 0 ? nextAvailableTournamentsCursor : nextMyScheduledTournamentsCursor) && (
+                    <div className = "mt-4 flex justify-center">
+                        <button
+                            className = "bg-primary-color-green hover:bg-primary-color-dark-green text-white rounded-lg px-5 py-2 text-sm font-semibold transition-colors duration-300"
+                            onClick = {() => activeButton === 0
+                                ? getAvailableTournaments(nextAvailableTournamentsCursor)
+                                : getMyScheduledTournaments(nextMyScheduledTournamentsCursor)}
+                        >
+                            Load More Tournaments
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );